@@ -0,0 +1,115 @@
+package com.taskmanager.taskmanager.benchmark;
+
+import com.taskmanager.taskmanager.cache.AgentLoadIndex;
+import com.taskmanager.taskmanager.cache.TicketCountsReconciler;
+import com.taskmanager.taskmanager.dto.AgentDto;
+import com.taskmanager.taskmanager.dto.TicketCountDto;
+import com.taskmanager.taskmanager.exception.InvalidTicketStateException;
+import com.taskmanager.taskmanager.model.Status;
+import com.taskmanager.taskmanager.repository.TicketRepository;
+import com.taskmanager.taskmanager.service.TicketService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Assignments per second with 8 concurrent callers. {@code autoAssign} lets {@code TicketService} pick the least
+ * loaded agent from {@link AgentLoadIndex}; {@code countThenAssign} is what the dispatcher did before, a GROUP BY over
+ * all tickets to find the least loaded agent followed by an assignment to it. {@code reserveAndRelease} is the index
+ * alone. The capacity is unlimited so no call is turned away; every call takes the next NEW ticket, which are
+ * reset after each iteration.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 10)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(8)
+@State(Scope.Benchmark)
+public class AutoAssignBenchmark {
+
+    private static final int SEEDED_TICKETS = 10_000;
+    private static final int BACKLOG_TICKETS = 200_000;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TicketService ticketService;
+    private TicketRepository ticketRepository;
+    private AgentLoadIndex agentLoadIndex;
+
+    private final AtomicLong attempts = new AtomicLong();
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long rejected;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("auto-assign", WebApplicationType.NONE,
+                "ticket-dispatch.agent-capacity=" + Integer.MAX_VALUE);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkApplication.seed(jdbcTemplate, SEEDED_TICKETS);
+        jdbcTemplate.update("""
+                INSERT INTO ticket (id, description, status, created_date)
+                SELECT x, 'Backlog ' || x, 'NEW', CURRENT_TIMESTAMP FROM SYSTEM_RANGE(?, ?)""",
+                SEEDED_TICKETS + 1, SEEDED_TICKETS + BACKLOG_TICKETS);
+        // the agents were inserted after startup, register them the way the scheduled reconciliation would
+        context.getBean(TicketCountsReconciler.class).reconcile();
+        ticketService = context.getBean(TicketService.class);
+        ticketRepository = context.getBean(TicketRepository.class);
+        agentLoadIndex = context.getBean(AgentLoadIndex.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetBacklog() {
+        jdbcTemplate.update("UPDATE ticket SET status = 'NEW', assigned_agent_id = NULL WHERE id > ?", SEEDED_TICKETS);
+        attempts.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void autoAssign(Outcomes outcomes) {
+        try {
+            ticketService.autoAssignTicket(nextBacklogTicket());
+        } catch (InvalidTicketStateException e) {
+            outcomes.rejected++;
+        }
+    }
+
+    @Benchmark
+    public void countThenAssign(Outcomes outcomes) {
+        // agents without IN_PROGRESS tickets don't show up in the counts, the seed gives every agent some
+        Long agentId = ticketRepository.countByStatusAndAgent().stream()
+                .filter(row -> row.status() == Status.IN_PROGRESS && row.agentId() != null)
+                .min(Comparator.comparingLong(TicketCountDto::count))
+                .orElseThrow()
+                .agentId();
+        try {
+            ticketService.assignTicketToAgent(nextBacklogTicket(), agentId);
+        } catch (InvalidTicketStateException e) {
+            outcomes.rejected++;
+        }
+    }
+
+    @Benchmark
+    public AgentDto reserveAndRelease() {
+        AgentDto agent = agentLoadIndex.reserve().orElseThrow();
+        agentLoadIndex.release(agent.id());
+        return agent;
+    }
+
+    private long nextBacklogTicket() {
+        return SEEDED_TICKETS + 1 + attempts.getAndIncrement() % BACKLOG_TICKETS;
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskmanager.taskmanager.benchmark;
+
+import com.taskmanager.taskmanager.TaskManagerApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Starts the application (without the web layer unless asked for) on its own in-memory H2 database and seeds it with generated
+ * tickets, so every benchmark trial measures against a known dataset.
+ */
+final class BenchmarkApplication {
+
+    static final int AGENTS = 100;
+    static final LocalDateTime FIRST_CREATED_DATE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final int TICKET_SEQUENCE_ALLOCATION = 50;
+
+    private BenchmarkApplication() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName) {
+        return start(databaseName, WebApplicationType.NONE);
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, WebApplicationType webApplicationType, String... properties) {
+        return new SpringApplicationBuilder(TaskManagerApplication.class)
+                .web(webApplicationType)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+                        "ticket-audit.directory=target/audit/" + databaseName,
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Inserts {@link #AGENTS} agents named Agent1..AgentN and the given number of tickets spread evenly over the
+     * statuses, the agents (every 101st ticket unassigned) and one year of creation dates.
+     */
+    static void seed(JdbcTemplate jdbcTemplate, int tickets) {
+        jdbcTemplate.update("INSERT INTO agent (id, name) SELECT x, 'Agent' || x FROM SYSTEM_RANGE(1, ?)", AGENTS);
+        jdbcTemplate.update("""
+                INSERT INTO ticket (id, description, status, created_date, closed_date, resolution_summary, assigned_agent_id)
+                SELECT x, 'Ticket ' || x,
+                       CASE MOD(x, 4) WHEN 0 THEN 'NEW' WHEN 1 THEN 'IN_PROGRESS' WHEN 2 THEN 'RESOLVED' ELSE 'CLOSED' END,
+                       DATEADD('SECOND', CAST(x * 31536000 / ? AS BIGINT), CAST(? AS TIMESTAMP)),
+                       NULL,
+                       CASEWHEN(MOD(x, 4) >= 2, 'Resolved ' || x, NULL),
+                       NULLIF(MOD(x, ? + 1), 0)
+                FROM SYSTEM_RANGE(1, ?)""", tickets, FIRST_CREATED_DATE, AGENTS, tickets);
+        // the pooled optimizer hands out the block below the sequence value, so skip a whole allocation past the seed
+        jdbcTemplate.execute("ALTER SEQUENCE ticket_seq RESTART WITH " + (tickets + TICKET_SEQUENCE_ALLOCATION + 1));
+        jdbcTemplate.execute("ANALYZE");
+    }
+}
@@ -0,0 +1,67 @@
+package com.taskmanager.taskmanager.benchmark;
+
+import com.taskmanager.taskmanager.model.Status;
+import com.taskmanager.taskmanager.model.Ticket;
+import com.taskmanager.taskmanager.repository.TicketRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code TicketRepository.findWithFilters} for every combination of the four filter predicates over seeded H2
+ * datasets. A combination is written as the predicates joined with '+', e.g. {@code status+agent+end}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class TicketFilterBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int tickets;
+
+    @Param({"none",
+            "status", "agent", "start", "end",
+            "status+agent", "status+start", "status+end", "agent+start", "agent+end", "start+end",
+            "status+agent+start", "status+agent+end", "status+start+end", "agent+start+end",
+            "status+agent+start+end"})
+    private String predicates;
+
+    private ConfigurableApplicationContext context;
+    private TicketRepository ticketRepository;
+
+    private List<Status> status;
+    private String assignedAgent;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("filter-" + tickets);
+        BenchmarkApplication.seed(context.getBean(JdbcTemplate.class), tickets);
+        ticketRepository = context.getBean(TicketRepository.class);
+
+        List<String> enabled = List.of(predicates.split("\\+"));
+        // half of the statuses, one agent out of a hundred and the middle half of the year
+        status = enabled.contains("status") ? List.of(Status.NEW, Status.IN_PROGRESS) : null;
+        assignedAgent = enabled.contains("agent") ? "Agent7" : null;
+        startDate = enabled.contains("start") ? BenchmarkApplication.FIRST_CREATED_DATE.plusMonths(3) : null;
+        endDate = enabled.contains("end") ? BenchmarkApplication.FIRST_CREATED_DATE.plusMonths(9) : null;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Ticket> findWithFilters() {
+        return ticketRepository.findWithFilters(status, assignedAgent, startDate, endDate);
+    }
+}
@@ -0,0 +1,90 @@
+package com.taskmanager.taskmanager.benchmark;
+
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.model.Agent;
+import com.taskmanager.taskmanager.model.Status;
+import com.taskmanager.taskmanager.model.Ticket;
+import com.taskmanager.taskmanager.repository.TicketRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A first page of 20 through {@code TicketRepository.findPageWithFilters}, which binds the values to the query built
+ * for the filter shape and reuses its translated SQL, against building and translating the same criteria query on every
+ * call as the repository did before. The dataset is small, so the cost of preparing the query dominates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TicketFilterTemplateBenchmark {
+
+    private static final int TICKETS = 10_000;
+    private static final int PAGE_SIZE = 20;
+
+    private ConfigurableApplicationContext context;
+    private TicketRepository ticketRepository;
+    private EntityManager entityManager;
+
+    private final List<Status> status = List.of(Status.NEW, Status.IN_PROGRESS);
+    private final LocalDateTime endDate = BenchmarkApplication.FIRST_CREATED_DATE.plusMonths(9);
+    private int agent;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("filter-template");
+        BenchmarkApplication.seed(context.getBean(JdbcTemplate.class), TICKETS);
+        ticketRepository = context.getBean(TicketRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TicketDto> templated() {
+        return ticketRepository.findPageWithFilters(status, nextAgent(), null, endDate, null, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public List<TicketDto> builtPerCall() {
+        String assignedAgent = nextAgent();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketDto> query = cb.createQuery(TicketDto.class);
+        Root<Ticket> ticketRoot = query.from(Ticket.class);
+        Join<Ticket, Agent> agentJoin = ticketRoot.join("assignedAgent", JoinType.INNER);
+        query.select(cb.construct(TicketDto.class,
+                ticketRoot.get("id"),
+                ticketRoot.get("description"),
+                ticketRoot.get("status"),
+                ticketRoot.get("createdDate"),
+                ticketRoot.get("closedDate"),
+                agentJoin.get("name"),
+                ticketRoot.get("resolutionSummary"),
+                ticketRoot.get("version")));
+        query.where(ticketRoot.get("status").in(status),
+                        cb.lessThanOrEqualTo(ticketRoot.get("createdDate"), endDate),
+                        cb.equal(agentJoin.get("name"), assignedAgent))
+                .orderBy(cb.asc(ticketRoot.get("createdDate")), cb.asc(ticketRoot.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList();
+    }
+
+    // a different agent every call, so only the shape repeats
+    private String nextAgent() {
+        agent = agent % BenchmarkApplication.AGENTS + 1;
+        return "Agent" + agent;
+    }
+}
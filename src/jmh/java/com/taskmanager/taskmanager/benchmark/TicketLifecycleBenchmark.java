@@ -0,0 +1,55 @@
+package com.taskmanager.taskmanager.benchmark;
+
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.service.TicketService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One ticket taken through create, assign, resolve and close via {@code TicketService}, each step in its own
+ * transaction as it would be from the controller.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TicketLifecycleBenchmark {
+
+    private static final long AGENT_ID = 7L;
+
+    @Param({"10000"})
+    private int tickets;
+
+    private ConfigurableApplicationContext context;
+    private TicketService ticketService;
+    private TicketDto newTicket;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("lifecycle-" + tickets);
+        BenchmarkApplication.seed(context.getBean(JdbcTemplate.class), tickets);
+        ticketService = context.getBean(TicketService.class);
+        newTicket = TicketDto.builder()
+                .description("Laptop does not boot")
+                .resolutionSummary("Reseated the memory")
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TicketDto createAssignResolveClose() {
+        Long ticketId = ticketService.createTicket(newTicket).id();
+        ticketService.assignTicketToAgent(ticketId, AGENT_ID);
+        ticketService.resolveTicket(ticketId);
+        return ticketService.closeTicket(ticketId);
+    }
+}
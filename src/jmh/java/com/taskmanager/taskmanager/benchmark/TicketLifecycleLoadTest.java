@@ -0,0 +1,333 @@
+package com.taskmanager.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManagerFactory;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load test of the ticket endpoints with a mix of create, assign, resolve, close, get by id and filtered
+ * listings against a seeded database. Requests arrive at a fixed average rate with exponentially distributed gaps,
+ * whether or not earlier ones have been answered, and each one's latency is measured from the moment it was due, so
+ * a stalled server shows up in the percentiles instead of slowing the arrivals down. Every arrival rate in
+ * {@code rates} is run for {@code duration} after one {@code warmup} at the first rate.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec@lifecycle-loadtest [-Dloadtest.args="rates=200,400,800 duration=PT30S
+ * warmup=PT10S tickets=100000 mix=create:15,assign:10,resolve:10,close:5,get:40,list:20 max-in-flight=5000"]}
+ * <p>
+ * Assign, resolve and close take their tickets from the ones the run has seen reach the state they need, seeded or
+ * moved there by an earlier request; an operation that finds none is counted as skipped and not sent. Arrivals beyond
+ * {@code max-in-flight} outstanding requests are dropped without being sent, a sign the rate is past saturation.
+ * Statement and transaction counts are Hibernate's for the whole step, not per endpoint.
+ * <p>
+ * Results are printed and written to target/loadtest-lifecycle.json, the full latency distribution of every operation
+ * and rate to target/loadtest-lifecycle/&lt;rate&gt;-&lt;operation&gt;.hgrm. Clients and server share one JVM.
+ */
+public final class TicketLifecycleLoadTest {
+
+    private static final String DEFAULT_MIX = "create:15,assign:10,resolve:10,close:5,get:40,list:20";
+
+    enum Operation {CREATE, ASSIGN, RESOLVE, CLOSE, GET, LIST}
+
+    public record OperationResult(long requests, long errors, double errorRate, long skipped, double throughputPerSecond,
+                                  double p50Millis, double p95Millis, double p99Millis, double p999Millis, double maxMillis) {
+    }
+
+    public record Result(int ratePerSecond, double durationSeconds, long requests, long errors, long dropped,
+                         double throughputPerSecond, long statements, double statementsPerRequest, long transactions,
+                         Map<String, OperationResult> operations) {
+    }
+
+    private TicketLifecycleLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            options.put(option[0], option[1]);
+        }
+        int[] rates = Arrays.stream(options.getOrDefault("rates", "200,400,800").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT30S"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+        int tickets = Integer.parseInt(options.getOrDefault("tickets", "100000"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "5000"));
+        Mix mix = Mix.parse(options.getOrDefault("mix", DEFAULT_MIX));
+
+        List<Result> results = new ArrayList<>();
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start("loadtest-lifecycle", WebApplicationType.SERVLET,
+                "server.port=0",
+                "spring.jpa.properties.hibernate.generate_statistics=true")) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            BenchmarkApplication.seed(jdbcTemplate, tickets);
+            // seeded IN_PROGRESS tickets have no summary yet and couldn't be closed once resolved
+            jdbcTemplate.update("UPDATE ticket SET resolution_summary = 'Resolved ' || id WHERE status = 'IN_PROGRESS'");
+            Statistics statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+            URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/tickets");
+            Workload workload = new Workload(base, tickets);
+
+            workload.run(rates[0], warmup, mix, maxInFlight);
+            for (int rate : rates) {
+                statistics.clear();
+                Step step = workload.run(rate, duration, mix, maxInFlight);
+                Result result = toResult(rate, duration, step, statistics);
+                System.out.println(result);
+                results.add(result);
+                writeDistributions(rate, step);
+            }
+        }
+
+        File output = new File("target/loadtest-lifecycle.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, results);
+        System.out.println("Results written to " + output.getAbsolutePath());
+    }
+
+    /**
+     * Relative weights of the operations, picked at random per arrival.
+     */
+    private record Mix(Operation[] operations, int[] cumulativeWeights) {
+
+        static Mix parse(String mix) {
+            Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+            for (String entry : mix.split(",")) {
+                String[] weight = entry.split(":", 2);
+                weights.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+            }
+            Operation[] operations = weights.keySet().toArray(Operation[]::new);
+            int[] cumulativeWeights = new int[operations.length];
+            int total = 0;
+            for (int i = 0; i < operations.length; i++) {
+                total += weights.get(operations[i]);
+                cumulativeWeights[i] = total;
+            }
+            return new Mix(operations, cumulativeWeights);
+        }
+
+        Operation next() {
+            int pick = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            int i = 0;
+            while (cumulativeWeights[i] <= pick) {
+                i++;
+            }
+            return operations[i];
+        }
+    }
+
+    private record Step(Map<Operation, Histogram> latencies, Map<Operation, Long> errors, Map<Operation, Long> skipped,
+                        long dropped) {
+    }
+
+    /**
+     * The tickets the run knows to be in each state the transitions need, seeded or moved there by the run itself.
+     * A ticket is taken out while a request works on it, so no two requests race for the same one.
+     */
+    private static final class Workload {
+
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+
+        private final URI base;
+        private final int seededTickets;
+        private final Queue<Long> newTickets = new ConcurrentLinkedQueue<>();
+        private final Queue<Long> inProgressTickets = new ConcurrentLinkedQueue<>();
+        private final Queue<Long> resolvedTickets = new ConcurrentLinkedQueue<>();
+
+        Workload(URI base, int seededTickets) {
+            this.base = base;
+            this.seededTickets = seededTickets;
+            // the seed's statuses follow the id modulo 4, see BenchmarkApplication.seed
+            for (long id = 1; id <= seededTickets; id++) {
+                switch ((int) (id % 4)) {
+                    case 0 -> newTickets.add(id);
+                    case 1 -> inProgressTickets.add(id);
+                    case 2 -> resolvedTickets.add(id);
+                    default -> {
+                    }
+                }
+            }
+        }
+
+        Step run(int ratePerSecond, Duration duration, Mix mix, int maxInFlight) {
+            Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+            Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+            Map<Operation, LongAdder> skipped = new EnumMap<>(Operation.class);
+            for (Operation operation : Operation.values()) {
+                recorders.put(operation, new Recorder(3));
+                errors.put(operation, new LongAdder());
+                skipped.put(operation, new LongAdder());
+            }
+            Semaphore inFlight = new Semaphore(maxInFlight);
+            long dropped = 0;
+            double meanGapNanos = 1e9 / ratePerSecond;
+            long start = System.nanoTime();
+            long end = start + duration.toNanos();
+
+            // the executor is closed first, which waits for the requests still in flight at the end
+            try (HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+                 ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+                double due = start;
+                while (true) {
+                    due += -Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos;
+                    long dueNanos = (long) due;
+                    if (dueNanos >= end) {
+                        break;
+                    }
+                    long wait = dueNanos - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    Operation operation = mix.next();
+                    if (!inFlight.tryAcquire()) {
+                        dropped++;
+                        continue;
+                    }
+                    requests.submit(() -> {
+                        try {
+                            Boolean succeeded = send(httpClient, operation);
+                            if (succeeded == null) {
+                                skipped.get(operation).increment();
+                                return;
+                            }
+                            recorders.get(operation).recordValue(Math.max(0, System.nanoTime() - dueNanos));
+                            if (!succeeded) {
+                                errors.get(operation).increment();
+                            }
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+            }
+
+            Map<Operation, Histogram> latencies = new EnumMap<>(Operation.class);
+            recorders.forEach((operation, recorder) -> latencies.put(operation, recorder.getIntervalHistogram()));
+            Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+            errors.forEach((operation, count) -> errorCounts.put(operation, count.sum()));
+            Map<Operation, Long> skippedCounts = new EnumMap<>(Operation.class);
+            skipped.forEach((operation, count) -> skippedCounts.put(operation, count.sum()));
+            return new Step(latencies, errorCounts, skippedCounts, dropped);
+        }
+
+        /**
+         * @return whether the request succeeded, null if there was no ticket to send it for.
+         */
+        private Boolean send(HttpClient httpClient, Operation operation) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Long ticketId = switch (operation) {
+                case ASSIGN -> newTickets.poll();
+                case RESOLVE -> inProgressTickets.poll();
+                case CLOSE -> resolvedTickets.poll();
+                case GET -> (long) random.nextInt(1, seededTickets + 1);
+                case CREATE, LIST -> 0L;
+            };
+            if (ticketId == null) {
+                return null;
+            }
+            HttpRequest request = switch (operation) {
+                case CREATE -> HttpRequest.newBuilder(base)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"description\":\"Load test ticket\",\"resolutionSummary\":\"Resolved by the load test\"}"))
+                        .build();
+                case ASSIGN -> put("/" + ticketId + "/agent/" + random.nextInt(1, BenchmarkApplication.AGENTS + 1));
+                case RESOLVE -> put("/" + ticketId + "/resolve");
+                case CLOSE -> put("/" + ticketId + "/close");
+                case GET -> HttpRequest.newBuilder(URI.create(base + "/" + ticketId)).GET().build();
+                case LIST -> HttpRequest.newBuilder(URI.create(base + "?status=" + (random.nextBoolean() ? "NEW" : "IN_PROGRESS")
+                        + "&assignedAgent=Agent" + random.nextInt(1, BenchmarkApplication.AGENTS + 1) + "&size=20")).GET().build();
+            };
+            try {
+                HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() / 100 != 2) {
+                    return false;
+                }
+                switch (operation) {
+                    case CREATE -> newTickets.add(MAPPER.readTree(response.body()).get("id").asLong());
+                    case ASSIGN -> inProgressTickets.add(ticketId);
+                    case RESOLVE -> resolvedTickets.add(ticketId);
+                    default -> {
+                    }
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+
+        private HttpRequest put(String path) {
+            return HttpRequest.newBuilder(URI.create(base + path)).PUT(HttpRequest.BodyPublishers.noBody()).build();
+        }
+    }
+
+    private static Result toResult(int rate, Duration duration, Step step, Statistics statistics) {
+        double seconds = duration.toMillis() / 1000.0;
+        Map<String, OperationResult> operations = new LinkedHashMap<>();
+        long requests = 0;
+        long errors = 0;
+        for (Operation operation : Operation.values()) {
+            Histogram latencies = step.latencies().get(operation);
+            long operationErrors = step.errors().get(operation);
+            long operationRequests = latencies.getTotalCount();
+            requests += operationRequests;
+            errors += operationErrors;
+            operations.put(operation.name().toLowerCase(), new OperationResult(
+                    operationRequests,
+                    operationErrors,
+                    operationRequests == 0 ? 0 : (double) operationErrors / operationRequests,
+                    step.skipped().get(operation),
+                    operationRequests / seconds,
+                    latencies.getValueAtPercentile(50) / 1e6,
+                    latencies.getValueAtPercentile(95) / 1e6,
+                    latencies.getValueAtPercentile(99) / 1e6,
+                    latencies.getValueAtPercentile(99.9) / 1e6,
+                    latencies.getMaxValue() / 1e6));
+        }
+        long statements = statistics.getPrepareStatementCount();
+        return new Result(rate, seconds, requests, errors, step.dropped(), requests / seconds,
+                statements, requests == 0 ? 0 : (double) statements / requests, statistics.getTransactionCount(), operations);
+    }
+
+    private static void writeDistributions(int rate, Step step) throws Exception {
+        File directory = new File("target/loadtest-lifecycle");
+        directory.mkdirs();
+        for (Map.Entry<Operation, Histogram> latencies : step.latencies().entrySet()) {
+            File file = new File(directory, rate + "-" + latencies.getKey().name().toLowerCase() + ".hgrm");
+            try (PrintStream out = new PrintStream(file)) {
+                latencies.getValue().outputPercentileDistribution(out, 1e6);
+            }
+        }
+    }
+}
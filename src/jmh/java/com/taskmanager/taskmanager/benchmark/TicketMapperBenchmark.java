@@ -0,0 +1,79 @@
+package com.taskmanager.taskmanager.benchmark;
+
+import com.taskmanager.taskmanager.cache.AgentNameCache;
+import com.taskmanager.taskmanager.dto.AgentDto;
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.mapper.AgentMapperImpl;
+import com.taskmanager.taskmanager.mapper.TicketMapper;
+import com.taskmanager.taskmanager.mapper.TicketMapperImpl;
+import com.taskmanager.taskmanager.model.Agent;
+import com.taskmanager.taskmanager.model.Status;
+import com.taskmanager.taskmanager.model.Ticket;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the generated TicketMapper. Run with {@code -prof gc} (the profile default) to get the allocation
+ * rate per operation next to the score.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TicketMapperBenchmark {
+
+    private static final String AGENT_NAME = "Agent1";
+
+    private TicketMapper ticketMapper;
+    private Ticket ticket;
+    private TicketDto ticketDto;
+    private TicketDto unassignedTicketDto;
+
+    @Setup
+    public void setUp() {
+        // the name lookup is served by a warm cache, so fromDto never needs the repository
+        AgentNameCache agentNameCache = new AgentNameCache(100, Duration.ofHours(1), Duration.ofMinutes(1));
+        agentNameCache.get(AGENT_NAME, name -> Optional.of(new AgentDto(1L, name)));
+
+        AgentMapperImpl agentMapper = new AgentMapperImpl();
+        ReflectionTestUtils.setField(agentMapper, "agentNameCache", agentNameCache);
+        ticketMapper = new TicketMapperImpl(agentMapper);
+
+        LocalDateTime now = LocalDateTime.now();
+        ticket = Ticket.builder()
+                .id(1L)
+                .description("Printer on the second floor is out of toner")
+                .status(Status.CLOSED)
+                .createdDate(now.minusDays(2))
+                .closedDate(now)
+                .resolutionSummary("Replaced the cartridge")
+                .assignedAgent(Agent.builder().id(1L).name(AGENT_NAME).build())
+                .build();
+        ticketDto = ticketMapper.toDto(ticket);
+        unassignedTicketDto = TicketDto.builder()
+                .description(ticketDto.description())
+                .build();
+    }
+
+    @Benchmark
+    public TicketDto toDto() {
+        return ticketMapper.toDto(ticket);
+    }
+
+    @Benchmark
+    public Ticket fromDto() {
+        return ticketMapper.fromDto(ticketDto);
+    }
+
+    @Benchmark
+    public Ticket fromDtoWithoutAgent() {
+        return ticketMapper.fromDto(unassignedTicketDto);
+    }
+}
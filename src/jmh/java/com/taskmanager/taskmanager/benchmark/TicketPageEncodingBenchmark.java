@@ -0,0 +1,84 @@
+package com.taskmanager.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.dto.TicketPageDto;
+import com.taskmanager.taskmanager.model.Status;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encoding and decoding a page of {@link #TICKETS} tickets as JSON and as Smile, with the mappers the application
+ * serves them with. The bytes per ticket of each format, plain and gzipped as the server compresses them, are printed
+ * once per trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TicketPageEncodingBenchmark {
+
+    private static final int TICKETS = 1_000;
+
+    @Param({"json", "smile"})
+    public String format;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper mapper;
+    private TicketPageDto page;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkApplication.start("page-encoding");
+        mapper = format.equals("smile")
+                ? context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper()
+                : context.getBean(ObjectMapper.class);
+
+        List<TicketDto> tickets = IntStream.rangeClosed(1, TICKETS)
+                .mapToObj(id -> TicketDto.builder()
+                        .id((long) id)
+                        .description("Ticket " + id)
+                        .status(Status.values()[id % Status.values().length])
+                        .createdDate(BenchmarkApplication.FIRST_CREATED_DATE.plusMinutes(id * 17L))
+                        .closedDate(id % 4 == 3 ? BenchmarkApplication.FIRST_CREATED_DATE.plusMinutes(id * 17L + 90) : null)
+                        .assignedAgent("Agent" + (id % BenchmarkApplication.AGENTS + 1))
+                        .resolutionSummary(id % 4 >= 2 ? "Resolved " + id : null)
+                        .build())
+                .toList();
+        page = new TicketPageDto(tickets, "MjAyNC0wMS0wMVQwMDowMHwxMDAw");
+        encoded = mapper.writeValueAsBytes(page);
+
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            gzip.write(encoded);
+        }
+        System.out.printf("%n%s: %.1f bytes per ticket, %.1f gzipped%n",
+                format, (double) encoded.length / TICKETS, (double) gzipped.size() / TICKETS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public TicketPageDto deserialize() throws IOException {
+        return mapper.readValue(encoded, TicketPageDto.class);
+    }
+}
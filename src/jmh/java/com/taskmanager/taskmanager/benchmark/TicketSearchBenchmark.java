@@ -0,0 +1,92 @@
+package com.taskmanager.taskmanager.benchmark;
+
+import com.taskmanager.taskmanager.dto.TicketTextDto;
+import com.taskmanager.taskmanager.search.TicketSearchIndex;
+import com.taskmanager.taskmanager.util.Constants;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency of a search against 5M indexed tickets, scoring every match and taking the first page of 50. Ticket texts
+ * are 10 words drawn from a 20K word vocabulary with a long-tailed distribution: {@code rare} matches a few hundred
+ * tickets, {@code selective} about 60K, {@code common} most of them and {@code twoTerms} merges two mid-frequency
+ * posting lists.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms3g", "-Xmx3g"})
+@State(Scope.Benchmark)
+public class TicketSearchBenchmark {
+
+    private static final int TICKETS = 5_000_000;
+    private static final int VOCABULARY = 20_000;
+    private static final int WORDS_PER_TICKET = 10;
+    private static final int PAGE_SIZE = 50;
+
+    private TicketSearchIndex ticketSearchIndex;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ticketSearchIndex = new TicketSearchIndex();
+        List<Supplier<List<TicketTextDto>>> chunks = new ArrayList<>();
+        for (long fromId = 1; fromId <= TICKETS; fromId += Constants.SEARCH_INDEX_LOAD_CHUNK_SIZE) {
+            long from = fromId;
+            chunks.add(() -> texts(from, Math.min(TICKETS, from + Constants.SEARCH_INDEX_LOAD_CHUNK_SIZE - 1)));
+        }
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            ticketSearchIndex.rebuild(chunks, executor);
+        }
+        System.out.printf("%nIndexed %d tickets, hits: rare %d, selective %d, common %d, twoTerms %d%n",
+                ticketSearchIndex.size(), ticketSearchIndex.search("w15000").size(), ticketSearchIndex.search("w50").size(),
+                ticketSearchIndex.search("w1").size(), ticketSearchIndex.search("w50 w300").size());
+    }
+
+    @Benchmark
+    public List<TicketSearchIndex.Hit> rare() {
+        return firstPage("w15000");
+    }
+
+    @Benchmark
+    public List<TicketSearchIndex.Hit> selective() {
+        return firstPage("w50");
+    }
+
+    @Benchmark
+    public List<TicketSearchIndex.Hit> common() {
+        return firstPage("w1");
+    }
+
+    @Benchmark
+    public List<TicketSearchIndex.Hit> twoTerms() {
+        return firstPage("w50 w300");
+    }
+
+    private List<TicketSearchIndex.Hit> firstPage(String text) {
+        return ticketSearchIndex.search(text).after(null, PAGE_SIZE);
+    }
+
+    private static List<TicketTextDto> texts(long fromId, long toId) {
+        SplittableRandom random = new SplittableRandom(fromId);
+        List<TicketTextDto> texts = new ArrayList<>((int) (toId - fromId + 1));
+        StringBuilder text = new StringBuilder();
+        for (long id = fromId; id <= toId; id++) {
+            text.setLength(0);
+            for (int i = 0; i < WORDS_PER_TICKET; i++) {
+                // log-uniform ranks, word n is drawn about 1/n as often as the first one
+                int rank = (int) Math.pow(VOCABULARY, random.nextDouble());
+                text.append('w').append(rank).append(' ');
+            }
+            texts.add(new TicketTextDto(id, text.toString(), null));
+        }
+        return texts;
+    }
+}
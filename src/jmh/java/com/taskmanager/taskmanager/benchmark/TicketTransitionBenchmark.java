@@ -0,0 +1,147 @@
+package com.taskmanager.taskmanager.benchmark;
+
+import com.taskmanager.taskmanager.exception.InvalidTicketStateException;
+import com.taskmanager.taskmanager.model.Agent;
+import com.taskmanager.taskmanager.model.Status;
+import com.taskmanager.taskmanager.model.Ticket;
+import com.taskmanager.taskmanager.repository.AgentRepository;
+import com.taskmanager.taskmanager.repository.TicketRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent assignment of NEW tickets where every ticket is raced by two callers. {@code guardedUpdate} is the single
+ * conditional UPDATE behind {@code TicketService.assignTicketToAgent}, followed by the status lookup only when it
+ * matches no row; {@code readModifyWrite} is the previous findById, status check and save, protected only by the
+ * version column. Both run at the repository level in one transaction each, so the service's metrics and DTO mapping
+ * don't blur the comparison. After each iteration the number of tickets assigned more than once, i.e. lost updates,
+ * is printed and must be 0 for both.
+ * <p>
+ * Hibernate translates bulk HQL again on every execution, so the guarded path needs a long warmup on few cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 10)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Threads(8)
+@State(Scope.Benchmark)
+public class TicketTransitionBenchmark {
+
+    private static final int SEEDED_TICKETS = 10_000;
+    private static final int RACED_TICKETS = 200_000;
+    private static final long AGENT_ID = 7L;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TicketRepository ticketRepository;
+    private TransactionTemplate transactionTemplate;
+    private Agent agent;
+
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicIntegerArray successes = new AtomicIntegerArray(RACED_TICKETS);
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Outcomes {
+        public long assigned;
+        public long rejected;
+        public long conflicts;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start("transition");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkApplication.seed(jdbcTemplate, SEEDED_TICKETS);
+        jdbcTemplate.update("""
+                INSERT INTO ticket (id, description, status, created_date)
+                SELECT x, 'Raced ' || x, 'NEW', CURRENT_TIMESTAMP FROM SYSTEM_RANGE(?, ?)""",
+                SEEDED_TICKETS + 1, SEEDED_TICKETS + RACED_TICKETS);
+        ticketRepository = context.getBean(TicketRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        agent = context.getBean(AgentRepository.class).findById(AGENT_ID).orElseThrow();
+    }
+
+    @Setup(Level.Iteration)
+    public void resetRacedTickets() {
+        jdbcTemplate.update("UPDATE ticket SET status = 'NEW', assigned_agent_id = NULL WHERE id > ?", SEEDED_TICKETS);
+        attempts.set(0);
+        for (int i = 0; i < RACED_TICKETS; i++) {
+            successes.set(i, 0);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportLostUpdates() {
+        int lostUpdates = 0;
+        for (int i = 0; i < RACED_TICKETS; i++) {
+            if (successes.get(i) > 1) {
+                lostUpdates++;
+            }
+        }
+        System.out.println("lost updates: " + lostUpdates);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void guardedUpdate(Outcomes outcomes) {
+        int raced = nextRacedTicket();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                long id = SEEDED_TICKETS + 1L + raced;
+                if (ticketRepository.assign(id, AGENT_ID) == 0) {
+                    ticketRepository.findStatusById(id).orElseThrow();
+                    throw new InvalidTicketStateException("not new");
+                }
+            });
+            succeeded(raced, outcomes);
+        } catch (InvalidTicketStateException e) {
+            outcomes.rejected++;
+        }
+    }
+
+    @Benchmark
+    public void readModifyWrite(Outcomes outcomes) {
+        int raced = nextRacedTicket();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Ticket ticket = ticketRepository.findById(SEEDED_TICKETS + 1L + raced).orElseThrow();
+                if (ticket.getStatus() != Status.NEW) {
+                    throw new InvalidTicketStateException("not new");
+                }
+                ticket.setAssignedAgent(agent);
+                ticket.setStatus(Status.IN_PROGRESS);
+                ticketRepository.save(ticket);
+            });
+            succeeded(raced, outcomes);
+        } catch (InvalidTicketStateException e) {
+            outcomes.rejected++;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            outcomes.conflicts++;
+        }
+    }
+
+    /**
+     * Hands every raced ticket to two consecutive calls, which run on different threads most of the time.
+     */
+    private int nextRacedTicket() {
+        return (int) ((attempts.getAndIncrement() / 2) % RACED_TICKETS);
+    }
+
+    private void succeeded(int raced, Outcomes outcomes) {
+        successes.incrementAndGet(raced);
+        outcomes.assigned++;
+    }
+}
@@ -0,0 +1,133 @@
+package com.taskmanager.taskmanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load test of {@code GET /tickets/{id}} with the platform-thread Tomcat pool against the virtual-threads
+ * profile. Every client is a virtual thread that sends its next request as soon as the previous one is answered, so
+ * the server's concurrency limit, not the client, decides throughput.
+ * <p>
+ * {@code mvn -Pbenchmark test-compile exec:exec@loadtest [-Dloadtest.args="clients=1000,10000 duration=PT30S warmup=PT10S"]}
+ * <p>
+ * Results are printed and written to target/loadtest-virtual-threads.json. Clients and server share one JVM, so run it
+ * on a multi-core machine; 10k clients also need twice as many open sockets, so raise {@code ulimit -n} first.
+ */
+public final class VirtualThreadLoadTest {
+
+    private static final int TICKETS = 10_000;
+
+    public record Result(String threads, int clients, long requests, long errors,
+                         double throughputPerSecond, double p50Millis, double p99Millis, double maxMillis) {
+    }
+
+    private VirtualThreadLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            options.put(option[0], option[1]);
+        }
+        int[] clientCounts = Arrays.stream(options.getOrDefault("clients", "1000,10000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT30S"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT10S"));
+
+        List<Result> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = BenchmarkApplication.start("loadtest-" + virtualThreads, WebApplicationType.SERVLET,
+                    "server.port=0",
+                    "spring.threads.virtual.enabled=" + virtualThreads,
+                    // connections are not the limit under test, threads are
+                    "server.tomcat.max-connections=20000",
+                    "server.tomcat.accept-count=10000")) {
+                BenchmarkApplication.seed(context.getBean(JdbcTemplate.class), TICKETS);
+                URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/tickets/");
+                String threads = virtualThreads ? "virtual" : "platform";
+
+                for (int clients : clientCounts) {
+                    run(base, clients, warmup);
+                    Result result = toResult(threads, clients, duration, run(base, clients, duration));
+                    System.out.println(result);
+                    results.add(result);
+                }
+            }
+        }
+
+        File output = new File("target/loadtest-virtual-threads.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, results);
+        System.out.println("Results written to " + output.getAbsolutePath());
+    }
+
+    private record Run(Histogram latencies, long errors) {
+    }
+
+    private static Run run(URI base, int clients, Duration duration) {
+        Recorder recorder = new Recorder(3);
+        LongAdder errors = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+
+        // the executor is closed first, which waits for every client to pass the deadline
+        try (HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                clientThreads.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(base.resolve(String.valueOf(ThreadLocalRandom.current().nextInt(1, TICKETS + 1))))
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                            if (e instanceof InterruptedException) {
+                                return;
+                            }
+                        }
+                        recorder.recordValue(System.nanoTime() - start);
+                    }
+                });
+            }
+        }
+        return new Run(recorder.getIntervalHistogram(), errors.sum());
+    }
+
+    private static Result toResult(String threads, int clients, Duration duration, Run run) {
+        Histogram latencies = run.latencies();
+        return new Result(threads, clients,
+                latencies.getTotalCount(),
+                run.errors(),
+                latencies.getTotalCount() / (duration.toMillis() / 1000.0),
+                latencies.getValueAtPercentile(50) / 1e6,
+                latencies.getValueAtPercentile(99) / 1e6,
+                latencies.getMaxValue() / 1e6);
+    }
+}
@@ -0,0 +1,76 @@
+package com.taskmanager.taskmanager.archive;
+
+import com.taskmanager.taskmanager.repository.ArchivedTicketRepository;
+import com.taskmanager.taskmanager.repository.TicketRepository;
+import com.taskmanager.taskmanager.util.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Periodically moves tickets that have been CLOSED for longer than {@code ticket-archive.age} from the ticket table
+ * to ticket_archive, so the ticket table and its indexes only grow with the live workload. Tickets are moved oldest
+ * closing date first, {@value Constants#ARCHIVE_CHUNK_SIZE} per transaction: a chunk is copied and deleted by two
+ * statements and commits on its own, which keeps row locks short while the application keeps writing. A failed
+ * chunk rolls back whole and is picked up again by the next run.
+ */
+@Component
+@Slf4j
+public class TicketArchiver {
+
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration age;
+
+    public TicketArchiver(TicketRepository ticketRepository, ArchivedTicketRepository archivedTicketRepository,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${ticket-archive.age:P90D}") Duration age) {
+        this.ticketRepository = ticketRepository;
+        this.archivedTicketRepository = archivedTicketRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.age = age;
+    }
+
+    /**
+     * @return the number of tickets archived.
+     */
+    @Scheduled(fixedDelayString = "${ticket-archive.interval:PT1H}", initialDelayString = "${ticket-archive.interval:PT1H}")
+    public int archive() {
+        long start = System.nanoTime();
+        LocalDateTime closedBefore = LocalDateTime.now().minus(age);
+        int archived = 0;
+        int chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> archiveChunk(closedBefore));
+            archived += chunk;
+        } while (chunk == Constants.ARCHIVE_CHUNK_SIZE);
+
+        if (archived > 0) {
+            log.info("Archived {} tickets closed before {} in {} ms", archived, closedBefore, (System.nanoTime() - start) / 1_000_000);
+        }
+        return archived;
+    }
+
+    private int archiveChunk(LocalDateTime closedBefore) {
+        List<Long> ids = ticketRepository.findIdsClosedBefore(closedBefore, Limit.of(Constants.ARCHIVE_CHUNK_SIZE));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int copied = archivedTicketRepository.copyClosed(ids, LocalDateTime.now());
+        int deleted = ticketRepository.deleteClosed(ids);
+        if (copied != deleted) {
+            // closed tickets never change, so this would lose or duplicate a ticket
+            throw new IllegalStateException("Copied " + copied + " tickets to the archive but deleted " + deleted);
+        }
+        return deleted;
+    }
+}
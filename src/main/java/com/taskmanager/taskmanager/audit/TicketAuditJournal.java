@@ -0,0 +1,372 @@
+package com.taskmanager.taskmanager.audit;
+
+import com.taskmanager.taskmanager.model.Status;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of ticket status changes, kept out of the database so auditing doesn't add a write per
+ * transition. Records have a fixed layout of {@value #RECORD_SIZE} bytes and are written into memory-mapped segment
+ * files of {@code ticket-audit.segment-records} records each, a full segment is followed by a new one.
+ * <p>
+ * Appending copies the record into the mapped segment under a lock and allocates nothing. The pages are forced to
+ * disk by a flusher thread, which groups every record appended in the last {@code ticket-audit.flush-interval}, or
+ * sooner once {@code ticket-audit.group-commit-records} are waiting, so appends never wait for the disk. Records of
+ * the last interval can be lost on a crash, the database stays the source of truth for the ticket itself.
+ * <p>
+ * A record is marked as complete by its last field, so a record torn by a crash is skipped. Timestamps never go
+ * backwards, which lets time range reads skip whole segments and stop at the first later record.
+ * <p>
+ * The segments live in {@code ticket-audit.directory}, by default {@code taskmanager/audit} in the home directory of
+ * the user running the application, so the journal is found again whichever directory the application is started
+ * from. A relative path is resolved against the working directory; the absolute path is logged on startup.
+ */
+@Component
+@Slf4j
+public class TicketAuditJournal {
+
+    static final int RECORD_SIZE = 32;
+    // record layout, the marker is written last
+    private static final int TIMESTAMP = 0;
+    private static final int TICKET_ID = 8;
+    private static final int AGENT_ID = 16;
+    private static final int FROM = 24;
+    private static final int TO = 25;
+    private static final int MARKER = 28;
+    private static final int COMPLETE = 0x41554454;
+
+    // 0 stands for no agent and no previous status; statuses are stored as ordinal + 1, so new ones go last
+    private static final long NO_AGENT = 0;
+    private static final Status[] STATUSES = Status.values();
+
+    private static final String SEGMENT_SUFFIX = ".audit";
+    private static final String LOCK_FILE = "journal.lock";
+
+    /**
+     * One status change. {@code from} is null for a created ticket and {@code agentId} is null while unassigned.
+     */
+    public record Entry(LocalDateTime timestamp, long ticketId, Status from, Status to, Long agentId) {
+    }
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final long flushIntervalNanos;
+    private final int groupCommitRecords;
+
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    // guarded by appendLock
+    private Segment active;
+    private long lastTimestamp;
+    private int unflushed;
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // guarded by flushLock
+    private Segment flushing;
+    private int flushedRecords;
+
+    // held while open, two journals appending to the same segments would overwrite each other's records
+    private final FileChannel lockChannel;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public TicketAuditJournal(@Value("${ticket-audit.directory:${user.home}/taskmanager/audit}") Path directory,
+                              @Value("${ticket-audit.segment-records:2097152}") int segmentRecords,
+                              @Value("${ticket-audit.flush-interval:PT0.05S}") Duration flushInterval,
+                              @Value("${ticket-audit.group-commit-records:4096}") int groupCommitRecords) throws IOException {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.segmentRecords = segmentRecords;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.groupCommitRecords = groupCommitRecords;
+
+        Files.createDirectories(this.directory);
+        lockChannel = FileChannel.open(this.directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (!tryLock(lockChannel)) {
+            lockChannel.close();
+            throw new IllegalStateException("Ticket audit journal " + this.directory + " is already open");
+        }
+        try (Stream<Path> files = Files.list(this.directory)) {
+            for (Path file : files.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList()) {
+                segments.add(Segment.open(file));
+            }
+        }
+        if (segments.isEmpty()) {
+            segments.add(Segment.create(this.directory, 0, segmentRecords));
+        }
+        for (Segment segment : segments) {
+            if (segment.size > 0) {
+                lastTimestamp = segment.timestamp(segment.size - 1);
+            }
+        }
+        active = segments.get(segments.size() - 1);
+        flushing = active;
+        flushedRecords = active.size;
+        log.info("Opened ticket audit journal in {} with {} segments", this.directory, segments.size());
+
+        flusher = Thread.ofPlatform().daemon().name("ticket-audit-flusher").start(this::flushPeriodically);
+    }
+
+    /**
+     * Appends a status change made now, to be forced to disk by the next flush.
+     * @param from the previous status, or null for a created ticket.
+     * @param agentId the assigned agent, or null while unassigned.
+     */
+    public void append(long ticketId, Status from, Status to, Long agentId) {
+        appendLock.lock();
+        try {
+            Segment segment = active;
+            if (segment.size == segment.capacity) {
+                segment = roll(segment);
+                if (segment == null) {
+                    return;
+                }
+            }
+            long timestamp = Math.max(System.currentTimeMillis(), lastTimestamp);
+            lastTimestamp = timestamp;
+
+            int offset = segment.size * RECORD_SIZE;
+            segment.buffer.putLong(offset + TIMESTAMP, timestamp)
+                    .putLong(offset + TICKET_ID, ticketId)
+                    .putLong(offset + AGENT_ID, agentId == null ? NO_AGENT : agentId)
+                    .put(offset + FROM, from == null ? 0 : (byte) (from.ordinal() + 1))
+                    .put(offset + TO, (byte) (to.ordinal() + 1))
+                    .putInt(offset + MARKER, COMPLETE);
+            // publishes the record to readers and the flusher
+            segment.size++;
+
+            if (++unflushed >= groupCommitRecords) {
+                unflushed = 0;
+                LockSupport.unpark(flusher);
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * Every status change of the ticket, oldest first. Reads all segments.
+     */
+    public List<Entry> findByTicketId(long ticketId) {
+        List<Entry> entries = new ArrayList<>();
+        for (Segment segment : segments) {
+            int size = segment.size;
+            for (int index = 0; index < size; index++) {
+                if (segment.ticketId(index) == ticketId && segment.isComplete(index)) {
+                    entries.add(segment.entry(index));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Every status change made between the two times, both inclusive, oldest first.
+     */
+    public List<Entry> findBetween(LocalDateTime from, LocalDateTime to) {
+        long fromMillis = toEpochMilli(from);
+        long toMillis = toEpochMilli(to);
+        List<Entry> entries = new ArrayList<>();
+        for (Segment segment : segments) {
+            int size = segment.size;
+            if (size == 0 || segment.timestamp(size - 1) < fromMillis) {
+                continue;
+            }
+            for (int index = segment.firstAtOrAfter(fromMillis, size); index < size; index++) {
+                if (segment.timestamp(index) > toMillis) {
+                    return entries;
+                }
+                if (segment.isComplete(index)) {
+                    entries.add(segment.entry(index));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Forces every record appended so far to disk, including the rest of any segment filled since the last flush.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            Segment segment = flushing;
+            int from = flushedRecords;
+            while (true) {
+                // a segment with a successor is full, its size read after the successor is final
+                Segment next = segment.next;
+                int size = segment.size;
+                if (size > from) {
+                    segment.buffer.force(from * RECORD_SIZE, (size - from) * RECORD_SIZE);
+                }
+                if (next == null) {
+                    flushing = segment;
+                    flushedRecords = size;
+                    return;
+                }
+                segment = next;
+                from = 0;
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the flusher after a last flush. Appends after this are still written to the mapped segments, but not
+     * forced to disk.
+     */
+    @PreDestroy
+    public void close() throws InterruptedException, IOException {
+        running = false;
+        LockSupport.unpark(flusher);
+        flusher.join();
+        lockChannel.close();
+    }
+
+    private void flushPeriodically() {
+        while (running) {
+            LockSupport.parkNanos(flushIntervalNanos);
+            try {
+                flush();
+            } catch (UncheckedIOException e) {
+                log.error("Failed to flush the ticket audit journal", e);
+            }
+        }
+        flush();
+    }
+
+    /**
+     * Starts the segment after the full one. A record that can't get a segment is dropped rather than failing the
+     * transition, which has already been committed.
+     */
+    private Segment roll(Segment full) {
+        try {
+            Segment next = Segment.create(directory, full.index + 1, segmentRecords);
+            segments.add(next);
+            full.next = next;
+            active = next;
+            return next;
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to start a ticket audit segment, dropping the record", e);
+            return null;
+        }
+    }
+
+    private static boolean tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock() != null;
+        } catch (OverlappingFileLockException e) {
+            // held by another journal of this process
+            return false;
+        }
+    }
+
+    private static long toEpochMilli(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Segment {
+
+        private final long index;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        // records appended and visible to readers
+        private volatile int size;
+        private volatile Segment next;
+
+        private Segment(long index, MappedByteBuffer buffer, int size) {
+            this.index = index;
+            this.buffer = buffer;
+            this.capacity = buffer.capacity() / RECORD_SIZE;
+            this.size = size;
+        }
+
+        static Segment create(Path directory, long index, int records) throws IOException {
+            Path file = directory.resolve("%020d%s".formatted(index, SEGMENT_SUFFIX));
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // the mapping outlives the channel and grows the file to its size
+                return new Segment(index, channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) records * RECORD_SIZE), 0);
+            }
+        }
+
+        /**
+         * Maps an existing segment. Appending continues after its last complete record, an incomplete one is
+         * overwritten.
+         */
+        static Segment open(Path file) throws IOException {
+            String name = file.getFileName().toString();
+            long index = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+                int size = 0;
+                while (size < buffer.capacity() / RECORD_SIZE && buffer.getInt(size * RECORD_SIZE + MARKER) == COMPLETE) {
+                    size++;
+                }
+                return new Segment(index, buffer, size);
+            }
+        }
+
+        boolean isComplete(int index) {
+            return buffer.getInt(index * RECORD_SIZE + MARKER) == COMPLETE;
+        }
+
+        long timestamp(int index) {
+            return buffer.getLong(index * RECORD_SIZE + TIMESTAMP);
+        }
+
+        long ticketId(int index) {
+            return buffer.getLong(index * RECORD_SIZE + TICKET_ID);
+        }
+
+        /**
+         * Binary search over the ordered timestamps of the first {@code size} records.
+         */
+        int firstAtOrAfter(long timestamp, int size) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (timestamp(middle) < timestamp) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        Entry entry(int index) {
+            int offset = index * RECORD_SIZE;
+            byte from = buffer.get(offset + FROM);
+            long agentId = buffer.getLong(offset + AGENT_ID);
+            return new Entry(
+                    LocalDateTime.ofInstant(Instant.ofEpochMilli(buffer.getLong(offset + TIMESTAMP)), ZoneId.systemDefault()),
+                    buffer.getLong(offset + TICKET_ID),
+                    from == 0 ? null : STATUSES[from - 1],
+                    STATUSES[buffer.get(offset + TO) - 1],
+                    agentId == NO_AGENT ? null : agentId);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.taskmanager.taskmanager.cache;
+
+import com.taskmanager.taskmanager.model.Agent;
+import com.taskmanager.taskmanager.util.TransactionUtils;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA listener on {@link Agent} that drops cached names once an agent change has committed. A new agent only
+ * clears its own (possibly negative) entry; updates and removals clear everything since the previous name is
+ * no longer known here and the roster is small. They also clear the cached tickets, which carry the agent's name
+ * without a new version of the ticket to evict them by.
+ */
+public class AgentCacheInvalidator {
+
+    private final ObjectProvider<AgentNameCache> agentNameCache;
+    private final ObjectProvider<TicketCache> ticketCache;
+
+    public AgentCacheInvalidator(ObjectProvider<AgentNameCache> agentNameCache, ObjectProvider<TicketCache> ticketCache) {
+        this.agentNameCache = agentNameCache;
+        this.ticketCache = ticketCache;
+    }
+
+    @PostPersist
+    public void agentCreated(Agent agent) {
+        agentNameCache.ifAvailable(cache -> TransactionUtils.afterCommit(() -> cache.invalidate(agent.getName())));
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void agentChanged(Agent agent) {
+        agentNameCache.ifAvailable(cache -> TransactionUtils.afterCommit(cache::invalidateAll));
+        ticketCache.ifAvailable(cache -> TransactionUtils.afterCommit(cache::invalidateAll));
+    }
+}
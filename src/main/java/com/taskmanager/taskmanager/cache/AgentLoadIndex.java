@@ -0,0 +1,189 @@
+package com.taskmanager.taskmanager.cache;
+
+import com.taskmanager.taskmanager.dto.AgentDto;
+import com.taskmanager.taskmanager.model.Status;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agents ordered by their number of IN_PROGRESS tickets, for assigning tickets to the least loaded agent without
+ * counting in the database. Only agents below the capacity are in the ordered set, so a reservation never takes an
+ * agent past it.
+ * <p>
+ * The set is a skip list, readers walk it without locking. Every agent has its own lock that serializes changes of
+ * its load and its position in the set; a reservation only tries that lock and moves on to the next agent when
+ * another caller holds it, so concurrent reservations spread over the least loaded agents instead of queueing on
+ * one. The locks are {@link ReentrantLock}s rather than monitors so they don't pin virtual threads.
+ */
+@Component
+public class AgentLoadIndex {
+
+    private static final Comparator<Slot> BY_LOAD = Comparator.comparingInt(Slot::load)
+            .thenComparingLong(slot -> slot.agent().agent.id());
+
+    private final int capacity;
+
+    private final Map<Long, AgentLoad> agents = new ConcurrentHashMap<>();
+    private final NavigableSet<Slot> available = new ConcurrentSkipListSet<>(BY_LOAD);
+
+    public AgentLoadIndex(@Value("${ticket-dispatch.agent-capacity:10}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Takes one unit of capacity from the least loaded agent.
+     * @return The agent, or empty when every agent is at capacity.
+     */
+    public Optional<AgentDto> reserve() {
+        while (true) {
+            boolean contended = false;
+            for (Slot slot : available) {
+                AgentLoad agent = slot.agent();
+                if (!agent.lock.tryLock()) {
+                    contended = true;
+                    continue;
+                }
+                try {
+                    // the iterator may still return a slot the agent has just left
+                    if (agent.removed || agent.load != slot.load()) {
+                        contended = true;
+                        continue;
+                    }
+                    agent.add(1);
+                    return Optional.of(agent.agent);
+                } finally {
+                    agent.lock.unlock();
+                }
+            }
+            if (!contended) {
+                return Optional.empty();
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Gives back a reservation whose assignment did not happen.
+     */
+    public void release(Long agentId) {
+        adjust(agentId, -1);
+    }
+
+    /**
+     * Follows committed transitions into or out of IN_PROGRESS that did not go through {@link #reserve()}, e.g. an
+     * assignment to an explicitly chosen agent, which may take the agent past its capacity.
+     */
+    public void apply(List<TicketCounts.Transition> transitions) {
+        for (TicketCounts.Transition transition : transitions) {
+            if (transition.from() == Status.IN_PROGRESS && transition.fromAgentId() != null) {
+                adjust(transition.fromAgentId(), -1);
+            }
+            if (transition.to() == Status.IN_PROGRESS && transition.toAgentId() != null) {
+                adjust(transition.toAgentId(), 1);
+            }
+        }
+    }
+
+    /**
+     * Aligns the index with the agent roster. Agents that are new to the index start at their IN_PROGRESS count
+     * from the database, agents that no longer exist are dropped; the load of every other agent is kept since the
+     * incremental updates already track it and may include reservations that have not committed yet.
+     * @param roster All agents.
+     * @param inProgress IN_PROGRESS tickets per agent id.
+     */
+    public void register(List<AgentDto> roster, Map<Long, Long> inProgress) {
+        Set<Long> agentIds = new HashSet<>();
+        for (AgentDto agent : roster) {
+            agentIds.add(agent.id());
+            agents.computeIfAbsent(agent.id(), id -> new AgentLoad(agent, inProgress.getOrDefault(id, 0L).intValue()));
+        }
+        for (AgentLoad agent : agents.values()) {
+            if (!agentIds.contains(agent.agent.id())) {
+                remove(agent);
+            }
+        }
+    }
+
+    /**
+     * IN_PROGRESS tickets per agent id, reservations included.
+     */
+    public Map<Long, Integer> loads() {
+        Map<Long, Integer> loads = new TreeMap<>();
+        agents.forEach((agentId, agent) -> loads.put(agentId, agent.load));
+        return loads;
+    }
+
+    private void adjust(Long agentId, int delta) {
+        AgentLoad agent = agents.get(agentId);
+        if (agent == null) {
+            // not registered yet, the next registration reads its load from the database
+            return;
+        }
+        agent.lock.lock();
+        try {
+            if (!agent.removed) {
+                agent.add(delta);
+            }
+        } finally {
+            agent.lock.unlock();
+        }
+    }
+
+    private void remove(AgentLoad agent) {
+        agent.lock.lock();
+        try {
+            agent.removed = true;
+            available.remove(new Slot(agent.load, agent));
+            agents.remove(agent.agent.id(), agent);
+        } finally {
+            agent.lock.unlock();
+        }
+    }
+
+    private record Slot(int load, AgentLoad agent) {
+    }
+
+    private final class AgentLoad {
+
+        private final AgentDto agent;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        // guarded by lock, volatile for loads()
+        private volatile int load;
+        private boolean removed;
+
+        private AgentLoad(AgentDto agent, int load) {
+            this.agent = agent;
+            this.load = Math.max(0, load);
+            // reservable from here on, with the load from the database already in place
+            if (this.load < capacity) {
+                available.add(new Slot(this.load, this));
+            }
+        }
+
+        /**
+         * Moves the agent to its new position in the set. Must hold the lock.
+         */
+        private void add(int delta) {
+            if (load < capacity) {
+                available.remove(new Slot(load, this));
+            }
+            load = Math.max(0, load + delta);
+            if (load < capacity) {
+                available.add(new Slot(load, this));
+            }
+        }
+    }
+}
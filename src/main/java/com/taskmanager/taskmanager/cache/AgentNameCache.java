@@ -0,0 +1,113 @@
+package com.taskmanager.taskmanager.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.taskmanager.taskmanager.dto.AgentDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded name to agent cache in front of {@code AgentRepository.findOneByName}. Unknown names are cached as
+ * empty for a shorter time, so repeated bad input does not reach the database.
+ * <p>
+ * A miss caches an incomplete future before the agent is read and the caller that put it there loads it, like
+ * {@link TicketCache}. An invalidation during the read drops the future with it, so a lookup that may have seen an
+ * agent from before a rename or delete is never cached.
+ */
+@Component
+public class AgentNameCache implements MeterBinder {
+
+    static final String CACHE_NAME = "agentNames";
+
+    private final AsyncCache<String, Optional<AgentDto>> cache;
+
+    public AgentNameCache(@Value("${agent-cache.maximum-size:10000}") long maximumSize,
+                          @Value("${agent-cache.ttl:PT1H}") Duration ttl,
+                          @Value("${agent-cache.negative-ttl:PT1M}") Duration negativeTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Optional<AgentDto>>() {
+                    @Override
+                    public long expireAfterCreate(String name, Optional<AgentDto> agent, long currentTime) {
+                        return agent.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String name, Optional<AgentDto> agent, long currentTime, long currentDuration) {
+                        return expireAfterCreate(name, agent, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String name, Optional<AgentDto> agent, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns the cached agent or loads and caches it. The loader runs on the calling thread, outside of any cache
+     * lock: {@code Cache.get} would run it inside the map's synchronized compute and pin a virtual thread's carrier
+     * for the whole database round trip. Concurrent misses for the same name wait for the one load, and nothing is
+     * cached when it throws.
+     */
+    public Optional<AgentDto> get(String name, Function<String, Optional<AgentDto>> loader) {
+        CompletableFuture<Optional<AgentDto>> loading = new CompletableFuture<>();
+        CompletableFuture<Optional<AgentDto>> agent = cache.get(name, (key, executor) -> loading);
+        if (agent == loading) {
+            try {
+                loading.complete(loader.apply(name));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+            }
+        }
+        try {
+            return agent.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public void invalidate(String name) {
+        cache.synchronous().invalidate(name);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * Hit, miss and eviction counters since startup.
+     */
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    /**
+     * Publishes size, hit, miss and eviction meters of the cache as {@code cache.*{cache="agentNames"}}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    void cleanUp() {
+        cache.synchronous().cleanUp();
+    }
+}
@@ -0,0 +1,95 @@
+package com.taskmanager.taskmanager.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.taskmanager.taskmanager.dto.TicketDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded id to ticket cache in front of {@code TicketService.getTicketById}. Every change to a ticket evicts it
+ * once committed, and every change to an agent evicts all tickets since they carry the agent's name. The TTL only
+ * bounds how long a change made outside the application can go unnoticed.
+ * <p>
+ * A miss caches an incomplete future before the ticket is read and the caller that put it there loads it, so
+ * concurrent misses on the same id wait for that one read instead of each going to the database. An eviction
+ * during the read drops the future with it, a read that may have seen the previous state is never cached.
+ */
+@Component
+public class TicketCache implements MeterBinder {
+
+    static final String CACHE_NAME = "tickets";
+
+    private final AsyncCache<Long, TicketDto> cache;
+
+    public TicketCache(@Value("${ticket-cache.maximum-size:100000}") long maximumSize,
+                       @Value("${ticket-cache.ttl:PT10M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns the cached ticket or loads and caches it. The loader runs on the calling thread, outside of any cache
+     * lock, and nothing is cached when it throws; callers waiting for the same id get the same exception.
+     */
+    public TicketDto get(Long id, Function<Long, TicketDto> loader) {
+        CompletableFuture<TicketDto> loading = new CompletableFuture<>();
+        CompletableFuture<TicketDto> ticket = cache.get(id, (key, executor) -> loading);
+        if (ticket == loading) {
+            try {
+                loading.complete(loader.apply(id));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+            }
+        }
+        try {
+            return ticket.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public void invalidate(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    public void invalidateAll(Collection<Long> ids) {
+        cache.synchronous().invalidateAll(ids);
+    }
+
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * Hit, miss, load and eviction counters since startup.
+     */
+    public CacheStats stats() {
+        return cache.synchronous().stats();
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    /**
+     * Publishes size, hit, miss, load and eviction meters of the cache as {@code cache.*{cache="tickets"}}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
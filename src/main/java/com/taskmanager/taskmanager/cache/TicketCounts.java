@@ -0,0 +1,129 @@
+package com.taskmanager.taskmanager.cache;
+
+import com.taskmanager.taskmanager.dto.TicketCountDto;
+import com.taskmanager.taskmanager.dto.TicketStatsDto;
+import com.taskmanager.taskmanager.model.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live ticket counts by status, in total and per assigned agent, so the stats endpoint never queries the database.
+ * Every cell is a {@link LongAdder}, concurrent transitions update them without contending on a lock. The service
+ * applies transitions once their transaction has committed and {@link TicketCountsReconciler} replaces all counts
+ * from the database at startup and periodically.
+ */
+@Component
+public class TicketCounts {
+
+    private static final Status[] STATUSES = Status.values();
+
+    /**
+     * Status change of one ticket. {@code from} is null for a created ticket, agent ids are null while unassigned.
+     */
+    public record Transition(Status from, Long fromAgentId, Status to, Long toAgentId) {
+
+        public static Transition created(Long agentId) {
+            return new Transition(null, null, Status.NEW, agentId);
+        }
+    }
+
+    private volatile Counts counts = new Counts();
+
+    public void apply(List<Transition> transitions) {
+        Counts current = counts;
+        for (Transition transition : transitions) {
+            if (transition.from() != null) {
+                current.add(transition.from(), transition.fromAgentId(), -1);
+            }
+            current.add(transition.to(), transition.toAgentId(), 1);
+        }
+    }
+
+    /**
+     * Replaces all counts at once, readers see either the old or the new ones.
+     * @param rows The counts per status and agent, as grouped by the database.
+     * @return The number of tickets by which the per-agent and unassigned counts were off, 0 when they matched.
+     */
+    public long replace(List<TicketCountDto> rows) {
+        Counts fresh = new Counts();
+        for (TicketCountDto row : rows) {
+            fresh.add(row.status(), row.agentId(), row.count());
+        }
+        Counts previous = counts;
+        counts = fresh;
+        return previous.distanceTo(fresh);
+    }
+
+    public TicketStatsDto snapshot() {
+        Counts current = counts;
+        Map<Long, Map<Status, Long>> agents = new TreeMap<>();
+        current.byAgent.forEach((agentId, cells) -> agents.put(agentId, toMap(cells)));
+        return new TicketStatsDto(toMap(current.totals), toMap(current.unassigned), agents);
+    }
+
+    private static Map<Status, Long> toMap(LongAdder[] cells) {
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        for (Status status : STATUSES) {
+            counts.put(status, cells[status.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    private static final class Counts {
+
+        private static final LongAdder[] EMPTY = newCells();
+
+        private final LongAdder[] totals = newCells();
+        private final LongAdder[] unassigned = newCells();
+        private final Map<Long, LongAdder[]> byAgent = new ConcurrentHashMap<>();
+
+        void add(Status status, Long agentId, long delta) {
+            totals[status.ordinal()].add(delta);
+            cells(agentId)[status.ordinal()].add(delta);
+        }
+
+        private LongAdder[] cells(Long agentId) {
+            if (agentId == null) {
+                return unassigned;
+            }
+            // plain get first, computeIfAbsent may lock the bin even when the agent is already there
+            LongAdder[] cells = byAgent.get(agentId);
+            return cells != null ? cells : byAgent.computeIfAbsent(agentId, id -> newCells());
+        }
+
+        long distanceTo(Counts other) {
+            long distance = distance(unassigned, other.unassigned);
+            for (Map.Entry<Long, LongAdder[]> entry : byAgent.entrySet()) {
+                distance += distance(entry.getValue(), other.byAgent.getOrDefault(entry.getKey(), EMPTY));
+            }
+            for (Map.Entry<Long, LongAdder[]> entry : other.byAgent.entrySet()) {
+                if (!byAgent.containsKey(entry.getKey())) {
+                    distance += distance(EMPTY, entry.getValue());
+                }
+            }
+            return distance;
+        }
+
+        private static long distance(LongAdder[] cells, LongAdder[] otherCells) {
+            long distance = 0;
+            for (int i = 0; i < cells.length; i++) {
+                distance += Math.abs(cells[i].sum() - otherCells[i].sum());
+            }
+            return distance;
+        }
+
+        private static LongAdder[] newCells() {
+            LongAdder[] cells = new LongAdder[STATUSES.length];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = new LongAdder();
+            }
+            return cells;
+        }
+    }
+}
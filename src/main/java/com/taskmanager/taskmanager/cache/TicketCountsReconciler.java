@@ -0,0 +1,58 @@
+package com.taskmanager.taskmanager.cache;
+
+import com.taskmanager.taskmanager.dto.AgentDto;
+import com.taskmanager.taskmanager.dto.TicketCountDto;
+import com.taskmanager.taskmanager.model.Status;
+import com.taskmanager.taskmanager.repository.AgentRepository;
+import com.taskmanager.taskmanager.repository.ArchivedTicketRepository;
+import com.taskmanager.taskmanager.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Seeds {@link TicketCounts} from one GROUP BY query at startup and repeats it periodically, which corrects whatever
+ * the incremental updates missed, e.g. the previous agent of a NEW ticket that was created with one and then
+ * reassigned. A transition committing while the query runs can be missed or counted twice until the next run.
+ * The same rows register new agents in {@link AgentLoadIndex} with their IN_PROGRESS load. Archived tickets are
+ * counted from the archive, so archiving doesn't change the counts.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TicketCountsReconciler {
+
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final AgentRepository agentRepository;
+    private final TicketCounts ticketCounts;
+    private final AgentLoadIndex agentLoadIndex;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${ticket-stats.reconcile-interval:PT5M}",
+            initialDelayString = "${ticket-stats.reconcile-interval:PT5M}")
+    public void reconcile() {
+        List<TicketCountDto> rows = Stream.concat(ticketRepository.countByStatusAndAgent().stream(),
+                archivedTicketRepository.countByStatusAndAgent().stream()).toList();
+        long drift = ticketCounts.replace(rows);
+        if (drift != 0) {
+            log.info("Reconciled ticket counts, in-memory counts were off by {} tickets", drift);
+        }
+
+        Map<Long, Long> inProgress = rows.stream()
+                .filter(row -> row.status() == Status.IN_PROGRESS && row.agentId() != null)
+                .collect(Collectors.toMap(TicketCountDto::agentId, TicketCountDto::count));
+        List<AgentDto> roster = agentRepository.findAll().stream()
+                .map(agent -> new AgentDto(agent.getId(), agent.getName()))
+                .toList();
+        agentLoadIndex.register(roster, inProgress);
+    }
+}
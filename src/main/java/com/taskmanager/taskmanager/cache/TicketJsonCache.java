@@ -0,0 +1,78 @@
+package com.taskmanager.taskmanager.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.taskmanager.taskmanager.dto.TicketDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * JSON response bodies of single tickets by id, version and agent name, encoded once by the application's
+ * {@link ObjectMapper}. A version is never written twice, and the agent's name is the one thing in the body that can
+ * change without a new version, so a body always matches its key. Entries are only evicted for space, bounded by
+ * their total size in bytes, or once unread for the TTL, which is how the bodies of superseded versions and names go
+ * away.
+ */
+@Component
+public class TicketJsonCache implements MeterBinder {
+
+    static final String CACHE_NAME = "ticketJson";
+
+    private final ObjectWriter writer;
+    private final Cache<Key, byte[]> cache;
+
+    public TicketJsonCache(ObjectMapper objectMapper,
+                           @Value("${ticket-json-cache.maximum-bytes:67108864}") long maximumBytes,
+                           @Value("${ticket-json-cache.ttl:PT10M}") Duration ttl) {
+        this.writer = objectMapper.writerFor(TicketDto.class);
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumBytes)
+                .weigher((Key key, byte[] json) -> json.length)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the encoding of the ticket at its version, shared between callers, so it must not be modified.
+     */
+    public byte[] get(TicketDto ticket) {
+        return cache.get(new Key(ticket.id(), ticket.version(), ticket.assignedAgent()), key -> encode(ticket));
+    }
+
+    /**
+     * Hit, miss and eviction counters since startup.
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Publishes size, hit, miss and eviction meters of the cache as {@code cache.*{cache="ticketJson"}}.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    private byte[] encode(TicketDto ticket) {
+        try {
+            return writer.writeValueAsBytes(ticket);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Key(long id, long version, String assignedAgent) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.taskmanager.taskmanager.config;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.dto.TicketField;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Attaches the {@link TicketField#FILTER} filter to {@link TicketDto} through a mix-in, so only the application's
+     * ObjectMapper knows about it. Every field is written unless a response brings its own filter.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer ticketFieldsFilter() {
+        return builder -> builder
+                .mixIn(TicketDto.class, TicketFieldsMixin.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    /**
+     * Serves {@code application/x-jackson-smile} to clients that ask for it, with the same mapper configuration as
+     * JSON. Property names and the repeated status and agent values are written once per response and referenced
+     * after that, and dates are numeric arrays instead of ISO strings. Replaces the default Smile converter, which
+     * would not see the customizations above.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory smileFactory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder
+                .factory(smileFactory)
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+    }
+
+    @JsonFilter(TicketField.FILTER)
+    private interface TicketFieldsMixin {
+    }
+}
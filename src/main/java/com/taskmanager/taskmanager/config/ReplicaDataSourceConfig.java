@@ -0,0 +1,72 @@
+package com.taskmanager.taskmanager.config;
+
+import com.taskmanager.taskmanager.replica.ReplicaLagMonitor;
+import com.taskmanager.taskmanager.replica.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Routes read-only transactions to the replica configured under {@code replica.datasource}, with the same properties
+ * as {@code spring.datasource}. Without {@code replica.datasource.url} the application keeps its single datasource.
+ * JPA, Flyway and everything else see the routing datasource; the schema is migrated on the primary only and reaches
+ * the replica through replication.
+ */
+@Configuration
+@ConditionalOnProperty("replica.datasource.url")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource")
+    public DataSourceProperties primaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(@Qualifier("primaryDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("replica.datasource")
+    public DataSourceProperties replicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("replica.datasource.hikari")
+    public HikariDataSource replicaDataSource(@Qualifier("replicaDataSourceProperties") DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                               @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               @Value("${replica.max-lag:PT5S}") Duration maxLag) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLag);
+    }
+
+    /**
+     * Connections are only fetched when the first statement runs, once the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor));
+    }
+}
@@ -1,15 +1,31 @@
 package com.taskmanager.taskmanager.controller;
 
+import com.taskmanager.taskmanager.cache.TicketJsonCache;
+import com.taskmanager.taskmanager.dto.ExportFormat;
 import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.dto.TicketField;
 import com.taskmanager.taskmanager.dto.TicketFilterDto;
+import com.taskmanager.taskmanager.dto.TicketOperationResultDto;
+import com.taskmanager.taskmanager.dto.TicketStatsDto;
+import com.taskmanager.taskmanager.dto.TicketVersionDto;
 import com.taskmanager.taskmanager.service.TicketService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
 import java.util.List;
+import java.util.Set;
 
 @RequiredArgsConstructor
 @RestController
@@ -18,44 +34,175 @@ public class TicketController {
 
     private final TicketService ticketService;
 
+    private final TicketJsonCache ticketJsonCache;
+
+    /**
+     * A client that sends the ETag of the current version gets a 304 after only the version and the agent's name have
+     * been read. Otherwise the body is the cached encoding of the ticket, tagged with the version it was read at.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<TicketDto> getTicket(@PathVariable Long id) {
+    public ResponseEntity<byte[]> getTicket(@PathVariable Long id,
+                                            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            TicketVersionDto current = ticketService.getTicketVersion(id);
+            String eTag = eTag(current.version(), current.assignedAgent());
+            if (matchesAny(ifNoneMatch, eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+            }
+        }
         TicketDto ticketDto = ticketService.getTicketById(id);
-        return ResponseEntity.ok(ticketDto);
+        return ResponseEntity.ok()
+                .eTag(eTag(ticketDto.version(), ticketDto.assignedAgent()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ticketJsonCache.get(ticketDto));
     }
 
+    /**
+     * {@code fields} is a comma separated list of ticket properties. Only those are read and serialized, the
+     * continuation token works the same either way. The page is JSON, or Smile for
+     * {@code Accept: application/x-jackson-smile}.
+     */
     @GetMapping
-    public List<TicketDto> getTickets(@Valid TicketFilterDto ticketFilterDto)  {
-        return ticketService.getTickets(ticketFilterDto);
+    public MappingJacksonValue getTickets(@Valid TicketFilterDto ticketFilterDto,
+                                          @RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer size,
+                                          @RequestParam(required = false) String fields) {
+        Set<TicketField> ticketFields = TicketField.parse(fields);
+        MappingJacksonValue page = new MappingJacksonValue(ticketService.getTickets(ticketFilterDto, cursor, size, ticketFields));
+        if (ticketFields != null) {
+            page.setFilters(TicketField.filter(ticketFields));
+        }
+        return page;
+    }
+
+    @GetMapping("/count")
+    public long countTickets(@Valid TicketFilterDto ticketFilterDto) {
+        return ticketService.countTickets(ticketFilterDto);
+    }
+
+    @GetMapping("/exists")
+    public boolean ticketsExist(@Valid TicketFilterDto ticketFilterDto) {
+        return ticketService.ticketsExist(ticketFilterDto);
+    }
+
+    @GetMapping("/stats")
+    public TicketStatsDto getTicketStats() {
+        return ticketService.getTicketStats();
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTickets(@Valid TicketFilterDto ticketFilterDto,
+                                                               @RequestParam(defaultValue = "NDJSON") ExportFormat format) {
+        // the body runs after the status and content type are sent, too late for a 400
+        ticketService.validateFilter(ticketFilterDto);
+        StreamingResponseBody body = outputStream -> ticketService.exportTickets(ticketFilterDto, format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.contentType()))
+                .body(body);
     }
 
     @PostMapping
     public ResponseEntity<TicketDto> createTicket(@RequestBody TicketDto ticketDto) {
         TicketDto createdTicket = ticketService.createTicket(ticketDto);
-        return new ResponseEntity<>(createdTicket, HttpStatus.CREATED);
+        return withETag(HttpStatus.CREATED, createdTicket);
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<List<TicketDto>> createTickets(@RequestBody List<TicketDto> ticketDtos) {
+        List<TicketDto> createdTickets = ticketService.createTickets(ticketDtos);
+        return new ResponseEntity<>(createdTickets, HttpStatus.CREATED);
     }
 
     @PutMapping("/{id}/agent/{agentId}")
     public ResponseEntity<TicketDto> assignAgent(@PathVariable Long id, @PathVariable Long agentId) {
         TicketDto updatedTicket = ticketService.assignTicketToAgent(id, agentId);
-        return new ResponseEntity<>(updatedTicket, HttpStatus.OK);
+        return withETag(HttpStatus.OK, updatedTicket);
+    }
+
+    @PutMapping("/{id}/agent/auto")
+    public ResponseEntity<TicketDto> autoAssignAgent(@PathVariable Long id) {
+        TicketDto updatedTicket = ticketService.autoAssignTicket(id);
+        return withETag(HttpStatus.OK, updatedTicket);
     }
 
     @PutMapping("/{id}/resolve")
     public ResponseEntity<TicketDto> resolveTicket(@PathVariable Long id) {
         TicketDto updatedTicket = ticketService.resolveTicket(id);
-        return new ResponseEntity<>(updatedTicket, HttpStatus.OK);
+        return withETag(HttpStatus.OK, updatedTicket);
     }
 
     @PutMapping("/{id}/close")
     public ResponseEntity<TicketDto> closeTicket(@PathVariable Long id) {
         TicketDto closedTicket = ticketService.closeTicket(id);
-        return new ResponseEntity<>(closedTicket, HttpStatus.OK);
+        return withETag(HttpStatus.OK, closedTicket);
+    }
+
+    @PutMapping("/bulk/agent/{agentId}")
+    public List<TicketOperationResultDto> assignAgent(@RequestBody List<Long> ticketIds, @PathVariable Long agentId) {
+        return ticketService.assignTicketsToAgent(ticketIds, agentId);
+    }
+
+    @PutMapping("/bulk/agent/auto")
+    public List<TicketOperationResultDto> autoAssignAgents(@RequestParam(required = false) Integer batchSize) {
+        return ticketService.autoAssignTickets(batchSize);
+    }
+
+    @PutMapping("/bulk/resolve")
+    public List<TicketOperationResultDto> resolveTickets(@RequestBody List<Long> ticketIds) {
+        return ticketService.resolveTickets(ticketIds);
+    }
+
+    @PutMapping("/bulk/close")
+    public List<TicketOperationResultDto> closeTickets(@RequestBody List<Long> ticketIds) {
+        return ticketService.closeTickets(ticketIds);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<TicketDto> updateTicket(@PathVariable Long id, @RequestBody TicketDto ticketDto) {
         TicketDto updatedTicket = ticketService.updateTicket(id, ticketDto);
-        return ResponseEntity.ok(updatedTicket);
+        return withETag(HttpStatus.OK, updatedTicket);
+    }
+
+    /**
+     * Tags a changed ticket with its new version, so the client can poll it conditionally right away.
+     */
+    private static ResponseEntity<TicketDto> withETag(HttpStatus status, TicketDto ticket) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (ticket.version() != null) {
+            response.eTag(eTag(ticket.version(), ticket.assignedAgent()));
+        }
+        return response.body(ticket);
+    }
+
+    /**
+     * Renaming an agent doesn't change the versions of its tickets, so the tag of an assigned ticket also carries the
+     * first 96 bits of the SHA-256 digest of the agent's name. A 32-bit hash collides for names as short as "Aa" and
+     * "BB", and a colliding rename would be answered with a 304 and the old name.
+     */
+    private static String eTag(long version, String assignedAgent) {
+        return "\"" + version + (assignedAgent == null ? "" : "-" + digest(assignedAgent)) + "\"";
+    }
+
+    private static String digest(String assignedAgent) {
+        try {
+            byte[] sha256 = MessageDigest.getInstance("SHA-256").digest(assignedAgent.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(sha256, 12));
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * If-None-Match holds {@code *} or a list of entity tags, compared weakly as it only guards a GET.
+     */
+    private static boolean matchesAny(String ifNoneMatch, String eTag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
@@ -1,7 +1,9 @@
 package com.taskmanager.taskmanager.controller.exception;
 
 import com.taskmanager.taskmanager.exception.*;
+import com.taskmanager.taskmanager.util.Constants;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -31,11 +33,41 @@ public class ControllerExceptionHandler {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(MissingDescriptionException.class)
+    public ResponseEntity<String> handleMissingDescription(MissingDescriptionException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(IllegalTicketStateException.class)
     public ResponseEntity<String> handleIllegalTicketStateException(IllegalTicketStateException ex) {
         return ResponseEntity.badRequest().body(ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidTicketFieldException.class)
+    public ResponseEntity<String> handleInvalidTicketFieldException(InvalidTicketFieldException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<String> handleInvalidDateRangeException(InvalidDateRangeException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        return new ResponseEntity<>(Constants.CONCURRENT_TICKET_UPDATE, HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(NoAvailableAgentException.class)
+    public ResponseEntity<String> handleNoAvailableAgent(NoAvailableAgentException ex) {
+        return new ResponseEntity<>(ex.getMessage(), HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<String> handEntityNotFoundException(EntityNotFoundException ex) {
         return ResponseEntity.badRequest().body(ex.getMessage());
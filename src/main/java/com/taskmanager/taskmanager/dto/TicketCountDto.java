@@ -0,0 +1,9 @@
+package com.taskmanager.taskmanager.dto;
+
+import com.taskmanager.taskmanager.model.Status;
+
+/**
+ * Number of tickets with the given status and assigned agent, {@code agentId} is null for unassigned tickets.
+ */
+public record TicketCountDto(Status status, Long agentId, long count) {
+}
@@ -0,0 +1,33 @@
+package com.taskmanager.taskmanager.dto;
+
+import com.taskmanager.taskmanager.exception.InvalidCursorException;
+import com.taskmanager.taskmanager.util.Constants;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position of the last ticket of a page, ordered by (createdDate, id).
+ * Handed to clients as an opaque url-safe token.
+ */
+public record TicketCursor(LocalDateTime createdDate, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = createdDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TicketCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            return new TicketCursor(LocalDateTime.parse(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(Constants.INVALID_CURSOR);
+        }
+    }
+}
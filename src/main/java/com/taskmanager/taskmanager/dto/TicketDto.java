@@ -1,5 +1,6 @@
 package com.taskmanager.taskmanager.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.taskmanager.taskmanager.model.Status;
 import lombok.Builder;
@@ -16,6 +17,9 @@ public record TicketDto(
         LocalDateTime createdDate,
         LocalDateTime closedDate,
         String assignedAgent,
-        String resolutionSummary
+        String resolutionSummary,
+        // sent as the ETag of single ticket responses, not in the body
+        @JsonIgnore
+        Long version
 ) {
 }
@@ -0,0 +1,67 @@
+package com.taskmanager.taskmanager.dto;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.taskmanager.taskmanager.exception.InvalidTicketFieldException;
+import com.taskmanager.taskmanager.util.Constants;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link TicketDto} properties a listing can be narrowed to with {@code fields=}.
+ */
+public enum TicketField {
+    ID("id"),
+    DESCRIPTION("description"),
+    STATUS("status"),
+    CREATED_DATE("createdDate"),
+    CLOSED_DATE("closedDate"),
+    ASSIGNED_AGENT("assignedAgent"),
+    RESOLUTION_SUMMARY("resolutionSummary");
+
+    /**
+     * Id of the Jackson filter applied to {@link TicketDto} by the application's ObjectMapper.
+     */
+    public static final String FILTER = "ticketFields";
+
+    private final String property;
+
+    TicketField(String property) {
+        this.property = property;
+    }
+
+    public String property() {
+        return property;
+    }
+
+    /**
+     * Parses a comma separated list of property names.
+     * @return the named fields, or null for every field when the list is blank.
+     * @throws InvalidTicketFieldException if a name is not a ticket property.
+     */
+    public static Set<TicketField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<TicketField> parsed = EnumSet.noneOf(TicketField.class);
+        for (String name : fields.split(",")) {
+            parsed.add(Arrays.stream(values())
+                    .filter(field -> field.property.equals(name.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidTicketFieldException(Constants.UNKNOWN_TICKET_FIELD)));
+        }
+        return parsed;
+    }
+
+    /**
+     * Serializes only the given fields of every {@link TicketDto}.
+     */
+    public static FilterProvider filter(Set<TicketField> fields) {
+        Set<String> properties = fields.stream().map(TicketField::property).collect(Collectors.toSet());
+        return new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(properties));
+    }
+}
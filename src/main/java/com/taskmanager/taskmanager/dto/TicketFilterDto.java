@@ -10,6 +10,8 @@ import java.util.List;
 public record TicketFilterDto(List<Status> status,
                               LocalDateTime startDate,
                               LocalDateTime endDate,
-                              String assignedAgent) {
+                              String assignedAgent,
+                              // keywords matched against description and resolution summary, ranks the results
+                              String text) {
 
 }
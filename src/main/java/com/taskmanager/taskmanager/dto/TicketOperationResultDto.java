@@ -0,0 +1,15 @@
+package com.taskmanager.taskmanager.dto;
+
+/**
+ * Outcome of a bulk operation for a single ticket, either the updated ticket or the reason it was rejected.
+ */
+public record TicketOperationResultDto(Long ticketId, boolean success, TicketDto ticket, String error) {
+
+    public static TicketOperationResultDto succeeded(TicketDto ticket) {
+        return new TicketOperationResultDto(ticket.id(), true, ticket, null);
+    }
+
+    public static TicketOperationResultDto failed(Long ticketId, String error) {
+        return new TicketOperationResultDto(ticketId, false, null, error);
+    }
+}
@@ -0,0 +1,6 @@
+package com.taskmanager.taskmanager.dto;
+
+import java.util.List;
+
+public record TicketPageDto(List<TicketDto> tickets, String nextCursor) {
+}
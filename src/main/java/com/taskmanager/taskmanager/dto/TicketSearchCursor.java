@@ -0,0 +1,39 @@
+package com.taskmanager.taskmanager.dto;
+
+import com.taskmanager.taskmanager.exception.InvalidCursorException;
+import com.taskmanager.taskmanager.util.Constants;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last search hit of a page, ordered by (score descending, id).
+ * Handed to clients as an opaque url-safe token.
+ */
+public record TicketSearchCursor(float score, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        String raw = score + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TicketSearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separatorIndex = raw.lastIndexOf(SEPARATOR);
+            return new TicketSearchCursor(Float.parseFloat(raw.substring(0, separatorIndex)),
+                    Long.parseLong(raw.substring(separatorIndex + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException(Constants.INVALID_CURSOR);
+        }
+    }
+
+    /**
+     * Whether a hit with the given score and id ranks after this position.
+     */
+    public boolean isBefore(float hitScore, long hitId) {
+        return hitScore < score || (hitScore == score && hitId > id);
+    }
+}
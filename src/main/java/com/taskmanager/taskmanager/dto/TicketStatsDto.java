@@ -0,0 +1,11 @@
+package com.taskmanager.taskmanager.dto;
+
+import com.taskmanager.taskmanager.model.Status;
+
+import java.util.Map;
+
+/**
+ * Ticket counts by status, in total, for unassigned tickets and per assigned agent id.
+ */
+public record TicketStatsDto(Map<Status, Long> totals, Map<Status, Long> unassigned, Map<Long, Map<Status, Long>> agents) {
+}
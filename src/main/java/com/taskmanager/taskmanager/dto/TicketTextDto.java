@@ -0,0 +1,7 @@
+package com.taskmanager.taskmanager.dto;
+
+/**
+ * The searchable text of a ticket.
+ */
+public record TicketTextDto(Long id, String description, String resolutionSummary) {
+}
@@ -0,0 +1,8 @@
+package com.taskmanager.taskmanager.dto;
+
+/**
+ * What a single ticket response depends on: the version, which every change to the ticket increments, and the name
+ * of the assigned agent, which can change without touching the ticket.
+ */
+public record TicketVersionDto(Long version, String assignedAgent) {
+}
@@ -0,0 +1,7 @@
+package com.taskmanager.taskmanager.exception;
+
+public class InvalidTicketFieldException extends RuntimeException {
+    public InvalidTicketFieldException(String message) {
+        super(message);
+    }
+}
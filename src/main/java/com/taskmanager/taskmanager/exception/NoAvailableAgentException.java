@@ -0,0 +1,7 @@
+package com.taskmanager.taskmanager.exception;
+
+public class NoAvailableAgentException extends RuntimeException {
+    public NoAvailableAgentException(String msg) {
+        super(msg);
+    }
+}
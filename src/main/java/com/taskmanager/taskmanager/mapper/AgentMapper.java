@@ -1,5 +1,6 @@
 package com.taskmanager.taskmanager.mapper;
 
+import com.taskmanager.taskmanager.cache.AgentNameCache;
 import com.taskmanager.taskmanager.dto.AgentDto;
 import com.taskmanager.taskmanager.exception.AgentNotFoundException;
 import com.taskmanager.taskmanager.mapper.config.MapstructConfig;
@@ -15,6 +16,9 @@ public abstract class AgentMapper {
     @Autowired
     AgentRepository agentRepository;
 
+    @Autowired
+    AgentNameCache agentNameCache;
+
     public abstract Agent fromDto(AgentDto agentDto);
 
     public abstract AgentDto toDto(Agent agent);
@@ -27,7 +31,15 @@ public abstract class AgentMapper {
     }
 
     public Agent fromName(String name) {
-        return agentRepository.findOneByName(name)
+        if (name == null) {
+            return null;
+        }
+        AgentDto agent = agentNameCache.get(name, agentName -> agentRepository.findOneByName(agentName).map(this::toDto))
                 .orElseThrow(() -> new AgentNotFoundException(Constants.AGENT_NOT_FOUND));
+        // detached reference, enough to set the ticket's foreign key and to map the name back
+        return Agent.builder()
+                .id(agent.id())
+                .name(agent.name())
+                .build();
     }
 }
@@ -3,12 +3,17 @@ package com.taskmanager.taskmanager.mapper;
 import com.taskmanager.taskmanager.dto.TicketDto;
 import com.taskmanager.taskmanager.mapper.config.MapstructConfig;
 import com.taskmanager.taskmanager.model.Ticket;
+import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring", config = MapstructConfig.class,
         uses = AgentMapper.class)
 public interface TicketMapper {
 
+    // a new ticket starts at the first version whatever the client sends
+    @Mapping(target = "version", ignore = true)
+    @BeanMapping(ignoreUnmappedSourceProperties = "version")
     Ticket fromDto(TicketDto ticketDto);
 
     TicketDto toDto(Ticket savedTicket);
@@ -1,11 +1,17 @@
 package com.taskmanager.taskmanager.model;
 
+import com.taskmanager.taskmanager.cache.AgentCacheInvalidator;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import lombok.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.Objects;
 
@@ -16,12 +22,17 @@ import java.util.Objects;
 @AllArgsConstructor
 @Builder
 @Entity
+@EntityListeners(AgentCacheInvalidator.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// explicit region: the default "Agent##NaturalId" name is not a valid Caffeine config path and falls back to an unbounded cache
+@NaturalIdCache(region = "agent-natural-id")
 public class Agent {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId(mutable = true)
     private String name;
 
     @Override
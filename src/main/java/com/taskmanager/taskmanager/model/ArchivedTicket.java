@@ -0,0 +1,63 @@
+package com.taskmanager.taskmanager.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * A CLOSED ticket moved to the archive table with its id, columns and last version unchanged.
+ */
+@Getter
+@ToString
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "ticket_archive")
+public class ArchivedTicket {
+
+    @Id
+    private Long id;
+
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private LocalDateTime createdDate;
+
+    private LocalDateTime closedDate;
+
+    private String resolutionSummary;
+
+    @ManyToOne
+    @JoinColumn(name = "assigned_agent_id")
+    private Agent assignedAgent;
+
+    private Long version;
+
+    private LocalDateTime archivedDate;
+
+    /**
+     * A detached ticket as it was when it was archived.
+     */
+    public Ticket toTicket() {
+        return new Ticket(id, description, status, createdDate, closedDate, resolutionSummary, assignedAgent, version);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        ArchivedTicket ticket = (ArchivedTicket) o;
+        return getId() != null && Objects.equals(getId(), ticket.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -16,8 +16,10 @@ import java.util.Objects;
 @Entity
 public class Ticket {
 
+    // pooled sequence instead of IDENTITY so inserts can be JDBC batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seq")
+    @SequenceGenerator(name = "ticket_seq", sequenceName = "ticket_seq", allocationSize = 50)
     private Long id;
 
     private String description;
@@ -35,6 +37,9 @@ public class Ticket {
     @JoinColumn(name = "assigned_agent_id")
     private Agent assignedAgent;
 
+    @Version
+    private Long version;
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
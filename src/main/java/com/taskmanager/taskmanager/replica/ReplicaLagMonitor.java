@@ -0,0 +1,90 @@
+package com.taskmanager.taskmanager.replica;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Measures how far the replica is behind with the replica_heartbeat row: each check writes the current time to the
+ * primary, then reads the row back from the replica. The difference is the replication lag, overestimated by up to
+ * one {@code replica.lag-check-interval} when the new beat hasn't arrived yet. The replica is only used while the
+ * last check succeeded within {@code replica.max-lag}; until the first check and whenever the replica can't be read,
+ * every read goes to the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements MeterBinder {
+
+    private static final String WRITE_BEAT = "UPDATE replica_heartbeat SET beat = ? WHERE id = 1";
+    private static final String READ_BEAT = "SELECT beat FROM replica_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+
+    private volatile Duration lag;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, Duration maxLag) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${replica.lag-check-interval:PT1S}")
+    public void check() {
+        Duration measured;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            primary.update(WRITE_BEAT, Timestamp.valueOf(now));
+            Timestamp beat = replica.queryForObject(READ_BEAT, Timestamp.class);
+            measured = beat == null ? null : Duration.between(beat.toLocalDateTime(), LocalDateTime.now());
+        } catch (DataAccessException e) {
+            log.debug("Replica heartbeat check failed", e);
+            measured = null;
+        }
+
+        boolean nowUsable = measured != null && measured.compareTo(maxLag) <= 0;
+        if (usable && !nowUsable) {
+            log.warn("Replica is {} behind, reading from the primary until it catches up",
+                    measured == null ? "an unknown time" : measured);
+        } else if (!usable && nowUsable) {
+            log.info("Replica is {} behind, reading from it", measured);
+        }
+        lag = measured;
+        usable = nowUsable;
+    }
+
+    /**
+     * Whether read-only transactions may go to the replica.
+     */
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * The lag measured by the last check, null if the replica couldn't be read.
+     */
+    public Duration lag() {
+        return lag;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("replica.lag", this, monitor -> {
+                    Duration current = monitor.lag;
+                    return current == null ? Double.NaN : current.toNanos() / 1e9;
+                })
+                .baseUnit("seconds")
+                .description("Replication lag measured by the last heartbeat check, NaN if the replica couldn't be read")
+                .register(registry);
+    }
+}
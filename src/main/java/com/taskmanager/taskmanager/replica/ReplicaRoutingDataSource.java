@@ -0,0 +1,48 @@
+package com.taskmanager.taskmanager.replica;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the primary. The decision is made when the
+ * transaction's connection is first needed, so this has to sit behind a {@code LazyConnectionDataSourceProxy}: the
+ * transaction manager asks for a connection before the read-only flag is visible here.
+ * <p>
+ * Once a request has started a read-write transaction, its read-only transactions stay on the primary too, so a
+ * request that changes a ticket and then lists tickets sees its own change whatever the replica lag. Reads also stay
+ * on the primary while {@link ReplicaLagMonitor} reports the replica as too far behind or unreachable.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {PRIMARY, REPLICA}
+
+    private static final String PRIMARY_PINNED = ReplicaRoutingDataSource.class.getName() + ".PRIMARY_PINNED";
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (request != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                request.setAttribute(PRIMARY_PINNED, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            }
+            return Route.PRIMARY;
+        }
+        boolean pinned = request != null && request.getAttribute(PRIMARY_PINNED, RequestAttributes.SCOPE_REQUEST) != null;
+        return pinned || !lagMonitor.isReplicaUsable() ? Route.PRIMARY : Route.REPLICA;
+    }
+}
@@ -0,0 +1,62 @@
+package com.taskmanager.taskmanager.repository;
+
+import com.taskmanager.taskmanager.dto.TicketCountDto;
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.dto.TicketTextDto;
+import com.taskmanager.taskmanager.dto.TicketVersionDto;
+import com.taskmanager.taskmanager.model.ArchivedTicket;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Archived tickets never change, so apart from the copy that archives them these are the read-side counterparts of
+ * the {@link TicketRepository} lookups, for callers that fall back to the archive when a ticket is not in the ticket
+ * table anymore.
+ */
+@Repository
+public interface ArchivedTicketRepository extends JpaRepository<ArchivedTicket, Long> {
+
+    /**
+     * Copies the given tickets that are CLOSED into the archive. The caller deletes the copied rows from the ticket
+     * table in the same transaction.
+     */
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "ticket_archive"))
+    @Query(nativeQuery = true, value = "INSERT INTO ticket_archive " +
+            "(id, description, status, created_date, closed_date, resolution_summary, assigned_agent_id, version, archived_date) " +
+            "SELECT id, description, status, created_date, closed_date, resolution_summary, assigned_agent_id, version, :archivedDate " +
+            "FROM ticket WHERE id IN (:ids) AND status = 'CLOSED'")
+    int copyClosed(Collection<Long> ids, LocalDateTime archivedDate);
+
+    @Query("select t.id from ArchivedTicket t where t.id in :ids")
+    List<Long> findIdsByIdIn(Collection<Long> ids);
+
+    @Query("select new com.taskmanager.taskmanager.dto.TicketVersionDto(t.version, a.name) " +
+            "from ArchivedTicket t left join t.assignedAgent a where t.id = :id")
+    Optional<TicketVersionDto> findVersionById(Long id);
+
+    @Query("select new com.taskmanager.taskmanager.dto.TicketCountDto(t.status, t.assignedAgent.id, count(t)) " +
+            "from ArchivedTicket t group by t.status, t.assignedAgent.id")
+    List<TicketCountDto> countByStatusAndAgent();
+
+    @Query("select new com.taskmanager.taskmanager.dto.TicketDto(t.id, t.description, t.status, t.createdDate, t.closedDate, a.name, t.resolutionSummary, t.version) " +
+            "from ArchivedTicket t left join t.assignedAgent a where t.id = :id")
+    Optional<TicketDto> findDtoById(Long id);
+
+    @Query("select max(t.id) from ArchivedTicket t")
+    Optional<Long> findMaxId();
+
+    @Query("select new com.taskmanager.taskmanager.dto.TicketTextDto(t.id, t.description, t.resolutionSummary) " +
+            "from ArchivedTicket t where t.id between :fromId and :toId order by t.id")
+    List<TicketTextDto> findTextsByIdRange(Long fromId, Long toId);
+}
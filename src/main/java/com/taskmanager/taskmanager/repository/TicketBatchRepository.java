@@ -0,0 +1,14 @@
+package com.taskmanager.taskmanager.repository;
+
+import com.taskmanager.taskmanager.model.Ticket;
+
+import java.util.List;
+
+public interface TicketBatchRepository {
+
+    /**
+     * Persists new tickets as JDBC batches, flushing and clearing the persistence context after every batch.
+     * @return The persisted tickets, detached from the persistence context.
+     */
+    List<Ticket> saveAllInBatches(List<Ticket> tickets);
+}
@@ -1,11 +1,51 @@
 package com.taskmanager.taskmanager.repository;
 
+import com.taskmanager.taskmanager.dto.TicketCursor;
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.dto.TicketField;
 import com.taskmanager.taskmanager.model.Status;
 import com.taskmanager.taskmanager.model.Ticket;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public interface TicketFilterRepository {
     List<Ticket> findWithFilters(List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Keyset page of filtered tickets ordered by (createdDate, id), projected straight into DTOs by one query.
+     * @param after position of the last ticket of the previous page, or null for the first page.
+     * @param limit maximum number of tickets to return.
+     * @param fields the columns to select, or null for all of them. The others are null in the DTOs, except for id
+     *               and createdDate, which the keyset order needs.
+     */
+    List<TicketDto> findPageWithFilters(List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate,
+                                        TicketCursor after, int limit, Set<TicketField> fields);
+
+    /**
+     * The given tickets that match the filters, projected into DTOs by one IN query, in no particular order.
+     * @param fields the columns to select besides id, or null for all of them.
+     */
+    List<TicketDto> findDtosByIdsWithFilters(Collection<Long> ids, List<Status> status, String assignedAgent,
+                                             LocalDateTime startDate, LocalDateTime endDate, Set<TicketField> fields);
+
+    /**
+     * Number of tickets matching the filters, counted by the database without reading any ticket.
+     */
+    long countWithFilters(List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Whether any ticket matches the filters, the database stops at the first match.
+     */
+    boolean existsWithFilters(List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate);
+
+    /**
+     * Forward-only stream of filtered tickets for exports. The persistence context is cleared every
+     * {@link com.taskmanager.taskmanager.util.Constants#EXPORT_CHUNK_SIZE} rows, so the returned tickets are detached
+     * and memory stays flat regardless of the result size. Must be consumed and closed inside a transaction.
+     */
+    Stream<Ticket> streamWithFilters(List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate);
 }
@@ -1,9 +1,100 @@
 package com.taskmanager.taskmanager.repository;
 
+import com.taskmanager.taskmanager.dto.TicketCountDto;
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.dto.TicketTextDto;
+import com.taskmanager.taskmanager.dto.TicketVersionDto;
+import com.taskmanager.taskmanager.model.Status;
 import com.taskmanager.taskmanager.model.Ticket;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The transition updates below change a ticket only if it is still in the expected state, in a single statement.
+ * They return the number of updated rows, so 0 means the ticket is missing or in another state, and bump the
+ * version so they also conflict with concurrent read-modify-write updates.
+ * <p>
+ * They are native because Hibernate translates bulk HQL to SQL again on every execution, which made a guarded update
+ * slower than the findById and save it replaces. The status literals are {@link Status} names, and the native spaces
+ * hint keeps Hibernate from evicting every second-level cache region, the cached agents included, after each update.
+ */
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Long>, TicketFilterRepository {
+public interface TicketRepository extends JpaRepository<Ticket, Long>, TicketFilterRepository, TicketBatchRepository {
+
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "ticket"))
+    @Query(nativeQuery = true, value = "UPDATE ticket SET assigned_agent_id = :agentId, status = 'IN_PROGRESS', version = version + 1 " +
+            "WHERE id = :id AND status = 'NEW'")
+    int assign(Long id, Long agentId);
+
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "ticket"))
+    @Query(nativeQuery = true, value = "UPDATE ticket SET status = 'RESOLVED', version = version + 1 " +
+            "WHERE id = :id AND status = 'IN_PROGRESS'")
+    int resolve(Long id);
+
+    /**
+     * The summary must contain a non-whitespace character, like {@code StringUtils.hasText} in the batch close; TRIM
+     * only strips spaces and would let a summary of tabs or line breaks through.
+     */
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "ticket"))
+    @Query(nativeQuery = true, value = "UPDATE ticket SET status = 'CLOSED', closed_date = :closedDate, version = version + 1 " +
+            "WHERE id = :id AND status = 'RESOLVED' AND REGEXP_LIKE(resolution_summary, '\\S')")
+    int close(Long id, LocalDateTime closedDate);
+
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "ticket"))
+    @Query(nativeQuery = true, value = "UPDATE ticket SET description = :description, resolution_summary = :resolutionSummary, version = version + 1 " +
+            "WHERE id = :id AND status <> 'CLOSED'")
+    int updateDetails(Long id, String description, String resolutionSummary);
+
+    /**
+     * Deletes the given tickets that are CLOSED, once {@link ArchivedTicketRepository#copyClosed} has copied them.
+     */
+    @Modifying(clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "ticket"))
+    @Query(nativeQuery = true, value = "DELETE FROM ticket WHERE id IN (:ids) AND status = 'CLOSED'")
+    int deleteClosed(Collection<Long> ids);
+
+    @Query("select t.id from Ticket t where t.status = com.taskmanager.taskmanager.model.Status.CLOSED " +
+            "and t.closedDate < :closedBefore order by t.closedDate, t.id")
+    List<Long> findIdsClosedBefore(LocalDateTime closedBefore, Limit limit);
+
+    @Query("select t.status from Ticket t where t.id = :id")
+    Optional<Status> findStatusById(Long id);
+
+    @Query("select new com.taskmanager.taskmanager.dto.TicketVersionDto(t.version, a.name) " +
+            "from Ticket t left join t.assignedAgent a where t.id = :id")
+    Optional<TicketVersionDto> findVersionById(Long id);
+
+    @Query("select new com.taskmanager.taskmanager.dto.TicketCountDto(t.status, t.assignedAgent.id, count(t)) " +
+            "from Ticket t group by t.status, t.assignedAgent.id")
+    List<TicketCountDto> countByStatusAndAgent();
+
+    @Query("select new com.taskmanager.taskmanager.dto.TicketDto(t.id, t.description, t.status, t.createdDate, t.closedDate, a.name, t.resolutionSummary, t.version) " +
+            "from Ticket t left join t.assignedAgent a where t.id = :id")
+    Optional<TicketDto> findDtoById(Long id);
+
+    @Query("select new com.taskmanager.taskmanager.dto.TicketDto(t.id, t.description, t.status, t.createdDate, t.closedDate, a.name, t.resolutionSummary, t.version) " +
+            "from Ticket t left join t.assignedAgent a where t.status = :status order by t.createdDate, t.id")
+    List<TicketDto> findOldestByStatus(Status status, Limit limit);
+
+    @Query("select max(t.id) from Ticket t")
+    Optional<Long> findMaxId();
+
+    @Query("select new com.taskmanager.taskmanager.dto.TicketTextDto(t.id, t.description, t.resolutionSummary) " +
+            "from Ticket t where t.id between :fromId and :toId order by t.id")
+    List<TicketTextDto> findTextsByIdRange(Long fromId, Long toId);
 }
@@ -0,0 +1,32 @@
+package com.taskmanager.taskmanager.repository.impl;
+
+import com.taskmanager.taskmanager.model.Ticket;
+import com.taskmanager.taskmanager.repository.TicketBatchRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.List;
+
+public class TicketBatchRepositoryImpl implements TicketBatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    public List<Ticket> saveAllInBatches(List<Ticket> tickets) {
+        for (int i = 0; i < tickets.size(); i++) {
+            entityManager.persist(tickets.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return tickets;
+    }
+}
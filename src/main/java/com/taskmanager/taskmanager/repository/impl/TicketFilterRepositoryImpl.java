@@ -1,60 +1,525 @@
 package com.taskmanager.taskmanager.repository.impl;
 
+import com.taskmanager.taskmanager.dto.TicketCursor;
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.dto.TicketField;
 import com.taskmanager.taskmanager.model.Agent;
+import com.taskmanager.taskmanager.model.Agent_;
+import com.taskmanager.taskmanager.model.ArchivedTicket;
+import com.taskmanager.taskmanager.model.ArchivedTicket_;
 import com.taskmanager.taskmanager.model.Status;
 import com.taskmanager.taskmanager.model.Ticket;
+import com.taskmanager.taskmanager.model.Ticket_;
 import com.taskmanager.taskmanager.repository.TicketFilterRepository;
+import com.taskmanager.taskmanager.util.Constants;
+import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.*;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.util.StringUtils;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+/**
+ * A filter is a subset of the four statuses plus three optional predicates, so there are only 128 filter shapes. The
+ * criteria query of a shape is built on its first use, with the statuses as literals and named parameters in place of
+ * the other values, and every later call binds its values to the query already built. Hibernate keys the translated
+ * SQL of a criteria query by the query itself when it is marked plan cacheable, so after the first execution of a
+ * shape neither the criteria tree nor its translation is built again.
+ * <p>
+ * That needs {@code hibernate.criteria.copy_tree=false}, set in application.properties, or Hibernate copies the tree
+ * on every {@code createQuery} and the copy misses the plan cache. The setting applies to every criteria query in the
+ * application, so none may be changed after it has been passed to {@code createQuery}; the ones here are shared
+ * between threads and never change once built, and there are no others.
+ * <p>
+ * Both ticket tables are queried with the same shapes. The archive only holds CLOSED tickets created before
+ * {@code ticket-archive.age}, so it is read only by filters that can match such a ticket, and the two ordered results
+ * are merged. Archived tickets come back as detached {@link Ticket}s.
+ * <p>
+ * A DTO query that leaves out some fields selects null literals in their place, and joins the agent only if its name
+ * is selected or filtered on. Such projections are keyed by the shape plus the omitted fields and built on first use
+ * as well.
+ */
 public class TicketFilterRepositoryImpl implements TicketFilterRepository {
 
-    //TODO use hibernate metamodel
-    public static final String STATUS = "status";
-    public static final String CREATED_DATE = "createdDate";
-    public static final String ASSIGNED_AGENT = "assignedAgent";
-    public static final String NAME = "name";
+    // filter shape bits, one per status below AGENT, the page and search queries add their own on top
+    private static final Status[] STATUSES = Status.values();
+    private static final int AGENT = 1 << STATUSES.length;
+    private static final int START_DATE = AGENT << 1;
+    private static final int END_DATE = AGENT << 2;
+    private static final int SHAPES = AGENT << 3;
+    private static final int AFTER = SHAPES;
+    private static final int IDS = SHAPES << 1;
+    // one bit per TicketField left out of a DTO query, above every bit of a shape, so a full projection adds none
+    private static final int OMITTED = IDS << 1;
+    // keyset order and merging need these whatever the caller selects
+    private static final Set<TicketField> KEY_FIELDS = EnumSet.of(TicketField.ID, TicketField.CREATED_DATE);
+
+    private static final String AGENT_PARAMETER = "assignedAgent";
+    private static final String START_DATE_PARAMETER = "startDate";
+    private static final String END_DATE_PARAMETER = "endDate";
+    private static final String AFTER_CREATED_DATE_PARAMETER = "afterCreatedDate";
+    private static final String AFTER_ID_PARAMETER = "afterId";
+    private static final String IDS_PARAMETER = "ids";
+
+    private static final Comparator<Ticket> CREATION_ORDER =
+            Comparator.comparing(Ticket::getCreatedDate).thenComparing(Ticket::getId);
+    private static final Comparator<TicketDto> DTO_CREATION_ORDER =
+            Comparator.comparing(TicketDto::createdDate).thenComparing(TicketDto::id);
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    @Value("${ticket-archive.age:P90D}")
+    private Duration archiveAge;
+
+    private Table<Ticket> tickets;
+    private Table<ArchivedTicket> archive;
+
+    // the static metamodel is populated once the entity manager factory has started
+    @PostConstruct
+    void createTables() {
+        tickets = new Table<>(new Columns<>(Ticket.class, Ticket_.id, Ticket_.description, Ticket_.status,
+                Ticket_.createdDate, Ticket_.closedDate, Ticket_.resolutionSummary, Ticket_.version, Ticket_.assignedAgent));
+        archive = new Table<>(new Columns<>(ArchivedTicket.class, ArchivedTicket_.id, ArchivedTicket_.description,
+                ArchivedTicket_.status, ArchivedTicket_.createdDate, ArchivedTicket_.closedDate,
+                ArchivedTicket_.resolutionSummary, ArchivedTicket_.version, ArchivedTicket_.assignedAgent));
+    }
+
     @Override
     public List<Ticket> findWithFilters(List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate) {
+        List<Ticket> found = find(tickets, status, assignedAgent, startDate, endDate);
+        if (!archiveMayMatch(status, startDate)) {
+            return found;
+        }
+        List<Ticket> all = new ArrayList<>(found);
+        find(archive, status, assignedAgent, startDate, endDate).forEach(ticket -> all.add(ticket.toTicket()));
+        return all;
+    }
+
+    /**
+     * Selects the DTO columns straight from a single ticket/agent join, so no entities are managed, no eager agent
+     * selects are issued and nothing is dirty checked. A filter that can match archived tickets reads a page from
+     * each table and keeps the first {@code limit} of both.
+     */
+    @Override
+    public List<TicketDto> findPageWithFilters(List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate,
+                                               TicketCursor after, int limit, Set<TicketField> fields) {
+        int omitted = omitted(fields);
+        List<TicketDto> page = findPage(tickets, status, assignedAgent, startDate, endDate, after, limit, omitted);
+        if (!archiveMayMatch(status, startDate)) {
+            return page;
+        }
+        return Stream.concat(page.stream(), findPage(archive, status, assignedAgent, startDate, endDate, after, limit, omitted).stream())
+                .sorted(DTO_CREATION_ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<TicketDto> findDtosByIdsWithFilters(Collection<Long> ids, List<Status> status, String assignedAgent,
+                                                    LocalDateTime startDate, LocalDateTime endDate, Set<TicketField> fields) {
+        int omitted = omitted(fields);
+        List<TicketDto> found = findDtosByIds(tickets, ids, status, assignedAgent, startDate, endDate, omitted);
+        if (!archiveMayMatch(status, startDate) || found.size() == ids.size()) {
+            return found;
+        }
+        List<TicketDto> all = new ArrayList<>(found);
+        all.addAll(findDtosByIds(archive, ids, status, assignedAgent, startDate, endDate, omitted));
+        return all;
+    }
+
+    @Override
+    public long countWithFilters(List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate) {
+        long count = count(tickets, status, assignedAgent, startDate, endDate);
+        if (!archiveMayMatch(status, startDate)) {
+            return count;
+        }
+        return count + count(archive, status, assignedAgent, startDate, endDate);
+    }
+
+    @Override
+    public boolean existsWithFilters(List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate) {
+        return exists(tickets, status, assignedAgent, startDate, endDate)
+                || archiveMayMatch(status, startDate) && exists(archive, status, assignedAgent, startDate, endDate);
+    }
+
+    @Override
+    public Stream<Ticket> streamWithFilters(List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate) {
+        Stream<Ticket> stream = stream(tickets, status, assignedAgent, startDate, endDate);
+        if (!archiveMayMatch(status, startDate)) {
+            return stream;
+        }
+        return mergeInCreationOrder(stream, stream(archive, status, assignedAgent, startDate, endDate).map(ArchivedTicket::toTicket));
+    }
+
+    private static int omitted(Set<TicketField> fields) {
+        int omitted = 0;
+        if (fields != null) {
+            for (TicketField field : TicketField.values()) {
+                if (!fields.contains(field) && !KEY_FIELDS.contains(field)) {
+                    omitted |= OMITTED << field.ordinal();
+                }
+            }
+        }
+        return omitted;
+    }
+
+    private static boolean selects(int shape, TicketField field) {
+        return (shape & OMITTED << field.ordinal()) == 0;
+    }
+
+    /**
+     * A ticket is archived once it has been CLOSED for {@code ticket-archive.age}, so every archived ticket was
+     * created before that age. A shorter age since then only narrows that bound, a longer one needs archived tickets
+     * created since then to be moved back first.
+     */
+    private boolean archiveMayMatch(List<Status> status, LocalDateTime startDate) {
+        return (status == null || status.isEmpty() || status.contains(Status.CLOSED))
+                && (startDate == null || startDate.isBefore(LocalDateTime.now().minus(archiveAge)));
+    }
+
+    private <E> List<E> find(Table<E> table, List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate) {
+        return bind(table.filterQueries, 0, shape -> entityQuery(table.columns, shape, false), status, assignedAgent, startDate, endDate)
+                .getResultList();
+    }
+
+    private List<TicketDto> findPage(Table<?> table, List<Status> status, String assignedAgent, LocalDateTime startDate,
+                                     LocalDateTime endDate, TicketCursor after, int limit, int omitted) {
+        TypedQuery<TicketDto> query = bindDtoQuery(table, omitted | (after == null ? 0 : AFTER), status, assignedAgent, startDate, endDate);
+        if (after != null) {
+            query.setParameter(AFTER_CREATED_DATE_PARAMETER, after.createdDate())
+                    .setParameter(AFTER_ID_PARAMETER, after.id());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private List<TicketDto> findDtosByIds(Table<?> table, Collection<Long> ids, List<Status> status, String assignedAgent,
+                                          LocalDateTime startDate, LocalDateTime endDate, int omitted) {
+        return bindDtoQuery(table, omitted | IDS, status, assignedAgent, startDate, endDate)
+                .setParameter(IDS_PARAMETER, ids)
+                .getResultList();
+    }
+
+    private long count(Table<?> table, List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate) {
+        return bind(table.countQueries, 0, shape -> countQuery(table.columns, shape), status, assignedAgent, startDate, endDate)
+                .getSingleResult();
+    }
+
+    private boolean exists(Table<?> table, List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate) {
+        return !bind(table.existsQueries, 0, shape -> existsQuery(table.columns, shape), status, assignedAgent, startDate, endDate)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
+    private <E> Stream<E> stream(Table<E> table, List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate) {
+        int[] rowsSinceClear = {0};
+        return bind(table.streamQueries, 0, shape -> entityQuery(table.columns, shape, true), status, assignedAgent, startDate, endDate)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, Constants.EXPORT_CHUNK_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .peek(ticket -> {
+                    if (++rowsSinceClear[0] == Constants.EXPORT_CHUNK_SIZE) {
+                        entityManager.clear();
+                        rowsSinceClear[0] = 0;
+                    }
+                });
+    }
+
+    /**
+     * Merges two streams in creation order into one, reading a row from either only when the previous one was
+     * taken. Closing the merged stream closes both.
+     */
+    private static Stream<Ticket> mergeInCreationOrder(Stream<Ticket> first, Stream<Ticket> second) {
+        Iterator<Ticket> firstTickets = first.iterator();
+        Iterator<Ticket> secondTickets = second.iterator();
+        Iterator<Ticket> merged = new Iterator<>() {
+            private Ticket firstHead;
+            private Ticket secondHead;
+
+            @Override
+            public boolean hasNext() {
+                fill();
+                return firstHead != null || secondHead != null;
+            }
+
+            @Override
+            public Ticket next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Ticket next;
+                if (secondHead == null || firstHead != null && CREATION_ORDER.compare(firstHead, secondHead) <= 0) {
+                    next = firstHead;
+                    firstHead = null;
+                } else {
+                    next = secondHead;
+                    secondHead = null;
+                }
+                return next;
+            }
+
+            private void fill() {
+                if (firstHead == null && firstTickets.hasNext()) {
+                    firstHead = firstTickets.next();
+                }
+                if (secondHead == null && secondTickets.hasNext()) {
+                    secondHead = secondTickets.next();
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(first::close)
+                .onClose(second::close);
+    }
+
+    /**
+     * Full projections are indexed by shape, the few narrowed ones in use are looked up by shape and omitted fields.
+     * @param variant the bits the caller adds to the filter shape.
+     */
+    private TypedQuery<TicketDto> bindDtoQuery(Table<?> table, int variant, List<Status> status, String assignedAgent,
+                                               LocalDateTime startDate, LocalDateTime endDate) {
+        if (variant < OMITTED) {
+            return bind(table.dtoQueries, variant, shape -> dtoQuery(table.columns, shape), status, assignedAgent, startDate, endDate);
+        }
+        int shape = shape(status, assignedAgent, startDate, endDate);
+        CriteriaQuery<TicketDto> criteriaQuery = table.sparseDtoQueries.computeIfAbsent(variant | shape,
+                key -> dtoQuery(table.columns, key));
+        return bind(criteriaQuery, shape, assignedAgent, startDate, endDate);
+    }
+
+    /**
+     * Creates a query from the criteria query of the filter shape, building it on first use, and binds the filter
+     * values present.
+     * @param variant the bits the caller adds to the filter shape.
+     */
+    private <T> TypedQuery<T> bind(AtomicReferenceArray<CriteriaQuery<T>> queries, int variant, IntFunction<CriteriaQuery<T>> builder,
+                                   List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate) {
+        int shape = shape(status, assignedAgent, startDate, endDate);
+        CriteriaQuery<T> criteriaQuery = queries.get(variant | shape);
+        if (criteriaQuery == null) {
+            // a query built by a concurrent first call of the same shape is dropped
+            queries.compareAndSet(variant | shape, null, builder.apply(variant | shape));
+            criteriaQuery = queries.get(variant | shape);
+        }
+        return bind(criteriaQuery, shape, assignedAgent, startDate, endDate);
+    }
+
+    private <T> TypedQuery<T> bind(CriteriaQuery<T> criteriaQuery, int shape, String assignedAgent, LocalDateTime startDate,
+                                   LocalDateTime endDate) {
+        TypedQuery<T> query = entityManager.createQuery(criteriaQuery)
+                .setHint(HibernateHints.HINT_QUERY_PLAN_CACHEABLE, true);
+        if ((shape & AGENT) != 0) {
+            query.setParameter(AGENT_PARAMETER, assignedAgent);
+        }
+        if ((shape & START_DATE) != 0) {
+            query.setParameter(START_DATE_PARAMETER, startDate);
+        }
+        if ((shape & END_DATE) != 0) {
+            query.setParameter(END_DATE_PARAMETER, endDate);
+        }
+        return query;
+    }
+
+    private static int shape(List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate) {
+        int shape = 0;
+        if (status != null) {
+            for (Status value : status) {
+                shape |= 1 << value.ordinal();
+            }
+        }
+        if (StringUtils.hasText(assignedAgent)) {
+            shape |= AGENT;
+        }
+        if (startDate != null) {
+            shape |= START_DATE;
+        }
+        if (endDate != null) {
+            shape |= END_DATE;
+        }
+        return shape;
+    }
+
+    /**
+     * @param fetchAgent whether to load agents with the row instead of one eager select per agent, and order the
+     *                   tickets for streaming.
+     */
+    private <E> CriteriaQuery<E> entityQuery(Columns<E> columns, int shape, boolean fetchAgent) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<E> query = cb.createQuery(columns.entity());
+        Root<E> ticketRoot = query.from(columns.entity());
+        if (fetchAgent) {
+            ticketRoot.fetch(columns.assignedAgent(), JoinType.LEFT);
+            query.orderBy(cb.asc(ticketRoot.get(columns.createdDate())), cb.asc(ticketRoot.get(columns.id())));
+        }
+
+        List<Predicate> predicates = getPredicates(cb, ticketRoot, columns, shape,
+                () -> ticketRoot.join(columns.assignedAgent(), agentJoinType(shape)));
+
+        return query.where(predicates.toArray(new Predicate[0]));
+    }
+
+    private <E> CriteriaQuery<TicketDto> dtoQuery(Columns<E> columns, int shape) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketDto> query = cb.createQuery(TicketDto.class);
+        Root<E> ticketRoot = query.from(columns.entity());
+        boolean selectsAgent = selects(shape, TicketField.ASSIGNED_AGENT);
+        Join<E, Agent> agentJoin = selectsAgent || (shape & AGENT) != 0
+                ? ticketRoot.join(columns.assignedAgent(), agentJoinType(shape))
+                : null;
+
+        query.select(cb.construct(TicketDto.class,
+                ticketRoot.get(columns.id()),
+                selects(shape, TicketField.DESCRIPTION) ? ticketRoot.get(columns.description()) : cb.nullLiteral(String.class),
+                selects(shape, TicketField.STATUS) ? ticketRoot.get(columns.status()) : cb.nullLiteral(Status.class),
+                ticketRoot.get(columns.createdDate()),
+                selects(shape, TicketField.CLOSED_DATE) ? ticketRoot.get(columns.closedDate()) : cb.nullLiteral(LocalDateTime.class),
+                selectsAgent ? agentJoin.get(Agent_.name) : cb.nullLiteral(String.class),
+                selects(shape, TicketField.RESOLUTION_SUMMARY) ? ticketRoot.get(columns.resolutionSummary()) : cb.nullLiteral(String.class),
+                // a narrowed ticket is not a version of it
+                shape < OMITTED ? ticketRoot.get(columns.version()) : cb.nullLiteral(Long.class)));
+
+        List<Predicate> predicates = getPredicates(cb, ticketRoot, columns, shape, () -> agentJoin);
+
+        if ((shape & IDS) != 0) {
+            predicates.add(ticketRoot.get(columns.id()).in(collectionParameter(cb, IDS_PARAMETER)));
+            // search hits are ranked by the caller
+            return query.where(predicates.toArray(new Predicate[0]));
+        }
+
+        if ((shape & AFTER) != 0) {
+            ParameterExpression<LocalDateTime> afterCreatedDate = cb.parameter(LocalDateTime.class, AFTER_CREATED_DATE_PARAMETER);
+            predicates.add(cb.or(
+                    cb.greaterThan(ticketRoot.get(columns.createdDate()), afterCreatedDate),
+                    cb.and(cb.equal(ticketRoot.get(columns.createdDate()), afterCreatedDate),
+                            cb.greaterThan(ticketRoot.get(columns.id()), cb.parameter(Long.class, AFTER_ID_PARAMETER)))));
+        }
+
+        return query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.asc(ticketRoot.get(columns.createdDate())), cb.asc(ticketRoot.get(columns.id())));
+    }
+
+    /**
+     * Counts over the ticket columns only, the agent is joined just for an agent filter.
+     */
+    private <E> CriteriaQuery<Long> countQuery(Columns<E> columns, int shape) {
         CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<Ticket> query = cb.createQuery(Ticket.class);
-        Root<Ticket> ticketRoot = query.from(Ticket.class);
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<E> ticketRoot = query.from(columns.entity());
+        query.select(cb.count(ticketRoot));
 
-        List<Predicate> predicates = getPredicates(status, assignedAgent, startDate, endDate, cb, ticketRoot);
+        List<Predicate> predicates = getPredicates(cb, ticketRoot, columns, shape,
+                () -> ticketRoot.join(columns.assignedAgent(), JoinType.INNER));
 
-        query.where(predicates.toArray(new Predicate[0]));
+        return query.where(predicates.toArray(new Predicate[0]));
+    }
 
-        return entityManager.createQuery(query).getResultList();
+    /**
+     * Selects a constant, so the first matching index entry answers the query without reading the row.
+     */
+    private <E> CriteriaQuery<Integer> existsQuery(Columns<E> columns, int shape) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Integer> query = cb.createQuery(Integer.class);
+        Root<E> ticketRoot = query.from(columns.entity());
+        query.select(cb.literal(1));
+
+        List<Predicate> predicates = getPredicates(cb, ticketRoot, columns, shape,
+                () -> ticketRoot.join(columns.assignedAgent(), JoinType.INNER));
+
+        return query.where(predicates.toArray(new Predicate[0]));
     }
 
-    private static List<Predicate> getPredicates(List<Status> status, String assignedAgent, LocalDateTime startDate, LocalDateTime endDate, CriteriaBuilder cb, Root<Ticket> ticketRoot) {
+    /**
+     * An agent name filter drops unassigned tickets anyway, and an inner join lets the database start from the unique
+     * agent name and walk idx_ticket_agent_status_created_date, or idx_ticket_agent_created_date without a status,
+     * instead of scanning tickets first.
+     */
+    private static JoinType agentJoinType(int shape) {
+        return (shape & AGENT) != 0 ? JoinType.INNER : JoinType.LEFT;
+    }
+
+    private static <E> List<Predicate> getPredicates(CriteriaBuilder cb, Root<E> ticketRoot, Columns<E> columns, int shape,
+                                                     Supplier<Join<E, Agent>> agentJoin) {
         List<Predicate> predicates = new ArrayList<>();
 
-        if (status != null && !status.isEmpty()) {
-            predicates.add(ticketRoot.get(STATUS).in(status));
+        // literals, an enum parameter may take a collection and Hibernate translates such a query again every time
+        List<Expression<Status>> statuses = Arrays.stream(STATUSES)
+                .filter(status -> (shape & 1 << status.ordinal()) != 0)
+                .map(cb::literal)
+                .toList();
+        if (!statuses.isEmpty()) {
+            predicates.add(ticketRoot.get(columns.status()).in(statuses.toArray(new Expression[0])));
         }
 
-        if (startDate != null) {
-            predicates.add(cb.greaterThanOrEqualTo(ticketRoot.get(CREATED_DATE), startDate));
+        if ((shape & START_DATE) != 0) {
+            predicates.add(cb.greaterThanOrEqualTo(ticketRoot.get(columns.createdDate()), cb.parameter(LocalDateTime.class, START_DATE_PARAMETER)));
         }
 
-        if (endDate != null) {
-            predicates.add(cb.lessThanOrEqualTo(ticketRoot.get(CREATED_DATE), endDate));
+        if ((shape & END_DATE) != 0) {
+            predicates.add(cb.lessThanOrEqualTo(ticketRoot.get(columns.createdDate()), cb.parameter(LocalDateTime.class, END_DATE_PARAMETER)));
         }
 
-        if (StringUtils.hasText(assignedAgent)) {
-            Join<Ticket, Agent> agentJoin = ticketRoot.join(ASSIGNED_AGENT, JoinType.LEFT);
-            predicates.add(cb.equal(agentJoin.get(NAME), assignedAgent));
+        if ((shape & AGENT) != 0) {
+            predicates.add(cb.equal(agentJoin.get().get(Agent_.name), cb.parameter(String.class, AGENT_PARAMETER)));
         }
         return predicates;
     }
+
+    /**
+     * A parameter bound to a collection, which expands to one JDBC parameter per element in an IN list. Hibernate
+     * translates a query with such a parameter again on every execution.
+     */
+    @SuppressWarnings("unchecked")
+    private static Expression<Collection<?>> collectionParameter(CriteriaBuilder cb, String name) {
+        return (Expression<Collection<?>>) (Expression<?>) cb.parameter(Collection.class, name);
+    }
+
+    /**
+     * The attributes of one of the two ticket entities, which map the same columns under the same names, so the
+     * same query builders serve both tables.
+     */
+    private record Columns<E>(Class<E> entity,
+                              SingularAttribute<E, Long> id,
+                              SingularAttribute<E, String> description,
+                              SingularAttribute<E, Status> status,
+                              SingularAttribute<E, LocalDateTime> createdDate,
+                              SingularAttribute<E, LocalDateTime> closedDate,
+                              SingularAttribute<E, String> resolutionSummary,
+                              SingularAttribute<E, Long> version,
+                              SingularAttribute<E, Agent> assignedAgent) {
+    }
+
+    /**
+     * The queries built so far for one table.
+     */
+    private static final class Table<E> {
+
+        private final Columns<E> columns;
+        private final AtomicReferenceArray<CriteriaQuery<E>> filterQueries = new AtomicReferenceArray<>(SHAPES);
+        private final AtomicReferenceArray<CriteriaQuery<E>> streamQueries = new AtomicReferenceArray<>(SHAPES);
+        private final AtomicReferenceArray<CriteriaQuery<Long>> countQueries = new AtomicReferenceArray<>(SHAPES);
+        private final AtomicReferenceArray<CriteriaQuery<Integer>> existsQueries = new AtomicReferenceArray<>(SHAPES);
+        // indexed by filter shape plus AFTER or IDS
+        private final AtomicReferenceArray<CriteriaQuery<TicketDto>> dtoQueries = new AtomicReferenceArray<>(IDS + SHAPES);
+        // keyed by filter shape plus AFTER or IDS plus OMITTED fields
+        private final ConcurrentMap<Integer, CriteriaQuery<TicketDto>> sparseDtoQueries = new ConcurrentHashMap<>();
+
+        private Table(Columns<E> columns) {
+            this.columns = columns;
+        }
+    }
 }
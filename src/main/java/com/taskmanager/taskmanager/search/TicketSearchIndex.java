@@ -0,0 +1,765 @@
+package com.taskmanager.taskmanager.search;
+
+import com.taskmanager.taskmanager.dto.TicketSearchCursor;
+import com.taskmanager.taskmanager.dto.TicketTextDto;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * In-process inverted index over the description and resolution summary of every ticket, ranked with BM25.
+ * <p>
+ * Text is split into lower-cased runs of letters and digits. Each term maps to a posting list of primitive ticket ids
+ * with the term frequency. Searches read the posting lists without locking; writes are serialized by one lock and
+ * publish every posting through a volatile size, so a search sees a ticket either completely or not at all.
+ * <p>
+ * Re-indexing a ticket doesn't remove its old postings, since the previous text is not known here. Every ticket has
+ * a generation that is stored with each of its postings and bumped on re-indexing, and searches skip postings of an
+ * older generation. The stale postings are dropped by {@link #compactIfStale}, which the loader schedules, and by a
+ * {@link #rebuild}. A ticket re-indexed often enough to exhaust its 16 bit generation compacts the index first, a
+ * wrapped generation would make its oldest postings current again.
+ */
+@Component
+public class TicketSearchIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 64;
+    // document lengths up to this are normalized from a table computed once per search
+    private static final int NORM_TABLE_SIZE = 512;
+    private static final int MAX_GENERATION = 0xFFFF;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Segment segment = new Segment();
+    // guarded by writeLock, collects writes while a rebuild runs so they can be replayed onto the rebuilt segment
+    private List<TicketTextDto> pending;
+
+    /**
+     * Adds tickets to the index or replaces their previously indexed text.
+     */
+    public void index(List<TicketTextDto> tickets) {
+        writeLock.lock();
+        try {
+            Segment current = segment;
+            for (TicketTextDto ticket : tickets) {
+                current = add(current, ticket);
+            }
+            segment = current;
+            if (pending != null) {
+                pending.addAll(tickets);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the index with one built from the given chunks of tickets, which are tokenized in parallel. Chunks
+     * must be in ascending id order, then every posting list comes out sorted. Tickets indexed while the rebuild
+     * runs are replayed onto the new index before it replaces the current one, which keeps answering searches
+     * until then.
+     */
+    public void rebuild(List<Supplier<List<TicketTextDto>>> chunks, Executor executor) {
+        replace(() -> {
+            List<CompletableFuture<Segment>> parts = chunks.stream()
+                    .map(chunk -> CompletableFuture.supplyAsync(() -> Segment.of(chunk.get()), executor))
+                    .toList();
+            return Segment.merge(parts.stream().map(CompletableFuture::join).toList());
+        });
+    }
+
+    /**
+     * Replaces the index with a copy without its stale postings if they are more than the given fraction of all
+     * postings. The copy is made from the current index while searches and writes go on, writes made in the meantime
+     * are replayed onto it like during a {@link #rebuild}.
+     * @return Whether the index was compacted.
+     */
+    public boolean compactIfStale(double maxStaleFraction) {
+        Segment current = segment;
+        if (current.stalePostings == 0 || current.stalePostings <= maxStaleFraction * current.postings) {
+            return false;
+        }
+        replace(() -> segment.compacted());
+        return true;
+    }
+
+    /**
+     * Builds a new segment while recording the writes that happen meanwhile, then replays them onto it and publishes
+     * it.
+     */
+    private void replace(Supplier<Segment> build) {
+        writeLock.lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            Segment replacement = build.get();
+
+            writeLock.lock();
+            try {
+                for (TicketTextDto ticket : pending) {
+                    replacement = add(replacement, ticket);
+                }
+                segment = replacement;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            writeLock.lock();
+            try {
+                pending = null;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Adds the ticket to the segment, or to a compacted copy of it if the ticket's generation is exhausted. Such a
+     * copy is only visible to searches once the caller publishes it.
+     */
+    private static Segment add(Segment target, TicketTextDto ticket) {
+        if (generation(target.table.get(ticket.id())) == MAX_GENERATION) {
+            target = target.compacted();
+        }
+        target.add(ticket);
+        return target;
+    }
+
+    /**
+     * Looks up the posting lists of the query terms. The tickets are scored as {@link Hits} are read, against the
+     * postings that existed at this point.
+     * @return The tickets containing at least one term of the query, to be read best first with {@link Hits#after}.
+     */
+    public Hits search(String text) {
+        Segment current = segment;
+        List<Postings> postings = new ArrayList<>();
+        for (String term : new LinkedHashSet<>(tokenize(text))) {
+            Postings termPostings = current.terms.get(term);
+            if (termPostings != null) {
+                postings.add(termPostings);
+            }
+        }
+        long documents = current.documents;
+        if (postings.isEmpty() || documents == 0) {
+            return Hits.EMPTY;
+        }
+        return new Hits(current.table, postings, documents, Math.max(1f, (float) current.totalLength / documents));
+    }
+
+    /**
+     * Number of indexed tickets.
+     */
+    public long size() {
+        return segment.documents;
+    }
+
+    /**
+     * Number of postings, stale ones included.
+     */
+    long postings() {
+        return segment.postings;
+    }
+
+    long stalePostings() {
+        return segment.stalePostings;
+    }
+
+    /**
+     * Lower-cased runs of letters and digits between {@value #MIN_TOKEN_LENGTH} and {@value #MAX_TOKEN_LENGTH}
+     * characters, in order of appearance.
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(Character.toLowerCase(c));
+            } else if (!token.isEmpty()) {
+                if (token.length() >= MIN_TOKEN_LENGTH && token.length() <= MAX_TOKEN_LENGTH) {
+                    tokens.add(token.toString());
+                }
+                token.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    private static float norm(int length, float averageLength) {
+        return K1 * (1 - B + B * length / averageLength);
+    }
+
+    // postings and documents both pack a 16 bit generation with a 16 bit frequency or length, 0 means absent
+
+    private static int pack(int value, int generation) {
+        return Math.min(value, 0xFFFF) << 16 | generation;
+    }
+
+    private static int generation(int packed) {
+        return packed & 0xFFFF;
+    }
+
+    private static int frequency(int packed) {
+        return packed >>> 16;
+    }
+
+    private static int length(int packed) {
+        return packed >>> 16;
+    }
+
+    /**
+     * Tickets matching one search. Every read scores the matches again, keeping only the requested number of best
+     * ones in a bounded heap, so a search allocates nothing in proportion to its matches. A single term is scored
+     * straight from its posting list; several terms are merged by id when their lists are sorted, which they are
+     * unless tickets were re-indexed since the last rebuild, and are otherwise summed up once in a hash table.
+     * Not thread-safe.
+     */
+    public static final class Hits {
+
+        static final Hits EMPTY = new Hits(new DocumentTable(), List.of(), 0, 1);
+
+        private final DocumentTable table;
+        private final long[][] ids;
+        private final int[][] entries;
+        private final int[] sizes;
+        private final float[] idfs;
+        private final float[] norms = new float[NORM_TABLE_SIZE];
+        private final float averageLength;
+        private final boolean sorted;
+        private final int candidates;
+
+        // summed scores of unsorted terms, computed on first read
+        private long[] summedIds;
+        private float[] summedScores;
+        private int size = -1;
+
+        private Hits(DocumentTable table, List<Postings> postings, long documents, float averageLength) {
+            this.table = table;
+            this.averageLength = averageLength;
+            int terms = postings.size();
+            ids = new long[terms][];
+            entries = new int[terms][];
+            sizes = new int[terms];
+            idfs = new float[terms];
+            boolean allSorted = true;
+            int total = 0;
+            for (int term = 0; term < terms; term++) {
+                Postings termPostings = postings.get(term);
+                // size first, the arrays read after it hold at least that many postings
+                sizes[term] = termPostings.size;
+                allSorted &= termPostings.sorted;
+                ids[term] = termPostings.ids;
+                entries[term] = termPostings.entries;
+                idfs[term] = (float) Math.log(1 + (documents - sizes[term] + 0.5) / (sizes[term] + 0.5));
+                total += sizes[term];
+            }
+            sorted = allSorted;
+            candidates = total;
+            for (int length = 0; length < NORM_TABLE_SIZE; length++) {
+                norms[length] = norm(length, averageLength);
+            }
+        }
+
+        /**
+         * Number of matching tickets, counted by scoring all of them.
+         */
+        public int size() {
+            if (size < 0) {
+                TopHits counter = new TopHits(0, null);
+                score(counter);
+                size = counter.offered;
+            }
+            return size;
+        }
+
+        /**
+         * The best hits ranked after the given position, by score descending and then id.
+         * @param after position of the last hit already consumed, or null to start with the best one.
+         * @param limit maximum number of hits to return.
+         */
+        public List<Hit> after(TicketSearchCursor after, int limit) {
+            TopHits top = new TopHits(Math.min(limit, candidates), after);
+            score(top);
+            return top.drain();
+        }
+
+        private void score(TopHits top) {
+            if (ids.length == 1) {
+                scoreTerm(top);
+            } else if (sorted) {
+                scoreMerged(top);
+            } else {
+                if (summedIds == null) {
+                    sum();
+                }
+                for (int i = 0; i < summedIds.length; i++) {
+                    top.offer(summedIds[i], summedScores[i]);
+                }
+            }
+        }
+
+        private void scoreTerm(TopHits top) {
+            long[] termIds = ids[0];
+            int[] termEntries = entries[0];
+            int[][] pages = table.pages;
+            for (int i = 0; i < sizes[0]; i++) {
+                long id = termIds[i];
+                int document = DocumentTable.get(pages, id);
+                if (document != 0 && generation(document) == generation(termEntries[i])) {
+                    top.offer(id, score(0, termEntries[i], document));
+                }
+            }
+        }
+
+        private void scoreMerged(TopHits top) {
+            int terms = ids.length;
+            int[] positions = new int[terms];
+            int[][] pages = table.pages;
+            while (true) {
+                long id = Long.MAX_VALUE;
+                for (int term = 0; term < terms; term++) {
+                    if (positions[term] < sizes[term] && ids[term][positions[term]] < id) {
+                        id = ids[term][positions[term]];
+                    }
+                }
+                if (id == Long.MAX_VALUE) {
+                    return;
+                }
+                int document = DocumentTable.get(pages, id);
+                float score = 0;
+                boolean matched = false;
+                for (int term = 0; term < terms; term++) {
+                    if (positions[term] < sizes[term] && ids[term][positions[term]] == id) {
+                        int entry = entries[term][positions[term]++];
+                        if (document != 0 && generation(document) == generation(entry)) {
+                            score += score(term, entry, document);
+                            matched = true;
+                        }
+                    }
+                }
+                if (matched) {
+                    top.offer(id, score);
+                }
+            }
+        }
+
+        /**
+         * Sums the scores per ticket in an open addressing table sized up front for every posting, so it never
+         * grows. Ticket ids are positive, 0 marks a free slot.
+         */
+        private void sum() {
+            int capacity = Integer.highestOneBit(Math.max(2, candidates) * 2 - 1) << 1;
+            int mask = capacity - 1;
+            long[] slotIds = new long[capacity];
+            float[] slotScores = new float[capacity];
+            int used = 0;
+            for (int term = 0; term < ids.length; term++) {
+                for (int i = 0; i < sizes[term]; i++) {
+                    long id = ids[term][i];
+                    int document = table.get(id);
+                    if (document == 0 || generation(document) != generation(entries[term][i])) {
+                        continue;
+                    }
+                    int slot = (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+                    while (slotIds[slot] != 0 && slotIds[slot] != id) {
+                        slot = (slot + 1) & mask;
+                    }
+                    if (slotIds[slot] == 0) {
+                        slotIds[slot] = id;
+                        used++;
+                    }
+                    slotScores[slot] += score(term, entries[term][i], document);
+                }
+            }
+            summedIds = new long[used];
+            summedScores = new float[used];
+            int hit = 0;
+            for (int slot = 0; slot < capacity; slot++) {
+                if (slotIds[slot] != 0) {
+                    summedIds[hit] = slotIds[slot];
+                    summedScores[hit++] = slotScores[slot];
+                }
+            }
+        }
+
+        private float score(int term, int entry, int document) {
+            int length = length(document);
+            float frequency = frequency(entry);
+            float norm = length < NORM_TABLE_SIZE ? norms[length] : norm(length, averageLength);
+            return idfs[term] * frequency * (K1 + 1) / (frequency + norm);
+        }
+    }
+
+    /**
+     * Bounded min-heap of the hits ranked after a position, with the worst kept hit at the root. The only receiver of
+     * scored hits, so the scoring loops call it monomorphically.
+     */
+    private static final class TopHits {
+
+        private final long[] ids;
+        private final float[] scores;
+        private final TicketSearchCursor after;
+        private int size;
+        private int offered;
+
+        TopHits(int capacity, TicketSearchCursor after) {
+            ids = new long[capacity];
+            scores = new float[capacity];
+            this.after = after;
+        }
+
+        void offer(long id, float score) {
+            offered++;
+            if (after != null && !after.isBefore(score, id)) {
+                return;
+            }
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (size > 0 && better(id, score, ids[0], scores[0])) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown();
+            }
+        }
+
+        /**
+         * Empties the heap, best hit first.
+         */
+        List<Hit> drain() {
+            Hit[] hits = new Hit[size];
+            while (size > 0) {
+                hits[size - 1] = new Hit(ids[0], scores[0]);
+                size--;
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown();
+            }
+            return Arrays.asList(hits);
+        }
+
+        private static boolean better(long id, float score, long otherId, float otherScore) {
+            return score > otherScore || (score == otherScore && id < otherId);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!better(ids[parent], scores[parent], ids[index], scores[index])) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown() {
+            int index = 0;
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && better(ids[worst], scores[worst], ids[left], scores[left])) {
+                    worst = left;
+                }
+                if (right < size && better(ids[worst], scores[worst], ids[right], scores[right])) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(worst, index);
+                index = worst;
+            }
+        }
+
+        private void swap(int i, int j) {
+            long id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+            float score = scores[i];
+            scores[i] = scores[j];
+            scores[j] = score;
+        }
+    }
+
+    public record Hit(long id, float score) {
+    }
+
+    /**
+     * Everything searches read. Only the holder of the write lock, or the single thread building a new one, changes
+     * it.
+     */
+    private static final class Segment {
+
+        private final Map<String, Postings> terms = new ConcurrentHashMap<>();
+        private final DocumentTable table = new DocumentTable();
+        // distinct terms per ticket, the number of postings its next re-indexing makes stale
+        private final DocumentTable termCounts = new DocumentTable();
+        private volatile long documents;
+        private volatile long totalLength;
+        private volatile long postings;
+        private volatile long stalePostings;
+
+        static Segment of(List<TicketTextDto> tickets) {
+            Segment segment = new Segment();
+            for (TicketTextDto ticket : tickets) {
+                segment.add(ticket);
+            }
+            return segment;
+        }
+
+        /**
+         * Concatenates segments built from ascending, disjoint id ranges.
+         */
+        static Segment merge(List<Segment> parts) {
+            Segment merged = new Segment();
+            Map<String, List<Postings>> postingsByTerm = new HashMap<>();
+            for (Segment part : parts) {
+                merged.documents += part.documents;
+                merged.totalLength += part.totalLength;
+                merged.postings += part.postings;
+                merged.stalePostings += part.stalePostings;
+                part.table.copyTo(merged.table);
+                part.termCounts.copyTo(merged.termCounts);
+                part.terms.forEach((term, postings) -> postingsByTerm.computeIfAbsent(term, t -> new ArrayList<>(1)).add(postings));
+            }
+            postingsByTerm.forEach((term, postings) -> merged.terms.put(term, Postings.concat(postings)));
+            return merged;
+        }
+
+        /**
+         * Copies the current postings of every ticket, sorted by id and with every generation reset to 1. Safe to run
+         * while the segment is written to: the tickets are read from a snapshot of the document table, and a ticket
+         * written after the snapshot is taken has to be added to the copy again.
+         */
+        Segment compacted() {
+            DocumentTable snapshot = new DocumentTable();
+            table.copyTo(snapshot);
+
+            Segment compacted = new Segment();
+            snapshot.forEach((id, document) -> {
+                compacted.table.set(id, pack(length(document), 1));
+                compacted.termCounts.set(id, termCounts.get(id));
+                compacted.documents++;
+                compacted.totalLength += length(document);
+            });
+            terms.forEach((term, termPostings) -> {
+                Postings live = termPostings.current(snapshot);
+                if (live.size > 0) {
+                    compacted.terms.put(term, live);
+                    compacted.postings += live.size;
+                }
+            });
+            return compacted;
+        }
+
+        void add(TicketTextDto ticket) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            int length = 0;
+            for (String token : tokenize(ticket.description())) {
+                frequencies.merge(token, 1, Integer::sum);
+                length++;
+            }
+            for (String token : tokenize(ticket.resolutionSummary())) {
+                frequencies.merge(token, 1, Integer::sum);
+                length++;
+            }
+
+            long id = ticket.id();
+            int previous = table.get(id);
+            int generation;
+            if (previous == 0) {
+                generation = 1;
+                documents++;
+            } else {
+                // below MAX_GENERATION, callers compact the segment before
+                generation = generation(previous) + 1;
+                totalLength -= length(previous);
+                stalePostings += termCounts.get(id);
+            }
+            totalLength += length;
+            postings += frequencies.size();
+            table.set(id, pack(length, generation));
+            termCounts.set(id, frequencies.size());
+
+            for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+                terms.computeIfAbsent(frequency.getKey(), term -> new Postings())
+                        .add(id, pack(frequency.getValue(), generation));
+            }
+        }
+    }
+
+    /**
+     * Growable posting list. Arrays are replaced before the size is raised, so a reader that reads the size first
+     * finds at least that many postings in whichever arrays it sees. Postings are sorted by id as long as tickets are
+     * only added in id order.
+     */
+    private static final class Postings {
+
+        private volatile long[] ids;
+        private volatile int[] entries;
+        private volatile int size;
+        // cleared before the size is raised, like the arrays
+        private volatile boolean sorted;
+
+        Postings() {
+            this(new long[2], new int[2], 0, true);
+        }
+
+        private Postings(long[] ids, int[] entries, int size, boolean sorted) {
+            this.ids = ids;
+            this.entries = entries;
+            this.size = size;
+            this.sorted = sorted;
+        }
+
+        static Postings concat(List<Postings> parts) {
+            if (parts.size() == 1) {
+                return parts.get(0);
+            }
+            int size = 0;
+            for (Postings part : parts) {
+                size += part.size;
+            }
+            long[] ids = new long[size];
+            int[] entries = new int[size];
+            boolean sorted = true;
+            int offset = 0;
+            for (Postings part : parts) {
+                sorted &= part.sorted && (offset == 0 || part.size == 0 || part.ids[0] > ids[offset - 1]);
+                System.arraycopy(part.ids, 0, ids, offset, part.size);
+                System.arraycopy(part.entries, 0, entries, offset, part.size);
+                offset += part.size;
+            }
+            return new Postings(ids, entries, size, sorted);
+        }
+
+        /**
+         * The postings of the generation the document table holds for their ticket, sorted by id and at generation 1.
+         * A ticket has at most one such posting per term. Ids are below 2^47, which the document table requires, so
+         * an id and a frequency are sorted together as one long.
+         */
+        Postings current(DocumentTable documents) {
+            int count = size;
+            long[] termIds = ids;
+            int[] termEntries = entries;
+            long[] keys = new long[count];
+            int live = 0;
+            for (int i = 0; i < count; i++) {
+                int document = documents.get(termIds[i]);
+                if (document != 0 && generation(document) == generation(termEntries[i])) {
+                    keys[live++] = termIds[i] << 16 | frequency(termEntries[i]);
+                }
+            }
+            Arrays.sort(keys, 0, live);
+            long[] liveIds = new long[Math.max(2, live)];
+            int[] liveEntries = new int[liveIds.length];
+            for (int i = 0; i < live; i++) {
+                liveIds[i] = keys[i] >>> 16;
+                liveEntries[i] = pack((int) (keys[i] & 0xFFFF), 1);
+            }
+            return new Postings(liveIds, liveEntries, live, true);
+        }
+
+        void add(long id, int entry) {
+            int index = size;
+            if (index == ids.length) {
+                int capacity = index + (index >> 1) + 1;
+                ids = Arrays.copyOf(ids, capacity);
+                entries = Arrays.copyOf(entries, capacity);
+            }
+            if (sorted && index > 0 && ids[index - 1] >= id) {
+                sorted = false;
+            }
+            ids[index] = id;
+            entries[index] = entry;
+            size = index + 1;
+        }
+    }
+
+    /**
+     * Packed length and generation per ticket id, in pages of 64K ids allocated on first use. Ticket ids come from a
+     * sequence, so the pages are dense.
+     */
+    private static final class DocumentTable {
+
+        private static final int PAGE_BITS = 16;
+        private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+
+        private volatile int[][] pages = new int[16][];
+
+        int get(long id) {
+            return get(pages, id);
+        }
+
+        /**
+         * Lookup in pages read once for many lookups, which saves a volatile read per lookup.
+         */
+        static int get(int[][] pages, long id) {
+            long page = id >>> PAGE_BITS;
+            if (page >= pages.length) {
+                return 0;
+            }
+            int[] entries = pages[(int) page];
+            return entries == null ? 0 : entries[(int) (id & PAGE_MASK)];
+        }
+
+        void set(long id, int entry) {
+            int page = Math.toIntExact(id >>> PAGE_BITS);
+            int[][] current = pages;
+            if (page >= current.length) {
+                current = Arrays.copyOf(current, Math.max(page + 1, current.length * 2));
+            }
+            if (current[page] == null) {
+                current[page] = new int[1 << PAGE_BITS];
+            }
+            current[page][(int) (id & PAGE_MASK)] = entry;
+            pages = current;
+        }
+
+        void copyTo(DocumentTable target) {
+            forEach(target::set);
+        }
+
+        void forEach(EntryConsumer consumer) {
+            int[][] current = pages;
+            for (int page = 0; page < current.length; page++) {
+                int[] entries = current[page];
+                if (entries == null) {
+                    continue;
+                }
+                for (int offset = 0; offset < entries.length; offset++) {
+                    if (entries[offset] != 0) {
+                        consumer.accept((long) page << PAGE_BITS | offset, entries[offset]);
+                    }
+                }
+            }
+        }
+
+        @FunctionalInterface
+        interface EntryConsumer {
+            void accept(long id, int entry);
+        }
+    }
+}
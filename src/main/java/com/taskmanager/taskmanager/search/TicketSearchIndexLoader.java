@@ -0,0 +1,81 @@
+package com.taskmanager.taskmanager.search;
+
+import com.taskmanager.taskmanager.dto.TicketTextDto;
+import com.taskmanager.taskmanager.repository.ArchivedTicketRepository;
+import com.taskmanager.taskmanager.repository.TicketRepository;
+import com.taskmanager.taskmanager.util.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Builds {@link TicketSearchIndex} from the database at startup. Tickets are read in ranges of
+ * {@value Constants#SEARCH_INDEX_LOAD_CHUNK_SIZE} ids, several ranges at a time, and every range is tokenized by the
+ * thread that read it. Archived tickets keep their ids, every range is read from both tables.
+ * <p>
+ * Afterwards it compacts the index in memory whenever the postings left behind by updated tickets are more than
+ * {@code ticket-search.max-stale-fraction} of all postings.
+ */
+@Component
+@Slf4j
+public class TicketSearchIndexLoader {
+
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final TicketSearchIndex ticketSearchIndex;
+    private final int parallelism;
+    private final double maxStaleFraction;
+
+    public TicketSearchIndexLoader(TicketRepository ticketRepository, ArchivedTicketRepository archivedTicketRepository,
+                                   TicketSearchIndex ticketSearchIndex,
+                                   @Value("${ticket-search.load-parallelism:4}") int parallelism,
+                                   @Value("${ticket-search.max-stale-fraction:0.25}") double maxStaleFraction) {
+        this.ticketRepository = ticketRepository;
+        this.archivedTicketRepository = archivedTicketRepository;
+        this.ticketSearchIndex = ticketSearchIndex;
+        this.parallelism = parallelism;
+        this.maxStaleFraction = maxStaleFraction;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.nanoTime();
+        long maxId = Math.max(ticketRepository.findMaxId().orElse(0L), archivedTicketRepository.findMaxId().orElse(0L));
+
+        List<Supplier<List<TicketTextDto>>> chunks = new ArrayList<>();
+        for (long fromId = 1; fromId <= maxId; fromId += Constants.SEARCH_INDEX_LOAD_CHUNK_SIZE) {
+            long from = fromId;
+            long to = Math.min(maxId, fromId + Constants.SEARCH_INDEX_LOAD_CHUNK_SIZE - 1);
+            chunks.add(() -> Stream.concat(ticketRepository.findTextsByIdRange(from, to).stream(),
+                            archivedTicketRepository.findTextsByIdRange(from, to).stream())
+                    .sorted(Comparator.comparing(TicketTextDto::id))
+                    .toList());
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            ticketSearchIndex.rebuild(chunks, executor);
+        }
+        log.info("Indexed {} tickets for search in {} ms", ticketSearchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${ticket-search.compaction-interval:PT1M}",
+            initialDelayString = "${ticket-search.compaction-interval:PT1M}")
+    public void compact() {
+        long start = System.nanoTime();
+        long stale = ticketSearchIndex.stalePostings();
+        if (ticketSearchIndex.compactIfStale(maxStaleFraction)) {
+            log.info("Dropped {} stale search postings in {} ms", stale, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
@@ -1,9 +1,17 @@
 package com.taskmanager.taskmanager.service;
 
+import com.taskmanager.taskmanager.dto.ExportFormat;
 import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.dto.TicketField;
 import com.taskmanager.taskmanager.dto.TicketFilterDto;
+import com.taskmanager.taskmanager.dto.TicketOperationResultDto;
+import com.taskmanager.taskmanager.dto.TicketPageDto;
+import com.taskmanager.taskmanager.dto.TicketStatsDto;
+import com.taskmanager.taskmanager.dto.TicketVersionDto;
 
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Set;
 
 public interface TicketService {
 
@@ -15,6 +23,14 @@ public interface TicketService {
      */
     TicketDto createTicket(TicketDto ticketDto);
 
+    /**
+     * Create new tickets in bulk
+     * @param ticketDtos The details of every ticket to create.
+     * @return The created TicketDtos, in request order.
+     * @throws MissingDescriptionException if any description is missing, nothing is created in that case.
+     */
+    List<TicketDto> createTickets(List<TicketDto> ticketDtos);
+
     /**
      * Assign ticket to agent
      * @param ticketId id of the ticket to be assigned.
@@ -26,6 +42,34 @@ public interface TicketService {
      */
     TicketDto assignTicketToAgent(Long ticketId, Long agentId);
 
+    /**
+     * Assign tickets to agent in bulk
+     * @param ticketIds ids of the tickets to be assigned.
+     * @param agentId id of the agent to be assigned to.
+     * @return The result per distinct ticket id, in request order. Missing or non new tickets are reported as failed.
+     * @throws AgentNotFoundException if the agent is not found.
+     */
+    List<TicketOperationResultDto> assignTicketsToAgent(List<Long> ticketIds, Long agentId);
+
+    /**
+     * Assign ticket to the least loaded agent
+     * @param ticketId id of the ticket to be assigned.
+     * @return The updated TicketDto with the assigned agent.
+     * @throws TicketNotFoundException if the ticket is not found.
+     * @throws InvalidTicketStateException if the ticket was not new.
+     * @throws NoAvailableAgentException if every agent has reached the capacity of IN_PROGRESS tickets.
+     */
+    TicketDto autoAssignTicket(Long ticketId);
+
+    /**
+     * Assign the oldest new tickets to the least loaded agents
+     * @param batchSize The maximum number of tickets to assign, capped at the server maximum.
+     * @return The result per ticket, oldest first. Stops once every agent has reached its capacity; tickets assigned
+     * by a concurrent caller in the meantime are reported as failed. Empty when there is nothing left to assign, so
+     * calling it until then drains the backlog batch by batch.
+     */
+    List<TicketOperationResultDto> autoAssignTickets(Integer batchSize);
+
     /**
      * Resolve ticket
      * @param ticketId id of the ticket to be resolved.
@@ -35,6 +79,13 @@ public interface TicketService {
      */
     TicketDto resolveTicket(Long ticketId);
 
+    /**
+     * Resolve tickets in bulk
+     * @param ticketIds ids of the tickets to be resolved.
+     * @return The result per distinct ticket id, in request order. Missing or not in progress tickets are reported as failed.
+     */
+    List<TicketOperationResultDto> resolveTickets(List<Long> ticketIds);
+
     /**
      * Close ticket
      * @param ticketId id of the ticket to be closed.
@@ -45,6 +96,14 @@ public interface TicketService {
      */
     TicketDto closeTicket(Long ticketId);
 
+    /**
+     * Close tickets in bulk
+     * @param ticketIds ids of the tickets to be closed.
+     * @return The result per distinct ticket id, in request order. Missing, unresolved or summary-less tickets are
+     * reported as failed.
+     */
+    List<TicketOperationResultDto> closeTickets(List<Long> ticketIds);
+
     /**
      * Update ticket
      * @param id id of the ticket to be updated.
@@ -64,10 +123,64 @@ public interface TicketService {
     TicketDto getTicketById(Long id);
 
     /**
-     * Get all tickets
+     * Get the version of a ticket, which every change to the ticket increments, with the name of its assigned agent
+     * @param id id of the ticket.
+     * @return The current version and agent name.
+     * @throws TicketNotFoundException if the ticket is not found.
+     */
+    TicketVersionDto getTicketVersion(Long id);
+
+    /**
+     * Get a page of tickets ordered by creation date, or by relevance when the filter has a text.
+     * A text search examines a bounded number of hits per page, so a page may come back short, or even empty,
+     * with a continuation token when the other filters reject most of the hits.
+     * @param filterDto The filter criteria.
+     * @param cursor The continuation token of the previous page, or null for the first page.
+     * @param size The requested page size, capped at the server maximum.
+     * @param fields The fields to read, or null for all of them. The others are null in the returned tickets.
+     * @return The page of TicketDto with the continuation token of the next page, if any.
+     * @throws InvalidDateRangeException if the startDate is after endDate.
+     * @throws InvalidCursorException if the cursor is malformed.
+     */
+    TicketPageDto getTickets(TicketFilterDto filterDto, String cursor, Integer size, Set<TicketField> fields);
+
+    /**
+     * Count the tickets matching the filter
      * @param filterDto The filter criteria.
-     * @return The list of TicketDto.
+     * @return The number of matching tickets, counted by the database unless the filter has a text.
      * @throws InvalidDateRangeException if the startDate is after endDate.
      */
-    List<TicketDto> getTickets(TicketFilterDto filterDto);
+    long countTickets(TicketFilterDto filterDto);
+
+    /**
+     * Check whether any ticket matches the filter
+     * @param filterDto The filter criteria.
+     * @return Whether there is a matching ticket, found without reading more than the first match.
+     * @throws InvalidDateRangeException if the startDate is after endDate.
+     */
+    boolean ticketsExist(TicketFilterDto filterDto);
+
+    /**
+     * Check the filter the way the listing, count and export methods do, for callers that have to reject it before
+     * they start responding
+     * @param filterDto The filter criteria.
+     * @throws InvalidDateRangeException if the startDate is after endDate.
+     */
+    void validateFilter(TicketFilterDto filterDto);
+
+    /**
+     * Export all tickets matching the filter, by relevance when the filter has a text
+     * @param filterDto The filter criteria.
+     * @param format The encoding of the exported rows.
+     * @param outputStream The stream the rows are written to as they are read.
+     * @throws InvalidDateRangeException if the startDate is after endDate.
+     */
+    void exportTickets(TicketFilterDto filterDto, ExportFormat format, OutputStream outputStream);
+
+    /**
+     * Get ticket counts by status
+     * @return The counts in total, for unassigned tickets and per agent id, served from memory without a database
+     * round trip. They include committed transitions only and are reconciled with the database periodically.
+     */
+    TicketStatsDto getTicketStats();
 }
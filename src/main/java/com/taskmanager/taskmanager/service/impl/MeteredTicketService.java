@@ -0,0 +1,293 @@
+package com.taskmanager.taskmanager.service.impl;
+
+import com.taskmanager.taskmanager.dto.ExportFormat;
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.dto.TicketField;
+import com.taskmanager.taskmanager.dto.TicketFilterDto;
+import com.taskmanager.taskmanager.dto.TicketOperationResultDto;
+import com.taskmanager.taskmanager.dto.TicketPageDto;
+import com.taskmanager.taskmanager.dto.TicketStatsDto;
+import com.taskmanager.taskmanager.dto.TicketVersionDto;
+import com.taskmanager.taskmanager.exception.*;
+import com.taskmanager.taskmanager.model.Status;
+import com.taskmanager.taskmanager.service.TicketService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.io.OutputStream;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records a timer per operation, lifecycle transitions by from/to status, failures by exception type and the size
+ * of filtered listings around {@link TicketServiceImpl}. Every meter is registered up front, so a call only reads
+ * fields and a map; no tags or names are built on the hot path.
+ */
+@Service
+@Primary
+public class MeteredTicketService implements TicketService {
+
+    static final String OPERATION_TIMER = "tickets.operation";
+    static final String TRANSITION_COUNTER = "tickets.transitions";
+    static final String FAILURE_COUNTER = "tickets.failures";
+    static final String FILTER_RESULTS_SUMMARY = "tickets.filter.results";
+
+    private static final List<Class<? extends RuntimeException>> KNOWN_FAILURES = List.of(
+            TicketNotFoundException.class,
+            AgentNotFoundException.class,
+            InvalidTicketStateException.class,
+            IllegalTicketStateException.class,
+            MissingDescriptionException.class,
+            MissingResolutionSummaryException.class,
+            InvalidDateRangeException.class,
+            InvalidCursorException.class,
+            NoAvailableAgentException.class,
+            ObjectOptimisticLockingFailureException.class);
+
+    private final TicketService delegate;
+
+    private final Timer createTicketTimer;
+    private final Timer createTicketsTimer;
+    private final Timer assignTicketToAgentTimer;
+    private final Timer assignTicketsToAgentTimer;
+    private final Timer autoAssignTicketTimer;
+    private final Timer autoAssignTicketsTimer;
+    private final Timer resolveTicketTimer;
+    private final Timer resolveTicketsTimer;
+    private final Timer closeTicketTimer;
+    private final Timer closeTicketsTimer;
+    private final Timer updateTicketTimer;
+    private final Timer getTicketByIdTimer;
+    private final Timer getTicketVersionTimer;
+    private final Timer getTicketsTimer;
+    private final Timer countTicketsTimer;
+    private final Timer ticketsExistTimer;
+    private final Timer exportTicketsTimer;
+    private final Timer getTicketStatsTimer;
+
+    private final Counter createdTransitions;
+    private final Counter assignedTransitions;
+    private final Counter resolvedTransitions;
+    private final Counter closedTransitions;
+
+    private final Map<Class<?>, Counter> failureCounters = new HashMap<>();
+    private final Counter otherFailures;
+
+    private final DistributionSummary filterResults;
+
+    public MeteredTicketService(TicketServiceImpl delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+
+        createTicketTimer = operationTimer(meterRegistry, "createTicket");
+        createTicketsTimer = operationTimer(meterRegistry, "createTickets");
+        assignTicketToAgentTimer = operationTimer(meterRegistry, "assignTicketToAgent");
+        assignTicketsToAgentTimer = operationTimer(meterRegistry, "assignTicketsToAgent");
+        autoAssignTicketTimer = operationTimer(meterRegistry, "autoAssignTicket");
+        autoAssignTicketsTimer = operationTimer(meterRegistry, "autoAssignTickets");
+        resolveTicketTimer = operationTimer(meterRegistry, "resolveTicket");
+        resolveTicketsTimer = operationTimer(meterRegistry, "resolveTickets");
+        closeTicketTimer = operationTimer(meterRegistry, "closeTicket");
+        closeTicketsTimer = operationTimer(meterRegistry, "closeTickets");
+        updateTicketTimer = operationTimer(meterRegistry, "updateTicket");
+        getTicketByIdTimer = operationTimer(meterRegistry, "getTicketById");
+        getTicketVersionTimer = operationTimer(meterRegistry, "getTicketVersion");
+        getTicketsTimer = operationTimer(meterRegistry, "getTickets");
+        countTicketsTimer = operationTimer(meterRegistry, "countTickets");
+        ticketsExistTimer = operationTimer(meterRegistry, "ticketsExist");
+        exportTicketsTimer = operationTimer(meterRegistry, "exportTickets");
+        getTicketStatsTimer = operationTimer(meterRegistry, "getTicketStats");
+
+        createdTransitions = transitionCounter(meterRegistry, "NONE", Status.NEW);
+        assignedTransitions = transitionCounter(meterRegistry, Status.NEW.name(), Status.IN_PROGRESS);
+        resolvedTransitions = transitionCounter(meterRegistry, Status.IN_PROGRESS.name(), Status.RESOLVED);
+        closedTransitions = transitionCounter(meterRegistry, Status.RESOLVED.name(), Status.CLOSED);
+
+        for (Class<? extends RuntimeException> failure : KNOWN_FAILURES) {
+            failureCounters.put(failure, failureCounter(meterRegistry, failure.getSimpleName()));
+        }
+        otherFailures = failureCounter(meterRegistry, "other");
+
+        filterResults = DistributionSummary.builder(FILTER_RESULTS_SUMMARY)
+                .description("Tickets returned per filtered listing page")
+                .baseUnit("tickets")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public TicketDto createTicket(TicketDto ticketDto) {
+        TicketDto ticket = time(createTicketTimer, () -> delegate.createTicket(ticketDto));
+        createdTransitions.increment();
+        return ticket;
+    }
+
+    @Override
+    public List<TicketDto> createTickets(List<TicketDto> ticketDtos) {
+        List<TicketDto> tickets = time(createTicketsTimer, () -> delegate.createTickets(ticketDtos));
+        createdTransitions.increment(tickets.size());
+        return tickets;
+    }
+
+    @Override
+    public TicketDto assignTicketToAgent(Long ticketId, Long agentId) {
+        TicketDto ticket = time(assignTicketToAgentTimer, () -> delegate.assignTicketToAgent(ticketId, agentId));
+        assignedTransitions.increment();
+        return ticket;
+    }
+
+    @Override
+    public List<TicketOperationResultDto> assignTicketsToAgent(List<Long> ticketIds, Long agentId) {
+        List<TicketOperationResultDto> results = time(assignTicketsToAgentTimer, () -> delegate.assignTicketsToAgent(ticketIds, agentId));
+        assignedTransitions.increment(succeeded(results));
+        return results;
+    }
+
+    @Override
+    public TicketDto autoAssignTicket(Long ticketId) {
+        TicketDto ticket = time(autoAssignTicketTimer, () -> delegate.autoAssignTicket(ticketId));
+        assignedTransitions.increment();
+        return ticket;
+    }
+
+    @Override
+    public List<TicketOperationResultDto> autoAssignTickets(Integer batchSize) {
+        List<TicketOperationResultDto> results = time(autoAssignTicketsTimer, () -> delegate.autoAssignTickets(batchSize));
+        assignedTransitions.increment(succeeded(results));
+        return results;
+    }
+
+    @Override
+    public TicketDto resolveTicket(Long ticketId) {
+        TicketDto ticket = time(resolveTicketTimer, () -> delegate.resolveTicket(ticketId));
+        resolvedTransitions.increment();
+        return ticket;
+    }
+
+    @Override
+    public List<TicketOperationResultDto> resolveTickets(List<Long> ticketIds) {
+        List<TicketOperationResultDto> results = time(resolveTicketsTimer, () -> delegate.resolveTickets(ticketIds));
+        resolvedTransitions.increment(succeeded(results));
+        return results;
+    }
+
+    @Override
+    public TicketDto closeTicket(Long ticketId) {
+        TicketDto ticket = time(closeTicketTimer, () -> delegate.closeTicket(ticketId));
+        closedTransitions.increment();
+        return ticket;
+    }
+
+    @Override
+    public List<TicketOperationResultDto> closeTickets(List<Long> ticketIds) {
+        List<TicketOperationResultDto> results = time(closeTicketsTimer, () -> delegate.closeTickets(ticketIds));
+        closedTransitions.increment(succeeded(results));
+        return results;
+    }
+
+    @Override
+    public TicketDto updateTicket(Long id, TicketDto updatedDetailsDto) {
+        return time(updateTicketTimer, () -> delegate.updateTicket(id, updatedDetailsDto));
+    }
+
+    @Override
+    public TicketDto getTicketById(Long id) {
+        return time(getTicketByIdTimer, () -> delegate.getTicketById(id));
+    }
+
+    @Override
+    public TicketVersionDto getTicketVersion(Long id) {
+        return time(getTicketVersionTimer, () -> delegate.getTicketVersion(id));
+    }
+
+    @Override
+    public TicketPageDto getTickets(TicketFilterDto filterDto, String cursor, Integer size, Set<TicketField> fields) {
+        TicketPageDto page = time(getTicketsTimer, () -> delegate.getTickets(filterDto, cursor, size, fields));
+        filterResults.record(page.tickets().size());
+        return page;
+    }
+
+    @Override
+    public long countTickets(TicketFilterDto filterDto) {
+        return time(countTicketsTimer, () -> delegate.countTickets(filterDto));
+    }
+
+    @Override
+    public boolean ticketsExist(TicketFilterDto filterDto) {
+        return time(ticketsExistTimer, () -> delegate.ticketsExist(filterDto));
+    }
+
+    @Override
+    public void validateFilter(TicketFilterDto filterDto) {
+        delegate.validateFilter(filterDto);
+    }
+
+    @Override
+    public void exportTickets(TicketFilterDto filterDto, ExportFormat format, OutputStream outputStream) {
+        time(exportTicketsTimer, () -> {
+            delegate.exportTickets(filterDto, format, outputStream);
+            return null;
+        });
+    }
+
+    @Override
+    public TicketStatsDto getTicketStats() {
+        return time(getTicketStatsTimer, delegate::getTicketStats);
+    }
+
+    private <T> T time(Timer timer, Supplier<T> operation) {
+        long start = System.nanoTime();
+        try {
+            return operation.get();
+        } catch (RuntimeException e) {
+            failureCounters.getOrDefault(e.getClass(), otherFailures).increment();
+            throw e;
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static int succeeded(List<TicketOperationResultDto> results) {
+        int succeeded = 0;
+        for (TicketOperationResultDto result : results) {
+            if (result.success()) {
+                succeeded++;
+            }
+        }
+        return succeeded;
+    }
+
+    private static Timer operationTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder(OPERATION_TIMER)
+                .description("Latency of TicketService operations, failed calls included")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+
+    private static Counter transitionCounter(MeterRegistry meterRegistry, String from, Status to) {
+        return Counter.builder(TRANSITION_COUNTER)
+                .description("Ticket lifecycle transitions")
+                .tag("from", from)
+                .tag("to", to.name())
+                .register(meterRegistry);
+    }
+
+    private static Counter failureCounter(MeterRegistry meterRegistry, String exception) {
+        return Counter.builder(FAILURE_COUNTER)
+                .description("Failed TicketService calls by exception type")
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,88 @@
+package com.taskmanager.taskmanager.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.taskmanager.taskmanager.dto.ExportFormat;
+import com.taskmanager.taskmanager.dto.TicketDto;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Encodes tickets one row at a time straight into the target stream, nothing is buffered beyond the writer's own buffer.
+ */
+@Component
+public class TicketExportWriter {
+
+    private static final String CSV_HEADER = "id,description,status,createdDate,closedDate,assignedAgent,resolutionSummary";
+
+    private final ObjectWriter ndjsonWriter;
+
+    public TicketExportWriter(ObjectMapper objectMapper) {
+        this.ndjsonWriter = objectMapper.writerFor(TicketDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(SerializationFeature.CLOSE_CLOSEABLE);
+    }
+
+    public void write(Stream<TicketDto> tickets, ExportFormat format, OutputStream outputStream) {
+        try {
+            switch (format) {
+                case NDJSON -> writeNdjson(tickets.iterator(), outputStream);
+                case CSV -> writeCsv(tickets.iterator(), outputStream);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeNdjson(Iterator<TicketDto> tickets, OutputStream outputStream) throws IOException {
+        JsonGenerator generator = ndjsonWriter.createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        while (tickets.hasNext()) {
+            ndjsonWriter.writeValue(generator, tickets.next());
+            generator.writeRaw('\n');
+        }
+        generator.close();
+    }
+
+    private void writeCsv(Iterator<TicketDto> tickets, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (tickets.hasNext()) {
+            TicketDto ticket = tickets.next();
+            writer.write(csvValue(ticket.id()));
+            writer.write(',');
+            writer.write(csvValue(ticket.description()));
+            writer.write(',');
+            writer.write(csvValue(ticket.status()));
+            writer.write(',');
+            writer.write(csvValue(ticket.createdDate()));
+            writer.write(',');
+            writer.write(csvValue(ticket.closedDate()));
+            writer.write(',');
+            writer.write(csvValue(ticket.assignedAgent()));
+            writer.write(',');
+            writer.write(csvValue(ticket.resolutionSummary()));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
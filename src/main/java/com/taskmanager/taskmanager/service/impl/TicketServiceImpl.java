@@ -1,25 +1,50 @@
 package com.taskmanager.taskmanager.service.impl;
 
+import com.taskmanager.taskmanager.audit.TicketAuditJournal;
+import com.taskmanager.taskmanager.cache.AgentLoadIndex;
+import com.taskmanager.taskmanager.cache.TicketCache;
+import com.taskmanager.taskmanager.cache.TicketCounts;
+import com.taskmanager.taskmanager.dto.AgentDto;
+import com.taskmanager.taskmanager.dto.ExportFormat;
+import com.taskmanager.taskmanager.dto.TicketCursor;
 import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.dto.TicketField;
 import com.taskmanager.taskmanager.dto.TicketFilterDto;
+import com.taskmanager.taskmanager.dto.TicketOperationResultDto;
+import com.taskmanager.taskmanager.dto.TicketPageDto;
+import com.taskmanager.taskmanager.dto.TicketSearchCursor;
+import com.taskmanager.taskmanager.dto.TicketStatsDto;
+import com.taskmanager.taskmanager.dto.TicketTextDto;
+import com.taskmanager.taskmanager.dto.TicketVersionDto;
 import com.taskmanager.taskmanager.exception.*;
+import com.taskmanager.taskmanager.mapper.AgentMapper;
 import com.taskmanager.taskmanager.mapper.TicketMapper;
 import com.taskmanager.taskmanager.model.Agent;
 import com.taskmanager.taskmanager.model.Status;
 import com.taskmanager.taskmanager.model.Ticket;
 import com.taskmanager.taskmanager.repository.AgentRepository;
+import com.taskmanager.taskmanager.repository.ArchivedTicketRepository;
 import com.taskmanager.taskmanager.repository.TicketRepository;
+import com.taskmanager.taskmanager.search.TicketSearchIndex;
 import com.taskmanager.taskmanager.service.TicketService;
 import com.taskmanager.taskmanager.util.Constants;
-import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
+import com.taskmanager.taskmanager.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
+import java.io.OutputStream;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -30,7 +55,21 @@ public class TicketServiceImpl implements TicketService {
     private final TicketRepository ticketRepository;
     private final TicketMapper ticketMapper;
 
+    private final ArchivedTicketRepository archivedTicketRepository;
+
     private final AgentRepository agentRepository;
+    private final AgentMapper agentMapper;
+
+    private final TicketExportWriter ticketExportWriter;
+
+    private final TicketCounts ticketCounts;
+    private final AgentLoadIndex agentLoadIndex;
+
+    private final TicketSearchIndex ticketSearchIndex;
+
+    private final TicketCache ticketCache;
+
+    private final TicketAuditJournal ticketAuditJournal;
 
     @Override
     public TicketDto createTicket(TicketDto ticketDto) {
@@ -41,59 +80,205 @@ public class TicketServiceImpl implements TicketService {
         ticket.setStatus(Status.NEW);
         ticket.setCreatedDate(LocalDateTime.now());
         Ticket savedTicket = ticketRepository.save(ticket);
+        recordAfterCommit(List.of(savedTicket.getId()), List.of(TicketCounts.Transition.created(agentId(savedTicket))));
+        indexAfterCommit(List.of(text(savedTicket)));
         return ticketMapper.toDto(savedTicket);
     }
 
+    @Override
+    public List<TicketDto> createTickets(List<TicketDto> ticketDtos) {
+        if (ticketDtos.stream().anyMatch(ticketDto -> !StringUtils.hasText(ticketDto.description()))) {
+            throw new MissingDescriptionException(Constants.MISSING_DESCRIPTION_EXCEPTION);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Ticket> tickets = ticketDtos.stream().map(ticketDto -> {
+            Ticket ticket = ticketMapper.fromDto(ticketDto);
+            ticket.setStatus(Status.NEW);
+            ticket.setCreatedDate(now);
+            return ticket;
+        }).toList();
+
+        List<Ticket> savedTickets = ticketRepository.saveAllInBatches(tickets);
+        recordAfterCommit(savedTickets.stream().map(Ticket::getId).toList(),
+                savedTickets.stream().map(ticket -> TicketCounts.Transition.created(agentId(ticket))).toList());
+        indexAfterCommit(savedTickets.stream().map(TicketServiceImpl::text).toList());
+        return savedTickets.stream().map(ticketMapper::toDto).toList();
+    }
+
     @Override
     public TicketDto assignTicketToAgent(Long ticketId, Long agentId) {
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new TicketNotFoundException(Constants.TICKET_NOT_FOUND));
+        // served from the second-level cache once the agent has been read
+        if (agentRepository.findById(agentId).isEmpty()) {
+            throw new AgentNotFoundException(Constants.AGENT_NOT_FOUND);
+        }
 
-        if (ticket.getStatus() != Status.NEW) {
-            throw new InvalidTicketStateException(Constants.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT);
+        if (ticketRepository.assign(ticketId, agentId) == 0) {
+            throw transitionFailure(ticketId, Constants.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT);
         }
+        // the guarded update doesn't tell a previous agent of the NEW ticket, reconciliation corrects that rare case
+        recordAfterCommit(List.of(ticketId), List.of(new TicketCounts.Transition(Status.NEW, null, Status.IN_PROGRESS, agentId)));
+        evictAfterCommit(List.of(ticketId));
+        return getTransitionedTicket(ticketId);
+    }
 
-        Agent agentReference = agentRepository.getReferenceById(agentId);
+    @Override
+    public List<TicketOperationResultDto> assignTicketsToAgent(List<Long> ticketIds, Long agentId) {
+        Agent agent = agentRepository.findById(agentId)
+                .orElseThrow(() -> new AgentNotFoundException(Constants.AGENT_NOT_FOUND));
 
-        ticket.setAssignedAgent(agentReference);
-        ticket.setStatus(Status.IN_PROGRESS);
+        return transitionAll(ticketIds, ticket -> assign(ticket, agent), Constants.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT);
+    }
 
-        Ticket updatedTicket;
+    @Override
+    public TicketDto autoAssignTicket(Long ticketId) {
+        AgentDto agent = agentLoadIndex.reserve()
+                .orElseThrow(() -> new NoAvailableAgentException(Constants.NO_AGENT_AVAILABLE));
+        TransactionUtils.afterRollback(() -> agentLoadIndex.release(agent.id()));
 
-        //TODO find a better way to handle the entity not found exception when using getReferenceById() especially when multiple entities are used
-        try {
-            updatedTicket = ticketRepository.save(ticket);
-        } catch (EntityNotFoundException e) {
-            log.debug("Agent not found", e);
-            throw new AgentNotFoundException(Constants.AGENT_NOT_FOUND);
+        if (ticketRepository.assign(ticketId, agent.id()) == 0) {
+            throw transitionFailure(ticketId, Constants.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT);
+        }
+        recordReservedAfterCommit(List.of(ticketId), List.of(new TicketCounts.Transition(Status.NEW, null, Status.IN_PROGRESS, agent.id())));
+        evictAfterCommit(List.of(ticketId));
+        return getTransitionedTicket(ticketId);
+    }
+
+    @Override
+    public List<TicketOperationResultDto> autoAssignTickets(Integer batchSize) {
+        int limit = batchSize == null ? Constants.DEFAULT_AUTO_ASSIGN_BATCH_SIZE
+                : Math.max(1, Math.min(batchSize, Constants.MAX_AUTO_ASSIGN_BATCH_SIZE));
+        List<TicketDto> backlog = ticketRepository.findOldestByStatus(Status.NEW, Limit.of(limit));
+
+        List<TicketOperationResultDto> results = new ArrayList<>(backlog.size());
+        List<Long> reserved = new ArrayList<>(backlog.size());
+        List<TicketCounts.Transition> counted = new ArrayList<>(backlog.size());
+        List<Long> assigned = new ArrayList<>(backlog.size());
+        TransactionUtils.afterRollback(() -> reserved.forEach(agentLoadIndex::release));
+
+        for (TicketDto ticket : backlog) {
+            Optional<AgentDto> agent = agentLoadIndex.reserve();
+            if (agent.isEmpty()) {
+                // every agent is at capacity, the rest of the backlog waits for the next batch
+                break;
+            }
+            Long agentId = agent.get().id();
+            if (ticketRepository.assign(ticket.id(), agentId) == 0) {
+                // taken by a concurrent caller since the backlog was read
+                agentLoadIndex.release(agentId);
+                results.add(TicketOperationResultDto.failed(ticket.id(), Constants.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT));
+                continue;
+            }
+            reserved.add(agentId);
+            assigned.add(ticket.id());
+            counted.add(new TicketCounts.Transition(Status.NEW, null, Status.IN_PROGRESS, agentId));
+            // the version written by the guarded update isn't read back
+            results.add(TicketOperationResultDto.succeeded(new TicketDto(ticket.id(), ticket.description(), Status.IN_PROGRESS,
+                    ticket.createdDate(), ticket.closedDate(), agent.get().name(), ticket.resolutionSummary(), null)));
         }
 
-        return ticketMapper.toDto(updatedTicket);
+        recordReservedAfterCommit(assigned, counted);
+        evictAfterCommit(assigned);
+        return results;
     }
 
     @Override
     public TicketDto resolveTicket(Long ticketId) {
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new TicketNotFoundException(Constants.TICKET_NOT_FOUND));
-
-        if (ticket.getStatus() != Status.IN_PROGRESS) {
-            throw new InvalidTicketStateException(Constants.ONLY_IN_PROGRESS_TICKETS_CAN_BE_RESOLVED);
+        if (ticketRepository.resolve(ticketId) == 0) {
+            throw transitionFailure(ticketId, Constants.ONLY_IN_PROGRESS_TICKETS_CAN_BE_RESOLVED);
         }
+        evictAfterCommit(List.of(ticketId));
+        return recordTransition(Status.IN_PROGRESS, getTransitionedTicket(ticketId));
+    }
 
-        ticket.setStatus(Status.RESOLVED);
-
-        Ticket savedTicket = ticketRepository.save(ticket);
-        return ticketMapper.toDto(savedTicket);
+    @Override
+    public List<TicketOperationResultDto> resolveTickets(List<Long> ticketIds) {
+        return transitionAll(ticketIds, TicketServiceImpl::resolve, Constants.ONLY_IN_PROGRESS_TICKETS_CAN_BE_RESOLVED);
     }
 
     @Override
     public TicketDto closeTicket(Long ticketId) {
-        Ticket ticket = ticketRepository.findById(ticketId)
-                .orElseThrow(() -> new TicketNotFoundException(Constants.TICKET_NOT_FOUND));
+        if (ticketRepository.close(ticketId, LocalDateTime.now()) == 0) {
+            // a resolved ticket only fails the guard when its summary is missing
+            Status status = findStatus(ticketId)
+                    .orElseThrow(() -> new TicketNotFoundException(Constants.TICKET_NOT_FOUND));
+            if (status == Status.RESOLVED) {
+                throw new MissingResolutionSummaryException(Constants.MISSING_RESOLUTION_SUMMARY_EXCEPTION);
+            }
+            throw new InvalidTicketStateException(Constants.ONLY_RESOLVED_TICKETS_CAN_BE_CLOSED);
+        }
+        evictAfterCommit(List.of(ticketId));
+        return recordTransition(Status.RESOLVED, getTransitionedTicket(ticketId));
+    }
 
-        Status ticketStatus = ticket.getStatus();
+    @Override
+    public List<TicketOperationResultDto> closeTickets(List<Long> ticketIds) {
+        return transitionAll(ticketIds, TicketServiceImpl::close, Constants.ONLY_RESOLVED_TICKETS_CAN_BE_CLOSED);
+    }
+
+    /**
+     * Loads all tickets with a single IN query and applies the transition to each of them. A ticket that is missing
+     * or in the wrong state is reported as failed without affecting the others; the successful ones are written
+     * together so the updates go out as JDBC batches. Archived tickets are CLOSED, so they fail with the message for
+     * the wrong state.
+     */
+    private List<TicketOperationResultDto> transitionAll(List<Long> ticketIds, Consumer<Ticket> transition, String wrongStateMessage) {
+        Map<Long, Ticket> ticketsById = ticketRepository.findAllById(ticketIds).stream()
+                .collect(Collectors.toMap(Ticket::getId, Function.identity()));
+        List<Long> missing = ticketIds.stream().filter(ticketId -> !ticketsById.containsKey(ticketId)).toList();
+        Set<Long> archived = missing.isEmpty() ? Set.of() : new HashSet<>(archivedTicketRepository.findIdsByIdIn(missing));
+
+        List<TicketOperationResultDto> results = new ArrayList<>(ticketIds.size());
+        List<Ticket> transitioned = new ArrayList<>(ticketsById.size());
+        List<TicketCounts.Transition> counted = new ArrayList<>(ticketsById.size());
+
+        for (Long ticketId : new LinkedHashSet<>(ticketIds)) {
+            Ticket ticket = ticketsById.get(ticketId);
+            if (ticket == null) {
+                results.add(TicketOperationResultDto.failed(ticketId,
+                        archived.contains(ticketId) ? wrongStateMessage : Constants.TICKET_NOT_FOUND));
+                continue;
+            }
+            Status from = ticket.getStatus();
+            Long fromAgentId = agentId(ticket);
+            try {
+                transition.accept(ticket);
+                transitioned.add(ticket);
+                counted.add(new TicketCounts.Transition(from, fromAgentId, ticket.getStatus(), agentId(ticket)));
+                results.add(TicketOperationResultDto.succeeded(ticketMapper.toDto(ticket)));
+            } catch (InvalidTicketStateException | MissingResolutionSummaryException e) {
+                results.add(TicketOperationResultDto.failed(ticketId, e.getMessage()));
+            }
+        }
+
+        ticketRepository.saveAll(transitioned);
+        ticketRepository.flush();
+        List<Long> transitionedIds = transitioned.stream().map(Ticket::getId).toList();
+        recordAfterCommit(transitionedIds, counted);
+        evictAfterCommit(transitionedIds);
 
-        if (ticketStatus != Status.RESOLVED) {
+        return results;
+    }
+
+    private static void assign(Ticket ticket, Agent agent) {
+        if (ticket.getStatus() != Status.NEW) {
+            throw new InvalidTicketStateException(Constants.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT);
+        }
+
+        ticket.setAssignedAgent(agent);
+        ticket.setStatus(Status.IN_PROGRESS);
+    }
+
+    private static void resolve(Ticket ticket) {
+        if (ticket.getStatus() != Status.IN_PROGRESS) {
+            throw new InvalidTicketStateException(Constants.ONLY_IN_PROGRESS_TICKETS_CAN_BE_RESOLVED);
+        }
+
+        ticket.setStatus(Status.RESOLVED);
+    }
+
+    private static void close(Ticket ticket) {
+        if (ticket.getStatus() != Status.RESOLVED) {
             throw new InvalidTicketStateException(Constants.ONLY_RESOLVED_TICKETS_CAN_BE_CLOSED);
         }
 
@@ -101,55 +286,283 @@ public class TicketServiceImpl implements TicketService {
             throw new MissingResolutionSummaryException(Constants.MISSING_RESOLUTION_SUMMARY_EXCEPTION);
         }
 
-
         ticket.setStatus(Status.CLOSED);
         ticket.setClosedDate(LocalDateTime.now());
+    }
 
-        Ticket savedTicket = ticketRepository.save(ticket);
-        return ticketMapper.toDto(savedTicket);
+    /**
+     * Tells apart why a guarded update matched no row. Only runs on the failure path, a successful transition
+     * never reads the ticket before writing it.
+     */
+    private RuntimeException transitionFailure(Long ticketId, String wrongStateMessage) {
+        if (findStatus(ticketId).isEmpty()) {
+            return new TicketNotFoundException(Constants.TICKET_NOT_FOUND);
+        }
+        return new InvalidTicketStateException(wrongStateMessage);
     }
 
-    @Override
-    public TicketDto updateTicket(Long id, TicketDto updatedDetailsDto) {
-        Ticket ticket = ticketRepository.findById(id)
+    /**
+     * The status of a ticket in the ticket table, or CLOSED for an archived one.
+     */
+    private Optional<Status> findStatus(Long ticketId) {
+        Optional<Status> status = ticketRepository.findStatusById(ticketId);
+        if (status.isEmpty() && archivedTicketRepository.existsById(ticketId)) {
+            return Optional.of(Status.CLOSED);
+        }
+        return status;
+    }
+
+    private TicketDto getTransitionedTicket(Long ticketId) {
+        return ticketRepository.findDtoById(ticketId)
                 .orElseThrow(() -> new TicketNotFoundException(Constants.TICKET_NOT_FOUND));
+    }
+
+    /**
+     * Records a status change that kept the assigned agent. The agent id comes from the name cache, so this doesn't
+     * cost another query.
+     */
+    private TicketDto recordTransition(Status from, TicketDto ticket) {
+        Long agentId = ticket.assignedAgent() == null ? null : agentMapper.fromName(ticket.assignedAgent()).getId();
+        recordAfterCommit(List.of(ticket.id()), List.of(new TicketCounts.Transition(from, agentId, ticket.status(), agentId)));
+        return ticket;
+    }
 
-        if (ticket.getStatus() == Status.CLOSED) {
-            throw new InvalidTicketStateException(Constants.CLOSED_TICKETS_CANNOT_BE_UPDATED);
+    /**
+     * Counts the transitions of the given tickets, in the same order, and appends them to the audit journal once
+     * committed.
+     */
+    private void recordAfterCommit(List<Long> ticketIds, List<TicketCounts.Transition> transitions) {
+        if (!transitions.isEmpty()) {
+            TransactionUtils.afterCommit(() -> {
+                ticketCounts.apply(transitions);
+                agentLoadIndex.apply(transitions);
+                audit(ticketIds, transitions);
+            });
         }
+    }
 
-        ticket.setDescription(updatedDetailsDto.description());
-        ticket.setResolutionSummary(updatedDetailsDto.resolutionSummary());
+    /**
+     * Records assignments to agents taken from {@link AgentLoadIndex#reserve()}, whose load the reservation has
+     * already raised.
+     */
+    private void recordReservedAfterCommit(List<Long> ticketIds, List<TicketCounts.Transition> transitions) {
+        if (!transitions.isEmpty()) {
+            TransactionUtils.afterCommit(() -> {
+                ticketCounts.apply(transitions);
+                audit(ticketIds, transitions);
+            });
+        }
+    }
 
-        Ticket savedTicket = ticketRepository.save(ticket);
+    /**
+     * The agent a ticket is assigned to after the change stands for who made it, tickets have no other actor.
+     */
+    private void audit(List<Long> ticketIds, List<TicketCounts.Transition> transitions) {
+        for (int i = 0; i < transitions.size(); i++) {
+            TicketCounts.Transition transition = transitions.get(i);
+            ticketAuditJournal.append(ticketIds.get(i), transition.from(), transition.to(), transition.toAgentId());
+        }
+    }
 
-        return ticketMapper.toDto(savedTicket);
+    /**
+     * Evicts the changed tickets only once the change is visible, a read in between would cache the previous state
+     * again.
+     */
+    private void evictAfterCommit(List<Long> ticketIds) {
+        if (!ticketIds.isEmpty()) {
+            TransactionUtils.afterCommit(() -> ticketCache.invalidateAll(ticketIds));
+        }
     }
 
+    private void indexAfterCommit(List<TicketTextDto> tickets) {
+        TransactionUtils.afterCommit(() -> ticketSearchIndex.index(tickets));
+    }
+
+    private static TicketTextDto text(Ticket ticket) {
+        return new TicketTextDto(ticket.getId(), ticket.getDescription(), ticket.getResolutionSummary());
+    }
+
+    private static Long agentId(Ticket ticket) {
+        return ticket.getAssignedAgent() == null ? null : ticket.getAssignedAgent().getId();
+    }
+
+    @Override
+    public TicketDto updateTicket(Long id, TicketDto updatedDetailsDto) {
+        if (ticketRepository.updateDetails(id, updatedDetailsDto.description(), updatedDetailsDto.resolutionSummary()) == 0) {
+            throw transitionFailure(id, Constants.CLOSED_TICKETS_CANNOT_BE_UPDATED);
+        }
+        TicketDto ticket = getTransitionedTicket(id);
+        evictAfterCommit(List.of(id));
+        indexAfterCommit(List.of(new TicketTextDto(ticket.id(), ticket.description(), ticket.resolutionSummary())));
+        return ticket;
+    }
+
+    /**
+     * Served from {@link TicketCache}, a miss reads the ticket's columns with one query and no transaction of its own,
+     * and another one from the archive if the ticket has been archived. Reads the primary, not a replica: a miss right
+     * after a change evicted the ticket would cache what a lagging replica still has until the entry expires.
+     */
     @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public TicketDto getTicketById(Long id) {
-        Ticket ticket = ticketRepository.findById(id)
+        return ticketCache.get(id, ticketId -> ticketRepository.findDtoById(ticketId)
+                .or(() -> archivedTicketRepository.findDtoById(ticketId))
+                .orElseThrow(() -> new TicketNotFoundException(Constants.TICKET_NOT_FOUND)));
+    }
+
+    /**
+     * Reads the primary, so a conditional request never gets a 304 for a version a replica hasn't caught up with.
+     */
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public TicketVersionDto getTicketVersion(Long id) {
+        return ticketRepository.findVersionById(id)
+                .or(() -> archivedTicketRepository.findVersionById(id))
                 .orElseThrow(() -> new TicketNotFoundException(Constants.TICKET_NOT_FOUND));
+    }
 
-        return ticketMapper.toDto(ticket);
+    @Override
+    @Transactional(readOnly = true)
+    public TicketPageDto getTickets(TicketFilterDto filterDto, String cursor, Integer size, Set<TicketField> fields) {
+        TicketFilterDto filter = validFilter(filterDto);
+        int pageSize = size == null ? Constants.DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, Constants.MAX_PAGE_SIZE));
+        if (StringUtils.hasText(filter.text())) {
+            return searchTickets(filter, cursor, pageSize, fields);
+        }
+
+        TicketCursor after = cursor == null ? null : TicketCursor.decode(cursor);
+
+        // one extra row tells us whether there is a next page without a count query
+        List<TicketDto> tickets = ticketRepository.findPageWithFilters(
+                filter.status(), filter.assignedAgent(), filter.startDate(), filter.endDate(), after, pageSize + 1, fields);
+
+        boolean hasNext = tickets.size() > pageSize;
+        List<TicketDto> page = hasNext ? tickets.subList(0, pageSize) : tickets;
+
+        String nextCursor = null;
+        if (hasNext) {
+            TicketDto last = page.get(page.size() - 1);
+            nextCursor = new TicketCursor(last.createdDate(), last.id()).encode();
+        }
+
+        return new TicketPageDto(page, nextCursor);
+    }
+
+    /**
+     * A text filter counts the hits that pass the other filters, which reads them in batches like a search.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public long countTickets(TicketFilterDto filterDto) {
+        TicketFilterDto filter = validFilter(filterDto);
+        if (StringUtils.hasText(filter.text())) {
+            return searchAll(filter).count();
+        }
+        return ticketRepository.countWithFilters(filter.status(), filter.assignedAgent(), filter.startDate(), filter.endDate());
     }
 
     @Override
-    //TODO add pagination
-    public List<TicketDto> getTickets(TicketFilterDto filterDto) {
+    @Transactional(readOnly = true)
+    public boolean ticketsExist(TicketFilterDto filterDto) {
+        TicketFilterDto filter = validFilter(filterDto);
+        if (StringUtils.hasText(filter.text())) {
+            return searchAll(filter).findAny().isPresent();
+        }
+        return ticketRepository.existsWithFilters(filter.status(), filter.assignedAgent(), filter.startDate(), filter.endDate());
+    }
 
-        if (filterDto == null) {
-            return ticketRepository.findAll().stream().map(ticketMapper::toDto).toList();
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTickets(TicketFilterDto filterDto, ExportFormat format, OutputStream outputStream) {
+        TicketFilterDto filter = validFilter(filterDto);
+        if (StringUtils.hasText(filter.text())) {
+            ticketExportWriter.write(searchAll(filter), format, outputStream);
+            return;
         }
 
-        if (filterDto.startDate() != null && filterDto.endDate() != null &&
-                filterDto.startDate().isAfter(filterDto.endDate())) {
-            throw new InvalidDateRangeException(Constants.START_DATE_CANNOT_BE_AFTER_END_DATE);
+        try (Stream<Ticket> tickets = ticketRepository.streamWithFilters(
+                filter.status(), filter.assignedAgent(), filter.startDate(), filter.endDate())) {
+            ticketExportWriter.write(tickets.map(ticketMapper::toDto), format, outputStream);
+        }
+    }
+
+    /**
+     * Walks the hits best first in batches of {@value Constants#SEARCH_BATCH_SIZE}, each resolved and filtered by one
+     * IN query, until the page is full or {@value Constants#MAX_SEARCH_HITS_PER_PAGE} hits have been examined.
+     */
+    private TicketPageDto searchTickets(TicketFilterDto filter, String cursor, int pageSize, Set<TicketField> fields) {
+        TicketSearchCursor position = cursor == null ? null : TicketSearchCursor.decode(cursor);
+        TicketSearchIndex.Hits hits = ticketSearchIndex.search(filter.text());
+
+        List<TicketDto> page = new ArrayList<>(pageSize);
+        int examined = 0;
+        while (page.size() < pageSize && examined < Constants.MAX_SEARCH_HITS_PER_PAGE) {
+            int batchSize = Math.min(Constants.SEARCH_BATCH_SIZE, Constants.MAX_SEARCH_HITS_PER_PAGE - examined);
+            List<TicketSearchIndex.Hit> batch = hits.after(position, batchSize);
+            Map<Long, TicketDto> matches = findMatches(batch, filter, fields);
+            int consumed = 0;
+            while (consumed < batch.size() && page.size() < pageSize) {
+                TicketSearchIndex.Hit hit = batch.get(consumed++);
+                position = new TicketSearchCursor(hit.score(), hit.id());
+                TicketDto ticket = matches.get(hit.id());
+                if (ticket != null) {
+                    page.add(ticket);
+                }
+            }
+            examined += consumed;
+            if (batch.size() < batchSize && consumed == batch.size()) {
+                // a short batch holds the last hits
+                return new TicketPageDto(page, null);
+            }
+        }
+        return new TicketPageDto(page, position == null ? null : position.encode());
+    }
+
+    /**
+     * Every hit that passes the other filters, best first. The hits are ranked once, the tickets are read in batches
+     * of {@value Constants#SEARCH_BATCH_SIZE} as the stream is consumed.
+     */
+    private Stream<TicketDto> searchAll(TicketFilterDto filter) {
+        List<TicketSearchIndex.Hit> ranked = ticketSearchIndex.search(filter.text()).after(null, Integer.MAX_VALUE);
+        int batches = (ranked.size() + Constants.SEARCH_BATCH_SIZE - 1) / Constants.SEARCH_BATCH_SIZE;
+        return IntStream.range(0, batches)
+                .mapToObj(batch -> ranked.subList(batch * Constants.SEARCH_BATCH_SIZE,
+                        Math.min(ranked.size(), (batch + 1) * Constants.SEARCH_BATCH_SIZE)))
+                .flatMap(batch -> {
+                    Map<Long, TicketDto> matches = findMatches(batch, filter, null);
+                    return batch.stream().map(hit -> matches.get(hit.id())).filter(Objects::nonNull);
+                });
+    }
+
+    private Map<Long, TicketDto> findMatches(List<TicketSearchIndex.Hit> hits, TicketFilterDto filter, Set<TicketField> fields) {
+        if (hits.isEmpty()) {
+            return Map.of();
         }
+        List<Long> ids = hits.stream().map(TicketSearchIndex.Hit::id).toList();
+        return ticketRepository.findDtosByIdsWithFilters(ids, filter.status(), filter.assignedAgent(),
+                        filter.startDate(), filter.endDate(), fields).stream()
+                .collect(Collectors.toMap(TicketDto::id, Function.identity()));
+    }
 
-        List<Ticket> filteredTickets = ticketRepository.findWithFilters(
-                filterDto.status(), filterDto.assignedAgent(), filterDto.startDate(), filterDto.endDate());
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public TicketStatsDto getTicketStats() {
+        return ticketCounts.snapshot();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void validateFilter(TicketFilterDto filterDto) {
+        validFilter(filterDto);
+    }
+
+    private static TicketFilterDto validFilter(TicketFilterDto filterDto) {
+        TicketFilterDto filter = filterDto == null ? TicketFilterDto.builder().build() : filterDto;
 
-        return filteredTickets.stream().map(ticketMapper::toDto).toList();
+        if (filter.startDate() != null && filter.endDate() != null &&
+                filter.startDate().isAfter(filter.endDate())) {
+            throw new InvalidDateRangeException(Constants.START_DATE_CANNOT_BE_AFTER_END_DATE);
+        }
+        return filter;
     }
 }
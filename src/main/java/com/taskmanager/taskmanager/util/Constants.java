@@ -17,4 +17,18 @@ public final class Constants {
     public static final String ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT = "Only NEW tickets can be assigned to an agent.";
     public static final String ONLY_IN_PROGRESS_TICKETS_CAN_BE_RESOLVED = "Only IN_PROGRESS tickets can be resolved.";
     public static final String ONLY_RESOLVED_TICKETS_CAN_BE_CLOSED = "Only RESOLVED tickets can be closed!";
+    public static final String INVALID_CURSOR = "Invalid cursor!";
+    public static final String UNKNOWN_TICKET_FIELD = "Unknown ticket field!";
+    public static final String CONCURRENT_TICKET_UPDATE = "Ticket was changed concurrently, please retry!";
+    public static final String NO_AGENT_AVAILABLE = "All agents are at capacity!";
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int EXPORT_CHUNK_SIZE = 1000;
+    public static final int DEFAULT_AUTO_ASSIGN_BATCH_SIZE = 100;
+    public static final int MAX_AUTO_ASSIGN_BATCH_SIZE = 1000;
+    public static final int SEARCH_BATCH_SIZE = 500;
+    public static final int MAX_SEARCH_HITS_PER_PAGE = 5000;
+    public static final int SEARCH_INDEX_LOAD_CHUNK_SIZE = 50_000;
+    public static final int ARCHIVE_CHUNK_SIZE = 500;
 }
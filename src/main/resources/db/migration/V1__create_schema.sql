@@ -0,0 +1,22 @@
+CREATE SEQUENCE ticket_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE agent
+(
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255),
+    CONSTRAINT pk_agent PRIMARY KEY (id),
+    CONSTRAINT uk_agent_name UNIQUE (name)
+);
+
+CREATE TABLE ticket
+(
+    id                 BIGINT NOT NULL,
+    description        VARCHAR(255),
+    status             VARCHAR(255) CHECK (status IN ('IN_PROGRESS', 'RESOLVED', 'CLOSED', 'NEW')),
+    created_date       TIMESTAMP(6),
+    closed_date        TIMESTAMP(6),
+    resolution_summary VARCHAR(255),
+    assigned_agent_id  BIGINT,
+    CONSTRAINT pk_ticket PRIMARY KEY (id),
+    CONSTRAINT fk_ticket_assigned_agent FOREIGN KEY (assigned_agent_id) REFERENCES agent (id)
+);
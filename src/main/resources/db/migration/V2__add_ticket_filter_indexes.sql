@@ -0,0 +1,11 @@
+-- Indexes matching the predicates of TicketFilterRepositoryImpl.getPredicates. Every index ends with
+-- (created_date, id) so filtered listings can also seek and sort for keyset pagination without a sort step.
+
+-- no status or agent filter: date range and keyset order only
+CREATE INDEX idx_ticket_created_date ON ticket (created_date, id);
+
+-- status filter, optionally with a date range
+CREATE INDEX idx_ticket_status_created_date ON ticket (status, created_date, id);
+
+-- agent filter, optionally with status and date range; also backs the foreign key
+CREATE INDEX idx_ticket_agent_status_created_date ON ticket (assigned_agent_id, status, created_date, id);
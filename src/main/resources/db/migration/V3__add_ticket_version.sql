@@ -0,0 +1,2 @@
+-- optimistic locking for read-modify-write updates; guarded transition updates bump it as well
+ALTER TABLE ticket ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,23 @@
+-- CLOSED tickets past ticket-archive.age, moved here by TicketArchiver so the ticket table and its indexes only hold
+-- the live workload. Rows keep their ticket id and are never updated again.
+CREATE TABLE ticket_archive
+(
+    id                 BIGINT       NOT NULL,
+    description        VARCHAR(255),
+    status             VARCHAR(255) CHECK (status = 'CLOSED'),
+    created_date       TIMESTAMP(6),
+    closed_date        TIMESTAMP(6),
+    resolution_summary VARCHAR(255),
+    assigned_agent_id  BIGINT,
+    version            BIGINT       NOT NULL,
+    archived_date      TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_ticket_archive PRIMARY KEY (id),
+    CONSTRAINT fk_ticket_archive_assigned_agent FOREIGN KEY (assigned_agent_id) REFERENCES agent (id)
+);
+
+-- the archive only holds one status, so the filter indexes of V2 without it
+CREATE INDEX idx_ticket_archive_created_date ON ticket_archive (created_date, id);
+CREATE INDEX idx_ticket_archive_agent_created_date ON ticket_archive (assigned_agent_id, created_date, id);
+
+-- finds the next chunk to archive, oldest closing date first
+CREATE INDEX idx_ticket_status_closed_date ON ticket (status, closed_date, id);
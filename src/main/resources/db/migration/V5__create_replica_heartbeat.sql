@@ -0,0 +1,10 @@
+-- one row the replica lag check rewrites on the primary every replica.lag-check-interval and reads back from the
+-- replica; how old the replica's copy is tells how far replication is behind
+CREATE TABLE replica_heartbeat
+(
+    id   INT          NOT NULL,
+    beat TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_replica_heartbeat PRIMARY KEY (id)
+);
+
+INSERT INTO replica_heartbeat (id, beat) VALUES (1, CURRENT_TIMESTAMP);
@@ -0,0 +1,3 @@
+-- agent filter without a status: idx_ticket_agent_status_created_date has status between the agent and the date, so
+-- it can neither seek on the date range nor return the keyset order without a sort
+CREATE INDEX idx_ticket_agent_created_date ON ticket (assigned_agent_id, created_date, id);
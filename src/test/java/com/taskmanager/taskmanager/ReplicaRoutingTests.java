@@ -0,0 +1,132 @@
+package com.taskmanager.taskmanager;
+
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.replica.ReplicaLagMonitor;
+import com.taskmanager.taskmanager.service.TicketService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The replica is a separate in-memory database that nothing replicates to, so whatever a read returns tells which
+ * database served it. Each test method runs as one request bound to the test thread, {@link #newRequest()} starts
+ * the next one.
+ */
+@SpringBootTest(properties = {
+		"ticket-audit.directory=target/audit/replica-tests",
+		"spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+		"replica.datasource.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+		"replica.lag-check-interval=PT1H"})
+@AutoConfigureMockMvc
+class ReplicaRoutingTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TicketService ticketService;
+
+	@Autowired
+	private ReplicaLagMonitor replicaLagMonitor;
+
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private DataSource primaryDataSource;
+
+	@Autowired
+	@Qualifier("replicaDataSource")
+	private DataSource replicaDataSource;
+
+	private JdbcTemplate primary;
+	private JdbcTemplate replica;
+
+	@BeforeEach
+	void setUp() {
+		Flyway.configure().dataSource(replicaDataSource).load().migrate();
+		primary = new JdbcTemplate(primaryDataSource);
+		replica = new JdbcTemplate(replicaDataSource);
+		replica.update("UPDATE replica_heartbeat SET beat = CURRENT_TIMESTAMP WHERE id = 1");
+		replicaLagMonitor.check();
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+	}
+
+	@Test
+	void givenTicketOnlyOnThePrimary_whenCountingTickets_thenTheReplicaAnswers() throws Exception {
+		ticketService.createTicket(TicketDto.builder().description("written to the primary").build());
+
+		Assertions.assertTrue(replicaLagMonitor.isReplicaUsable());
+		mockMvc.perform(get("/tickets/count"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(String.valueOf(ticketCount(replica))));
+		Assertions.assertNotEquals(ticketCount(primary), ticketCount(replica));
+	}
+
+	@Test
+	void givenWriteEarlierInTheSameRequest_whenCountingTickets_thenThePrimaryAnswers() {
+		ticketService.createTicket(TicketDto.builder().description("read back in the same request").build());
+
+		Assertions.assertEquals(ticketCount(primary), ticketService.countTickets(null));
+
+		newRequest();
+		Assertions.assertEquals(ticketCount(replica), ticketService.countTickets(null));
+	}
+
+	@Test
+	void givenReplicaFurtherBehindThanMaxLag_whenCountingTickets_thenThePrimaryAnswersUntilItCatchesUp() {
+		ticketService.createTicket(TicketDto.builder().description("not replicated yet").build());
+		newRequest();
+		replica.update("UPDATE replica_heartbeat SET beat = DATEADD('HOUR', -1, CURRENT_TIMESTAMP) WHERE id = 1");
+
+		replicaLagMonitor.check();
+
+		Assertions.assertFalse(replicaLagMonitor.isReplicaUsable());
+		Assertions.assertEquals(ticketCount(primary), ticketService.countTickets(null));
+
+		replica.update("UPDATE replica_heartbeat SET beat = CURRENT_TIMESTAMP WHERE id = 1");
+		replicaLagMonitor.check();
+		Assertions.assertEquals(ticketCount(replica), ticketService.countTickets(null));
+	}
+
+	@Test
+	void givenUnreachableReplica_whenCheckingLag_thenReadsStayOnThePrimary() {
+		replica.execute("ALTER TABLE replica_heartbeat RENAME TO replica_heartbeat_gone");
+		try {
+			replicaLagMonitor.check();
+
+			Assertions.assertFalse(replicaLagMonitor.isReplicaUsable());
+			Assertions.assertNull(replicaLagMonitor.lag());
+			Assertions.assertEquals(ticketCount(primary), ticketService.countTickets(null));
+		} finally {
+			replica.execute("ALTER TABLE replica_heartbeat_gone RENAME TO replica_heartbeat");
+		}
+	}
+
+	private static void newRequest() {
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+	}
+
+	private static long ticketCount(JdbcTemplate database) {
+		return database.queryForObject("SELECT COUNT(*) FROM ticket", Long.class);
+	}
+}
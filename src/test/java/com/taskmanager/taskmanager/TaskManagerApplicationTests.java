@@ -1,13 +1,175 @@
 package com.taskmanager.taskmanager;
 
+import com.taskmanager.taskmanager.cache.AgentLoadIndex;
+import com.taskmanager.taskmanager.cache.TicketCache;
+import com.taskmanager.taskmanager.cache.TicketCountsReconciler;
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.exception.TicketNotFoundException;
+import com.taskmanager.taskmanager.model.Agent;
+import com.taskmanager.taskmanager.model.Status;
+import com.taskmanager.taskmanager.repository.AgentRepository;
+import com.taskmanager.taskmanager.search.TicketSearchIndexLoader;
+import com.taskmanager.taskmanager.service.TicketService;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
 
-@SpringBootTest
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "ticket-audit.directory=target/audit/application-tests")
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 class TaskManagerApplicationTests {
 
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TicketService ticketService;
+
+	@Autowired
+	private TicketCountsReconciler ticketCountsReconciler;
+
+	@Autowired
+	private AgentRepository agentRepository;
+
+	@Autowired
+	private AgentLoadIndex agentLoadIndex;
+
+	@Autowired
+	private TicketSearchIndexLoader ticketSearchIndexLoader;
+
+	@Autowired
+	private TicketCache ticketCache;
+
 	@Test
 	void contextLoads() {
 	}
 
+	@Test
+	void givenRunningApplication_whenScrapingPrometheus_thenTicketAndCacheMetricsAreExposed() throws Exception {
+		mockMvc.perform(get("/actuator/prometheus"))
+				.andExpect(status().isOk())
+				.andExpect(content().string(containsString("tickets_operation_seconds_bucket{operation=\"createTicket\"")))
+				.andExpect(content().string(containsString("tickets_transitions_total{from=\"NEW\",to=\"IN_PROGRESS\"")))
+				.andExpect(content().string(containsString("tickets_failures_total{exception=\"TicketNotFoundException\"")))
+				.andExpect(content().string(containsString("cache_gets_total{cache=\"agentNames\"")))
+				.andExpect(content().string(containsString("cache_gets_total{cache=\"tickets\"")));
+	}
+
+	@Test
+	void givenSeededCounts_whenTicketIsCreated_thenItIsCountedOnCommitAndMatchesReconciliation() throws Exception {
+		long newTickets = ticketService.getTicketStats().totals().get(Status.NEW);
+
+		ticketService.createTicket(TicketDto.builder().description("counted").build());
+
+		mockMvc.perform(get("/tickets/stats"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.totals.NEW", is((int) newTickets + 1)));
+		ticketCountsReconciler.reconcile();
+		Assertions.assertEquals(newTickets + 1, ticketService.getTicketStats().totals().get(Status.NEW));
+	}
+
+	@Test
+	void givenRegisteredAgent_whenAutoAssigning_thenReservationIsReleasedOnRollbackAndKeptOnCommit() {
+		Long agentId = agentRepository.save(Agent.builder().name("AutoAssigned").build()).getId();
+		ticketCountsReconciler.reconcile();
+		int load = totalLoad();
+
+		Assertions.assertThrows(TicketNotFoundException.class, () -> ticketService.autoAssignTicket(Long.MAX_VALUE));
+		Assertions.assertEquals(load, totalLoad());
+
+		Long ticketId = ticketService.createTicket(TicketDto.builder().description("auto assigned").build()).id();
+		TicketDto assigned = ticketService.autoAssignTicket(ticketId);
+		ticketCountsReconciler.reconcile();
+
+		Assertions.assertEquals(Status.IN_PROGRESS, assigned.status());
+		Assertions.assertEquals(load + 1, totalLoad());
+		Assertions.assertTrue(agentLoadIndex.loads().containsKey(agentId));
+	}
+
+	@Test
+	void givenCommittedTicket_whenSearchingByText_thenItIsFoundBeforeAndAfterReloading() throws Exception {
+		Long ticketId = ticketService.createTicket(TicketDto.builder().description("Plotter xyzzy streaks").build()).id();
+		ticketService.updateTicket(ticketId, TicketDto.builder().description("Plotter xyzzy streaks")
+				.resolutionSummary("Cleaned the frobnicator").build());
+
+		mockMvc.perform(get("/tickets").param("text", "frobnicator xyzzy").param("status", "NEW"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.tickets[0].id", is(ticketId.intValue())))
+				.andExpect(jsonPath("$.tickets.length()", is(1)));
+		ticketSearchIndexLoader.load();
+		mockMvc.perform(get("/tickets").param("text", "FROBNICATOR"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.tickets[0].id", is(ticketId.intValue())));
+		mockMvc.perform(get("/tickets").param("text", "xyzzy").param("status", "CLOSED"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.tickets.length()", is(0)));
+	}
+
+	@Test
+	void givenCachedTicket_whenItIsTransitioned_thenEveryReadSeesTheLatestState() {
+		Long agentId = agentRepository.save(Agent.builder().name("CachedReader").build()).getId();
+		Long ticketId = ticketService.createTicket(TicketDto.builder().description("cached").build()).id();
+		Long otherTicketId = ticketService.createTicket(TicketDto.builder().description("cached in bulk").build()).id();
+		Assertions.assertEquals(Status.NEW, ticketService.getTicketById(ticketId).status());
+		Assertions.assertEquals(Status.NEW, ticketService.getTicketById(otherTicketId).status());
+
+		ticketService.assignTicketToAgent(ticketId, agentId);
+		Assertions.assertEquals(Status.IN_PROGRESS, ticketService.getTicketById(ticketId).status());
+		Assertions.assertEquals("CachedReader", ticketService.getTicketById(ticketId).assignedAgent());
+
+		ticketService.updateTicket(ticketId, TicketDto.builder().description("cached").resolutionSummary("done").build());
+		Assertions.assertEquals("done", ticketService.getTicketById(ticketId).resolutionSummary());
+
+		ticketService.resolveTicket(ticketId);
+		Assertions.assertEquals(Status.RESOLVED, ticketService.getTicketById(ticketId).status());
+
+		ticketService.closeTicket(ticketId);
+		Assertions.assertEquals(Status.CLOSED, ticketService.getTicketById(ticketId).status());
+
+		ticketService.assignTicketsToAgent(List.of(otherTicketId), agentId);
+		Assertions.assertEquals(Status.IN_PROGRESS, ticketService.getTicketById(otherTicketId).status());
+
+		ticketService.resolveTickets(List.of(otherTicketId));
+		Assertions.assertEquals(Status.RESOLVED, ticketService.getTicketById(otherTicketId).status());
+		Assertions.assertTrue(ticketCache.stats().hitCount() > 0);
+	}
+
+	@Test
+	void givenCachedTicket_whenItsAgentIsRenamed_thenTheNewNameIsServedUnderANewETag() throws Exception {
+		Agent agent = agentRepository.save(Agent.builder().name("BeforeRename").build());
+		Long ticketId = ticketService.createTicket(TicketDto.builder().description("renamed agent").build()).id();
+		ticketService.assignTicketToAgent(ticketId, agent.getId());
+		String eTag = mockMvc.perform(get("/tickets/{id}", ticketId))
+				.andExpect(jsonPath("$.assignedAgent", is("BeforeRename")))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		agent.setName("AfterRename");
+		agentRepository.save(agent);
+
+		mockMvc.perform(get("/tickets/{id}", ticketId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+				.andExpect(jsonPath("$.assignedAgent", is("AfterRename")));
+	}
+
+	private int totalLoad() {
+		return agentLoadIndex.loads().values().stream().mapToInt(Integer::intValue).sum();
+	}
+
 }
@@ -0,0 +1,44 @@
+package com.taskmanager.taskmanager;
+
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+		properties = "ticket-audit.directory=target/audit/virtual-thread-tests")
+@ActiveProfiles("virtual-threads")
+class VirtualThreadModeTests {
+
+	@Autowired
+	private ServletWebServerApplicationContext applicationContext;
+
+	@Autowired
+	@Qualifier("applicationTaskExecutor")
+	private AsyncTaskExecutor applicationTaskExecutor;
+
+	@Test
+	void givenVirtualThreadProfile_whenServerStarts_thenTomcatHandlesRequestsOnVirtualThreads() {
+		TomcatWebServer webServer = (TomcatWebServer) applicationContext.getWebServer();
+
+		Assertions.assertInstanceOf(VirtualThreadExecutor.class,
+				webServer.getTomcat().getConnector().getProtocolHandler().getExecutor());
+	}
+
+	@Test
+	void givenVirtualThreadProfile_whenAsyncWorkIsSubmitted_thenItRunsOnAVirtualThread() throws Exception {
+		CompletableFuture<Boolean> virtual = applicationTaskExecutor.submitCompletable(() -> Thread.currentThread().isVirtual());
+
+		Assertions.assertTrue(virtual.get(5, TimeUnit.SECONDS));
+	}
+
+}
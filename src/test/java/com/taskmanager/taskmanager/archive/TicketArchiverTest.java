@@ -0,0 +1,119 @@
+package com.taskmanager.taskmanager.archive;
+
+import com.taskmanager.taskmanager.dto.TicketCountDto;
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.model.Agent;
+import com.taskmanager.taskmanager.model.Status;
+import com.taskmanager.taskmanager.model.Ticket;
+import com.taskmanager.taskmanager.repository.ArchivedTicketRepository;
+import com.taskmanager.taskmanager.repository.TicketRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(TicketArchiver.class)
+@Sql("/filterTestData.sql")
+public class TicketArchiverTest {
+
+    @Autowired
+    private TicketArchiver ticketArchiver;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void givenTicketClosedLongAgo_whenArchiving_thenOnlyItIsMovedWithItsColumnsAndVersion() {
+        // Given
+        Ticket old = closedTicket(LocalDateTime.of(2024, 1, 2, 9, 0), LocalDateTime.of(2024, 1, 3, 9, 0));
+        Ticket recent = closedTicket(LocalDateTime.now().minusDays(1), LocalDateTime.now());
+
+        // When
+        int archived = ticketArchiver.archive();
+        entityManager.clear();
+
+        // Then
+        Assertions.assertEquals(1, archived);
+        Assertions.assertFalse(ticketRepository.existsById(old.getId()));
+        Assertions.assertTrue(ticketRepository.existsById(recent.getId()));
+        TicketDto ticket = archivedTicketRepository.findDtoById(old.getId()).orElseThrow();
+        Assertions.assertEquals(Status.CLOSED, ticket.status());
+        Assertions.assertEquals("Agent001", ticket.assignedAgent());
+        Assertions.assertEquals(old.getCreatedDate(), ticket.createdDate());
+        Assertions.assertEquals(old.getVersion(), ticket.version());
+        Assertions.assertEquals(List.of(new TicketCountDto(Status.CLOSED, 1L, 1)), archivedTicketRepository.countByStatusAndAgent());
+        Assertions.assertEquals(0, ticketArchiver.archive());
+    }
+
+    @Test
+    void givenArchivedTicket_whenFiltering_thenItIsReturnedInCreationOrderWithTheTicketTable() {
+        // Given
+        Ticket old = closedTicket(LocalDateTime.of(2024, 1, 2, 9, 0), LocalDateTime.of(2024, 1, 3, 9, 0));
+        Ticket recent = closedTicket(LocalDateTime.now().minusDays(1), LocalDateTime.now());
+        ticketArchiver.archive();
+        entityManager.clear();
+
+        // When
+        List<TicketDto> page = ticketRepository.findPageWithFilters(null, null, null, null, null, 4, null);
+        List<Ticket> closed;
+        try (Stream<Ticket> stream = ticketRepository.streamWithFilters(List.of(Status.CLOSED), null, null, null)) {
+            closed = stream.toList();
+        }
+        List<TicketDto> searched = ticketRepository.findDtosByIdsWithFilters(List.of(1L, old.getId()), List.of(Status.CLOSED), "Agent001", null, null, null);
+
+        // Then
+        Assertions.assertEquals(List.of(1L, old.getId(), 5L, recent.getId()), page.stream().map(TicketDto::id).toList());
+        Assertions.assertEquals(List.of(old.getId(), recent.getId()), closed.stream().map(Ticket::getId).toList());
+        Assertions.assertEquals("Agent001", closed.get(0).getAssignedAgent().getName());
+        Assertions.assertEquals(List.of(old.getId()), searched.stream().map(TicketDto::id).toList());
+        Assertions.assertEquals(7, ticketRepository.findWithFilters(null, null, null, null).size());
+    }
+
+    @Test
+    void givenFilterThatCannotMatchArchivedTickets_whenGettingPage_thenArchiveIsNotRead() {
+        // Given
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        ticketRepository.findPageWithFilters(List.of(Status.NEW, Status.RESOLVED), null, null, null, null, 10, null);
+        ticketRepository.findPageWithFilters(null, null, LocalDateTime.now().minusDays(30), null, null, 10, null);
+        long hotOnly = statistics.getPrepareStatementCount();
+        ticketRepository.findPageWithFilters(List.of(Status.CLOSED), null, LocalDateTime.of(2024, 1, 1, 0, 0), null, null, 10, null);
+
+        // Then
+        Assertions.assertEquals(2, hotOnly);
+        Assertions.assertEquals(4, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(Optional.empty(), archivedTicketRepository.findMaxId());
+    }
+
+    private Ticket closedTicket(LocalDateTime createdDate, LocalDateTime closedDate) {
+        Ticket ticket = ticketRepository.saveAndFlush(Ticket.builder()
+                .description("closed")
+                .status(Status.CLOSED)
+                .createdDate(createdDate)
+                .closedDate(closedDate)
+                .resolutionSummary("done")
+                .assignedAgent(entityManager.find(Agent.class, 1L))
+                .build());
+        entityManager.clear();
+        return ticket;
+    }
+}
@@ -0,0 +1,133 @@
+package com.taskmanager.taskmanager.audit;
+
+import com.sun.management.ThreadMXBean;
+import com.taskmanager.taskmanager.model.Status;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public class TicketAuditJournalTest {
+
+    private static final int SEGMENT_RECORDS = 4;
+
+    @TempDir
+    private Path directory;
+
+    private TicketAuditJournal journal;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        journal.close();
+    }
+
+    @Test
+    void givenTransitionsOfSeveralTickets_whenFindingByTicketId_thenOnlyThatTicketsChangesAreReturnedInOrder() throws Exception {
+        // Given
+        journal = open();
+        journal.append(1L, null, Status.NEW, null);
+        journal.append(2L, null, Status.NEW, null);
+        journal.append(1L, Status.NEW, Status.IN_PROGRESS, 7L);
+        journal.append(1L, Status.IN_PROGRESS, Status.RESOLVED, 7L);
+
+        // When
+        List<TicketAuditJournal.Entry> entries = journal.findByTicketId(1L);
+
+        // Then
+        Assertions.assertEquals(List.of(Status.NEW, Status.IN_PROGRESS, Status.RESOLVED),
+                entries.stream().map(TicketAuditJournal.Entry::to).toList());
+        Assertions.assertNull(entries.get(0).from());
+        Assertions.assertNull(entries.get(0).agentId());
+        Assertions.assertEquals(Status.NEW, entries.get(1).from());
+        Assertions.assertEquals(7L, entries.get(1).agentId());
+    }
+
+    @Test
+    void givenMoreRecordsThanASegmentHolds_whenReopening_thenSegmentsRollOverAndAppendingContinues() throws Exception {
+        // Given
+        journal = open();
+        for (long ticketId = 1; ticketId <= 6; ticketId++) {
+            journal.append(ticketId, null, Status.NEW, null);
+        }
+        journal.close();
+
+        // When
+        journal = open();
+        journal.append(7L, null, Status.NEW, null);
+        journal.append(3L, Status.NEW, Status.IN_PROGRESS, 1L);
+
+        // Then
+        try (Stream<Path> files = Files.list(directory)) {
+            Assertions.assertEquals(2, files.filter(file -> file.toString().endsWith(".audit")).count());
+        }
+        Assertions.assertEquals(2, journal.findByTicketId(3L).size());
+        Assertions.assertEquals(1, journal.findByTicketId(7L).size());
+        Assertions.assertEquals(8, journal.findBetween(LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)).size());
+    }
+
+    @Test
+    void givenRecordsAppendedOverTime_whenFindingBetween_thenOnlyRecordsInTheRangeAreReturned() throws Exception {
+        // Given
+        journal = open();
+        journal.append(1L, null, Status.NEW, null);
+        Thread.sleep(20);
+        LocalDateTime from = LocalDateTime.now();
+        journal.append(2L, null, Status.NEW, null);
+        journal.append(3L, null, Status.NEW, null);
+        LocalDateTime to = LocalDateTime.now();
+        Thread.sleep(20);
+        journal.append(4L, null, Status.NEW, null);
+
+        // When
+        List<TicketAuditJournal.Entry> entries = journal.findBetween(from, to);
+
+        // Then
+        Assertions.assertEquals(List.of(2L, 3L), entries.stream().map(TicketAuditJournal.Entry::ticketId).toList());
+    }
+
+    @Test
+    void givenOpenJournal_whenOpeningTheSameDirectoryAgain_thenItIsRejected() throws Exception {
+        // Given
+        journal = open();
+
+        // When / Then
+        Assertions.assertThrows(IllegalStateException.class, this::open);
+    }
+
+    @Test
+    void givenWarmJournal_whenAppending_thenNothingIsAllocated() throws Exception {
+        // Given
+        journal = new TicketAuditJournal(directory, 1 << 16, Duration.ofMillis(10), 1 << 20);
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Long agentId = 7L;
+        for (int i = 0; i < 10_000; i++) {
+            journal.append(i, Status.IN_PROGRESS, Status.RESOLVED, agentId);
+        }
+
+        // When
+        // the least of a few rounds, a deoptimization in one can reallocate objects the compiler had eliminated
+        long allocated = Long.MAX_VALUE;
+        for (int round = 0; round < 5 && allocated > 0; round++) {
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < 10_000; i++) {
+                journal.append(i, Status.RESOLVED, Status.CLOSED, agentId);
+            }
+            allocated = Math.min(allocated, threads.getCurrentThreadAllocatedBytes() - before);
+        }
+
+        // Then
+        Assertions.assertEquals(0, allocated);
+    }
+
+    private TicketAuditJournal open() throws Exception {
+        return new TicketAuditJournal(directory, SEGMENT_RECORDS, Duration.ofMillis(10), 2);
+    }
+}
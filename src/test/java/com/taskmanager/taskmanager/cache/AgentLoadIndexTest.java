@@ -0,0 +1,109 @@
+package com.taskmanager.taskmanager.cache;
+
+import com.taskmanager.taskmanager.dto.AgentDto;
+import com.taskmanager.taskmanager.model.Status;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+public class AgentLoadIndexTest {
+
+    private static final List<AgentDto> AGENTS = List.of(
+            new AgentDto(1L, "Agent001"), new AgentDto(2L, "Agent002"), new AgentDto(3L, "Agent003"));
+
+    private final AgentLoadIndex agentLoadIndex = new AgentLoadIndex(3);
+
+    @Test
+    void givenRegisteredLoads_whenReserving_thenLeastLoadedAgentsAreTakenUntilCapacity() {
+        // Given
+        agentLoadIndex.register(AGENTS, Map.of(1L, 2L, 2L, 1L));
+
+        // When
+        List<Long> reserved = IntStream.range(0, 6)
+                .mapToObj(i -> agentLoadIndex.reserve().map(AgentDto::id).orElseThrow())
+                .toList();
+
+        // Then
+        Assertions.assertEquals(List.of(3L, 2L, 3L, 1L, 2L, 3L), reserved);
+        Assertions.assertEquals(Optional.empty(), agentLoadIndex.reserve());
+        agentLoadIndex.release(2L);
+        Assertions.assertEquals(Optional.of(AGENTS.get(1)), agentLoadIndex.reserve());
+    }
+
+    @Test
+    void givenCommittedTransitions_whenApplied_thenLoadsFollowInProgressTickets() {
+        // Given
+        agentLoadIndex.register(AGENTS, Map.of(1L, 3L));
+
+        // When
+        agentLoadIndex.apply(List.of(
+                new TicketCounts.Transition(Status.IN_PROGRESS, 1L, Status.RESOLVED, 1L),
+                new TicketCounts.Transition(Status.NEW, null, Status.IN_PROGRESS, 2L),
+                new TicketCounts.Transition(Status.NEW, null, Status.IN_PROGRESS, 2L),
+                new TicketCounts.Transition(Status.NEW, null, Status.IN_PROGRESS, 2L),
+                new TicketCounts.Transition(Status.NEW, null, Status.IN_PROGRESS, 2L),
+                new TicketCounts.Transition(Status.RESOLVED, 3L, Status.CLOSED, 3L),
+                new TicketCounts.Transition(Status.NEW, null, Status.IN_PROGRESS, 99L)));
+
+        // Then
+        Assertions.assertEquals(Map.of(1L, 2, 2L, 4, 3L, 0), agentLoadIndex.loads());
+        Assertions.assertEquals(3L, agentLoadIndex.reserve().orElseThrow().id());
+        Assertions.assertEquals(3L, agentLoadIndex.reserve().orElseThrow().id());
+        Assertions.assertEquals(1L, agentLoadIndex.reserve().orElseThrow().id());
+    }
+
+    @Test
+    void givenRosterChange_whenRegistering_thenNewAgentsAreSeededAndRemovedAgentsAreNoLongerReserved() {
+        // Given
+        agentLoadIndex.register(AGENTS.subList(0, 2), Map.of());
+        agentLoadIndex.reserve();
+
+        // When
+        agentLoadIndex.register(AGENTS.subList(1, 3), Map.of(2L, 0L, 3L, 2L));
+
+        // Then
+        Assertions.assertEquals(Map.of(2L, 0, 3L, 2), agentLoadIndex.loads());
+        Assertions.assertEquals(List.of(2L, 2L, 2L, 3L), IntStream.range(0, 4)
+                .mapToObj(i -> agentLoadIndex.reserve().orElseThrow().id())
+                .toList());
+        Assertions.assertEquals(Optional.empty(), agentLoadIndex.reserve());
+    }
+
+    @Test
+    void givenConcurrentReservations_whenAgentsFillUp_thenNoAgentExceedsCapacity() {
+        // Given
+        List<AgentDto> agents = IntStream.rangeClosed(1, 50).mapToObj(id -> new AgentDto((long) id, "Agent" + id)).toList();
+        agentLoadIndex.register(agents, Map.of());
+        AtomicInteger reserved = new AtomicInteger();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 1_000).forEach(i -> executor.submit(() -> {
+                Optional<AgentDto> agent = agentLoadIndex.reserve();
+                if (agent.isPresent()) {
+                    reserved.incrementAndGet();
+                    if (i % 2 == 0) {
+                        agentLoadIndex.release(agent.get().id());
+                        reserved.decrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        // Then
+        Assertions.assertTrue(agentLoadIndex.loads().values().stream().allMatch(load -> load <= 3));
+        Assertions.assertEquals(reserved.get(), agentLoadIndex.loads().values().stream().mapToInt(Integer::intValue).sum());
+        // a reservation held only briefly may have turned away others, the capacity left is still reservable
+        while (agentLoadIndex.reserve().isPresent()) {
+            reserved.incrementAndGet();
+        }
+        Assertions.assertEquals(150, reserved.get());
+    }
+}
@@ -0,0 +1,156 @@
+package com.taskmanager.taskmanager.cache;
+
+import com.taskmanager.taskmanager.dto.AgentDto;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AgentNameCacheTest {
+
+    private final AgentNameCache agentNameCache = new AgentNameCache(100, Duration.ofHours(1), Duration.ofMinutes(1));
+
+    @Test
+    void givenCachedAgent_whenLookingUpAgain_thenLoaderIsNotCalled() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        AgentDto agent = new AgentDto(1L, "Agent001");
+
+        // When
+        agentNameCache.get("Agent001", name -> {
+            loads.incrementAndGet();
+            return Optional.of(agent);
+        });
+        Optional<AgentDto> cached = agentNameCache.get("Agent001", name -> {
+            loads.incrementAndGet();
+            return Optional.of(agent);
+        });
+
+        // Then
+        Assertions.assertEquals(Optional.of(agent), cached);
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, agentNameCache.stats().hitCount());
+        Assertions.assertEquals(1, agentNameCache.stats().missCount());
+    }
+
+    @Test
+    void givenUnknownName_whenLookingUpAgain_thenEmptyResultIsServedFromCache() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        agentNameCache.get("Unknown", name -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        Optional<AgentDto> cached = agentNameCache.get("Unknown", name -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        // Then
+        Assertions.assertTrue(cached.isEmpty());
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void givenInvalidatedName_whenLookingUp_thenLoaderIsCalledAgain() {
+        // Given
+        agentNameCache.get("Agent001", name -> Optional.empty());
+
+        // When
+        agentNameCache.invalidate("Agent001");
+        Optional<AgentDto> reloaded = agentNameCache.get("Agent001", name -> Optional.of(new AgentDto(1L, name)));
+
+        // Then
+        Assertions.assertEquals(Optional.of(new AgentDto(1L, "Agent001")), reloaded);
+    }
+
+    @Test
+    void givenMoreNamesThanMaximumSize_whenCaching_thenEntriesAreEvicted() {
+        // Given
+        AgentNameCache smallCache = new AgentNameCache(10, Duration.ofHours(1), Duration.ofMinutes(1));
+
+        // When
+        for (long i = 0; i < 100; i++) {
+            long id = i;
+            smallCache.get("Agent" + i, name -> Optional.of(new AgentDto(id, name)));
+        }
+        smallCache.cleanUp();
+
+        // Then
+        Assertions.assertTrue(smallCache.size() <= 10);
+        Assertions.assertTrue(smallCache.stats().evictionCount() >= 90);
+    }
+
+    @Test
+    void givenSlowLoadInProgress_whenLookingUp_thenOtherNamesAreNotBlockedAndSameNameIsLoadedOnce() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Optional<AgentDto>> slowLookup = CompletableFuture.supplyAsync(() -> agentNameCache.get("Agent001", name -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            awaitUninterruptibly(release);
+            return Optional.of(new AgentDto(1L, name));
+        }));
+        Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // When
+        Optional<AgentDto> other = CompletableFuture
+                .supplyAsync(() -> agentNameCache.get("Agent002", name -> Optional.of(new AgentDto(2L, name))))
+                .get(5, TimeUnit.SECONDS);
+        CompletableFuture<Optional<AgentDto>> sameName = CompletableFuture.supplyAsync(() -> agentNameCache.get("Agent001", name -> {
+            loads.incrementAndGet();
+            return Optional.of(new AgentDto(1L, name));
+        }));
+        release.countDown();
+
+        // Then
+        Assertions.assertEquals(Optional.of(new AgentDto(2L, "Agent002")), other);
+        Assertions.assertEquals(Optional.of(new AgentDto(1L, "Agent001")), slowLookup.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(Optional.of(new AgentDto(1L, "Agent001")), sameName.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    void givenInvalidationDuringLoad_whenLoadCompletes_thenLoadedAgentIsNotCached() {
+        // When
+        Optional<AgentDto> stale = agentNameCache.get("Agent001", name -> {
+            // the agent is renamed while its previous name is being read
+            agentNameCache.invalidateAll();
+            return Optional.of(new AgentDto(1L, name));
+        });
+        Optional<AgentDto> current = agentNameCache.get("Agent001", name -> Optional.empty());
+
+        // Then
+        Assertions.assertEquals(Optional.of(new AgentDto(1L, "Agent001")), stale);
+        Assertions.assertTrue(current.isEmpty());
+    }
+
+    @Test
+    void givenFailingLoader_whenLookingUp_thenExceptionIsThrownAndNothingIsCached() {
+        // When
+        Assertions.assertThrows(IllegalStateException.class, () -> agentNameCache.get("Agent001", name -> {
+            throw new IllegalStateException("database unavailable");
+        }));
+        Optional<AgentDto> agent = agentNameCache.get("Agent001", name -> Optional.of(new AgentDto(1L, name)));
+
+        // Then
+        Assertions.assertEquals(Optional.of(new AgentDto(1L, "Agent001")), agent);
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.taskmanager.taskmanager.cache;
+
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.exception.TicketNotFoundException;
+import com.taskmanager.taskmanager.model.Status;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+public class TicketCacheTest {
+
+    private final TicketCache ticketCache = new TicketCache(100, Duration.ofMinutes(10));
+
+    @Test
+    void givenConcurrentMissesOnSameId_whenLoading_thenTicketIsLoadedOnce() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<TicketDto> first = CompletableFuture.supplyAsync(() -> ticketCache.get(1L, id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return ticket(id, Status.NEW);
+        }));
+        Assertions.assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+        // When
+        List<CompletableFuture<TicketDto>> waiting = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.supplyAsync(() -> ticketCache.get(1L, id -> {
+                    loads.incrementAndGet();
+                    return ticket(id, Status.NEW);
+                })))
+                .toList();
+        release.countDown();
+
+        // Then
+        Assertions.assertEquals(ticket(1L, Status.NEW), first.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<TicketDto> ticket : waiting) {
+            Assertions.assertEquals(ticket(1L, Status.NEW), ticket.get(5, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, ticketCache.stats().loadSuccessCount());
+    }
+
+    @Test
+    void givenInvalidationDuringLoad_whenLoadCompletes_thenLoadedTicketIsNotCached() {
+        // When
+        TicketDto stale = ticketCache.get(1L, id -> {
+            // a transition commits while the previous state is being read
+            ticketCache.invalidate(id);
+            return ticket(id, Status.NEW);
+        });
+        TicketDto current = ticketCache.get(1L, id -> ticket(id, Status.IN_PROGRESS));
+
+        // Then
+        Assertions.assertEquals(Status.NEW, stale.status());
+        Assertions.assertEquals(Status.IN_PROGRESS, current.status());
+    }
+
+    @Test
+    void givenFailingLoader_whenLoading_thenExceptionIsThrownAndNothingIsCached() {
+        // When
+        TicketNotFoundException exception = Assertions.assertThrows(TicketNotFoundException.class,
+                () -> ticketCache.get(1L, id -> {
+                    throw new TicketNotFoundException("missing");
+                }));
+        TicketDto ticket = ticketCache.get(1L, id -> ticket(id, Status.NEW));
+
+        // Then
+        Assertions.assertEquals("missing", exception.getMessage());
+        Assertions.assertEquals(ticket(1L, Status.NEW), ticket);
+        Assertions.assertEquals(1, ticketCache.stats().loadFailureCount());
+    }
+
+    @Test
+    void givenCachedTickets_whenInvalidatingSome_thenOnlyThoseAreLoadedAgain() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        for (long id = 1; id <= 3; id++) {
+            ticketCache.get(id, ticketId -> ticket(ticketId, Status.NEW));
+        }
+
+        // When
+        ticketCache.invalidateAll(List.of(1L, 2L));
+        for (long id = 1; id <= 3; id++) {
+            ticketCache.get(id, ticketId -> {
+                loads.incrementAndGet();
+                return ticket(ticketId, Status.IN_PROGRESS);
+            });
+        }
+
+        // Then
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertEquals(1, ticketCache.stats().hitCount());
+        Assertions.assertEquals(5, ticketCache.stats().missCount());
+    }
+
+    private static TicketDto ticket(Long id, Status status) {
+        return TicketDto.builder().id(id).description("ticket " + id).status(status).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
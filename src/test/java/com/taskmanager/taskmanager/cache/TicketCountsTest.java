@@ -0,0 +1,79 @@
+package com.taskmanager.taskmanager.cache;
+
+import com.taskmanager.taskmanager.dto.TicketCountDto;
+import com.taskmanager.taskmanager.dto.TicketStatsDto;
+import com.taskmanager.taskmanager.model.Status;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+public class TicketCountsTest {
+
+    private final TicketCounts ticketCounts = new TicketCounts();
+
+    @Test
+    void givenSeededCounts_whenTicketMovesThroughLifecycle_thenTotalsAndAgentCountsFollow() {
+        // Given
+        ticketCounts.replace(List.of(new TicketCountDto(Status.NEW, null, 3)));
+
+        // When
+        ticketCounts.apply(List.of(
+                TicketCounts.Transition.created(null),
+                new TicketCounts.Transition(Status.NEW, null, Status.IN_PROGRESS, 7L),
+                new TicketCounts.Transition(Status.IN_PROGRESS, 7L, Status.RESOLVED, 7L)));
+
+        // Then
+        TicketStatsDto stats = ticketCounts.snapshot();
+        Assertions.assertEquals(3, stats.totals().get(Status.NEW));
+        Assertions.assertEquals(0, stats.totals().get(Status.IN_PROGRESS));
+        Assertions.assertEquals(1, stats.totals().get(Status.RESOLVED));
+        Assertions.assertEquals(3, stats.unassigned().get(Status.NEW));
+        Assertions.assertEquals(1, stats.agents().get(7L).get(Status.RESOLVED));
+        Assertions.assertEquals(0, stats.agents().get(7L).get(Status.CLOSED));
+    }
+
+    @Test
+    void givenDriftedCounts_whenReplacedFromDatabase_thenDriftIsReportedAndCountsMatchDatabase() {
+        // Given
+        ticketCounts.replace(List.of(new TicketCountDto(Status.IN_PROGRESS, 1L, 2)));
+        ticketCounts.apply(List.of(new TicketCounts.Transition(Status.IN_PROGRESS, 1L, Status.RESOLVED, 1L)));
+
+        // When
+        long drift = ticketCounts.replace(List.of(
+                new TicketCountDto(Status.IN_PROGRESS, 1L, 2),
+                new TicketCountDto(Status.NEW, 2L, 1)));
+
+        // Then
+        Assertions.assertEquals(3, drift);
+        TicketStatsDto stats = ticketCounts.snapshot();
+        Assertions.assertEquals(2, stats.agents().get(1L).get(Status.IN_PROGRESS));
+        Assertions.assertEquals(0, stats.agents().get(1L).get(Status.RESOLVED));
+        Assertions.assertEquals(1, stats.agents().get(2L).get(Status.NEW));
+        Assertions.assertEquals(0, ticketCounts.replace(List.of(
+                new TicketCountDto(Status.IN_PROGRESS, 1L, 2),
+                new TicketCountDto(Status.NEW, 2L, 1))));
+    }
+
+    @Test
+    void givenConcurrentTransitions_whenAllHaveBeenApplied_thenNoUpdateIsLost() {
+        // Given
+        int tickets = 10_000;
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, tickets).forEach(i -> executor.submit(() -> ticketCounts.apply(List.of(
+                    TicketCounts.Transition.created(null),
+                    new TicketCounts.Transition(Status.NEW, null, Status.IN_PROGRESS, (long) (i % 4))))));
+        }
+
+        // Then
+        TicketStatsDto stats = ticketCounts.snapshot();
+        Assertions.assertEquals(0, stats.totals().get(Status.NEW));
+        Assertions.assertEquals(tickets, stats.totals().get(Status.IN_PROGRESS));
+        Assertions.assertEquals(tickets / 4, stats.agents().get(3L).get(Status.IN_PROGRESS));
+    }
+}
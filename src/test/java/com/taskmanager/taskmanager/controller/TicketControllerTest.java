@@ -2,33 +2,61 @@ package com.taskmanager.taskmanager.controller;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.taskmanager.taskmanager.cache.TicketJsonCache;
+import com.taskmanager.taskmanager.config.JacksonConfig;
+import com.taskmanager.taskmanager.dto.ExportFormat;
 import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.dto.TicketField;
 import com.taskmanager.taskmanager.dto.TicketFilterDto;
+import com.taskmanager.taskmanager.dto.TicketOperationResultDto;
+import com.taskmanager.taskmanager.dto.TicketPageDto;
+import com.taskmanager.taskmanager.dto.TicketStatsDto;
+import com.taskmanager.taskmanager.dto.TicketVersionDto;
 import com.taskmanager.taskmanager.exception.*;
 import com.taskmanager.taskmanager.model.Status;
 import com.taskmanager.taskmanager.service.TicketService;
 import com.taskmanager.taskmanager.util.Constants;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 
 @WebMvcTest(TicketController.class)
+@Import({TicketJsonCache.class, JacksonConfig.class})
 public class TicketControllerTest {
 
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -38,6 +66,12 @@ public class TicketControllerTest {
     @MockBean
     private TicketService ticketService;
 
+    @Autowired
+    private TicketJsonCache ticketJsonCache;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter;
+
     @Test
     void givenTicketDetails_whenTicketIsCreated_thenTicketIsSaved() throws Exception {
         // given
@@ -59,6 +93,42 @@ public class TicketControllerTest {
                 .andExpect(jsonPath("$.status").value(Status.NEW.name()));
     }
 
+    @Test
+    void givenTicketDetailsList_whenTicketsAreCreatedInBulk_thenCreatedTicketsAreReturned() throws Exception {
+        // given
+        List<TicketDto> ticketDtos = List.of(
+                TicketDto.builder().description("first").build(),
+                TicketDto.builder().description("second").build());
+        List<TicketDto> createdTickets = List.of(
+                TicketDto.builder().id(1L).description("first").status(Status.NEW).build(),
+                TicketDto.builder().id(2L).description("second").status(Status.NEW).build());
+
+        //when
+        when(ticketService.createTickets(anyList())).thenReturn(createdTickets);
+
+        //then
+        mockMvc.perform(post("/tickets/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ticketDtos)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].id", is(2)))
+                .andExpect(jsonPath("$[1].status").value(Status.NEW.name()));
+    }
+
+    @Test
+    void givenTicketWithoutDescription_whenTicketsAreCreatedInBulk_thenThrowException() throws Exception {
+        //when
+        when(ticketService.createTickets(anyList())).thenThrow(new MissingDescriptionException(Constants.MISSING_DESCRIPTION_EXCEPTION));
+
+        //then
+        mockMvc.perform(post("/tickets/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(TicketDto.builder().build()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(Constants.MISSING_DESCRIPTION_EXCEPTION));
+    }
+
     @Test
     void givenNewTicket_whenAssigningAgent_thenStatusIsInProgress() throws Exception {
         //given
@@ -132,6 +202,103 @@ public class TicketControllerTest {
                 .andExpect(content().string(Constants.TICKET_NOT_FOUND));
     }
 
+    @Test
+    void givenTicketIds_whenAssigningAgentInBulk_thenResultPerTicketIsReturned() throws Exception {
+        //given
+        Long agentId = 1L;
+        List<Long> ticketIds = List.of(1L, 2L);
+        List<TicketOperationResultDto> results = List.of(
+                TicketOperationResultDto.succeeded(TicketDto.builder().id(1L).status(Status.IN_PROGRESS).build()),
+                TicketOperationResultDto.failed(2L, Constants.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT));
+
+        //when
+        when(ticketService.assignTicketsToAgent(ticketIds, agentId)).thenReturn(results);
+
+        //then
+        mockMvc.perform(put("/tickets/bulk/agent/{agentId}", agentId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ticketIds)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].success").value(true))
+                .andExpect(jsonPath("$[0].ticket.status").value(Status.IN_PROGRESS.name()))
+                .andExpect(jsonPath("$[1].success").value(false))
+                .andExpect(jsonPath("$[1].error").value(Constants.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT));
+    }
+
+    @Test
+    void givenAvailableAgent_whenAutoAssigning_thenTicketIsAssignedToIt() throws Exception {
+        //given
+        Long ticketId = 1L;
+        TicketDto ticketDto = TicketDto.builder()
+                .id(ticketId)
+                .status(Status.IN_PROGRESS)
+                .assignedAgent("Agent002")
+                .build();
+
+        //when
+        when(ticketService.autoAssignTicket(ticketId)).thenReturn(ticketDto);
+
+        //then
+        mockMvc.perform(put("/tickets/{id}/agent/auto", ticketId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assignedAgent").value("Agent002"));
+        verify(ticketService, never()).assignTicketToAgent(any(), any());
+    }
+
+    @Test
+    void givenEveryAgentAtCapacity_whenAutoAssigning_thenConflictIsReturned() throws Exception {
+        //when
+        when(ticketService.autoAssignTicket(1L)).thenThrow(new NoAvailableAgentException(Constants.NO_AGENT_AVAILABLE));
+
+        //then
+        mockMvc.perform(put("/tickets/{id}/agent/auto", 1L))
+                .andExpect(status().isConflict())
+                .andExpect(content().string(Constants.NO_AGENT_AVAILABLE));
+    }
+
+    @Test
+    void givenBatchSize_whenAutoAssigningInBulk_thenResultPerTicketIsReturned() throws Exception {
+        //given
+        List<TicketOperationResultDto> results = List.of(
+                TicketOperationResultDto.succeeded(TicketDto.builder().id(1L).status(Status.IN_PROGRESS).assignedAgent("Agent001").build()));
+
+        //when
+        when(ticketService.autoAssignTickets(50)).thenReturn(results);
+
+        //then
+        mockMvc.perform(put("/tickets/bulk/agent/auto").param("batchSize", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].ticket.assignedAgent").value("Agent001"));
+    }
+
+    @Test
+    void givenTicketIds_whenResolvingAndClosingInBulk_thenResultPerTicketIsReturned() throws Exception {
+        //given
+        List<Long> ticketIds = List.of(1L);
+
+        //when
+        when(ticketService.resolveTickets(ticketIds)).thenReturn(List.of(
+                TicketOperationResultDto.succeeded(TicketDto.builder().id(1L).status(Status.RESOLVED).build())));
+        when(ticketService.closeTickets(ticketIds)).thenReturn(List.of(
+                TicketOperationResultDto.failed(1L, Constants.MISSING_RESOLUTION_SUMMARY_EXCEPTION)));
+
+        //then
+        mockMvc.perform(put("/tickets/bulk/resolve")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ticketIds)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ticket.status").value(Status.RESOLVED.name()));
+
+        mockMvc.perform(put("/tickets/bulk/close")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ticketIds)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].ticketId", is(1)))
+                .andExpect(jsonPath("$[0].error").value(Constants.MISSING_RESOLUTION_SUMMARY_EXCEPTION));
+    }
+
     @Test
     void givenTicketInProgress_whenResolved_thenStatusIsResolved() throws Exception {
         //given
@@ -258,6 +425,7 @@ public class TicketControllerTest {
                 .description(description)
                 .assignedAgent(assignedAgent)
                 .status(Status.NEW)
+                .version(3L)
                 .build();
         // when
         when(ticketService.getTicketById(eq(ticketId))).thenReturn(ticketDto);
@@ -266,7 +434,107 @@ public class TicketControllerTest {
         mockMvc.perform(get("/tickets/{id}", ticketId)
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, startsWith("\"3-")))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(content().string(objectMapper.writeValueAsString(ticketDto)));
+        verify(ticketService, never()).getTicketVersion(any());
+    }
+
+    @Test
+    void givenCurrentETag_whenGettingTicketConditionally_thenNotModifiedIsReturnedAfterReadingTheVersion() throws Exception {
+        // when
+        when(ticketService.getTicketVersion(1L)).thenReturn(new TicketVersionDto(3L, null));
+
+        // then
+        mockMvc.perform(get("/tickets/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"2\", W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+        verify(ticketService, never()).getTicketById(any());
+    }
+
+    @Test
+    void givenOutdatedETag_whenGettingTicketRepeatedly_thenBodyOfTheNewVersionIsEncodedOnce() throws Exception {
+        // given
+        TicketDto ticketDto = TicketDto.builder().id(1L).description("Description").status(Status.RESOLVED).version(4L).build();
+        long encoded = ticketJsonCache.stats().missCount();
+
+        // when
+        when(ticketService.getTicketVersion(1L)).thenReturn(new TicketVersionDto(4L, null));
+        when(ticketService.getTicketById(1L)).thenReturn(ticketDto);
+
+        // then
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/tickets/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                    .andExpect(jsonPath("$.status").value(Status.RESOLVED.name()))
+                    .andExpect(jsonPath("$.version").doesNotExist());
+        }
+        Assertions.assertEquals(encoded + 1, ticketJsonCache.stats().missCount());
+    }
+
+    @Test
+    void givenRenamedAgent_whenGettingTicketConditionally_thenBodyWithTheNewNameIsReturned() throws Exception {
+        // given
+        TicketDto before = TicketDto.builder().id(2L).description("Description").status(Status.IN_PROGRESS)
+                .assignedAgent("Agent001").version(3L).build();
+        TicketDto after = TicketDto.builder().id(2L).description("Description").status(Status.IN_PROGRESS)
+                .assignedAgent("Agent101").version(3L).build();
+        when(ticketService.getTicketById(2L)).thenReturn(before);
+        String eTag = mockMvc.perform(get("/tickets/{id}", 2L))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        when(ticketService.getTicketVersion(2L)).thenReturn(new TicketVersionDto(3L, "Agent101"));
+        when(ticketService.getTicketById(2L)).thenReturn(after);
+
+        // then
+        mockMvc.perform(get("/tickets/{id}", 2L).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$.assignedAgent").value("Agent101"));
+    }
+
+    @Test
+    void givenAgentRenamedToNameWithSameStringHash_whenGettingTicketConditionally_thenBodyWithTheNewNameIsReturned() throws Exception {
+        // given
+        Assertions.assertEquals("Aa".hashCode(), "BB".hashCode());
+        TicketDto before = TicketDto.builder().id(3L).description("Description").status(Status.IN_PROGRESS)
+                .assignedAgent("Aa").version(3L).build();
+        TicketDto after = TicketDto.builder().id(3L).description("Description").status(Status.IN_PROGRESS)
+                .assignedAgent("BB").version(3L).build();
+        when(ticketService.getTicketById(3L)).thenReturn(before);
+        String eTag = mockMvc.perform(get("/tickets/{id}", 3L))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // when
+        when(ticketService.getTicketVersion(3L)).thenReturn(new TicketVersionDto(3L, "BB"));
+        when(ticketService.getTicketById(3L)).thenReturn(after);
+
+        // then
+        mockMvc.perform(get("/tickets/{id}", 3L).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+                .andExpect(jsonPath("$.assignedAgent").value("BB"));
+    }
+
+    @Test
+    void givenLiveCounts_whenGettingStats_thenCountsAreReturnedByStatusAndAgent() throws Exception {
+        // given
+        Map<Status, Long> counts = new EnumMap<>(Map.of(Status.NEW, 0L, Status.IN_PROGRESS, 2L, Status.RESOLVED, 1L, Status.CLOSED, 0L));
+        TicketStatsDto stats = new TicketStatsDto(counts, counts, Map.of(1L, counts));
+
+        // when
+        when(ticketService.getTicketStats()).thenReturn(stats);
+
+        // then
+        mockMvc.perform(get("/tickets/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totals.IN_PROGRESS", is(2)))
+                .andExpect(jsonPath("$.agents.1.RESOLVED", is(1)));
     }
 
     @Test
@@ -291,7 +559,8 @@ public class TicketControllerTest {
 
         List<TicketDto> filteredDto = List.of(ticketDto, ticketDto2);
 
-        when(ticketService.getTickets(any(TicketFilterDto.class))).thenReturn(filteredDto);
+        when(ticketService.getTickets(any(TicketFilterDto.class), eq(null), eq(null), eq(null)))
+                .thenReturn(new TicketPageDto(filteredDto, null));
 
         //then
         mockMvc.perform(get("/tickets")
@@ -301,8 +570,190 @@ public class TicketControllerTest {
                             .param("assignedAgent", agentName)
                 )
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(filteredDto.size())))
-                .andExpect(jsonPath("$[0].id", is(ticketDto.id().intValue())))
-                .andExpect(jsonPath("$[1].id", is(ticketDto2.id().intValue())));
+                .andExpect(jsonPath("$.tickets", hasSize(filteredDto.size())))
+                .andExpect(jsonPath("$.tickets[0].id", is(ticketDto.id().intValue())))
+                .andExpect(jsonPath("$.tickets[1].id", is(ticketDto2.id().intValue())));
+    }
+
+    @Test
+    void givenCursorAndSize_whenGettingTickets_thenNextPageWithContinuationTokenIsReturned() throws Exception {
+        String cursor = "cursor";
+        String nextCursor = "nextCursor";
+        TicketDto ticketDto = TicketDto.builder()
+                .id(3L)
+                .status(Status.NEW)
+                .build();
+
+        when(ticketService.getTickets(any(TicketFilterDto.class), eq(cursor), eq(1), eq(null)))
+                .thenReturn(new TicketPageDto(List.of(ticketDto), nextCursor));
+
+        mockMvc.perform(get("/tickets")
+                        .param("cursor", cursor)
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tickets", hasSize(1)))
+                .andExpect(jsonPath("$.tickets[0].id", is(ticketDto.id().intValue())))
+                .andExpect(jsonPath("$.nextCursor").value(nextCursor));
+    }
+
+    @Test
+    void givenText_whenGettingTickets_thenTextIsPassedWithTheOtherFilters() throws Exception {
+        TicketDto ticketDto = TicketDto.builder()
+                .id(4L)
+                .description("Printer jams")
+                .status(Status.NEW)
+                .build();
+
+        when(ticketService.getTickets(eq(TicketFilterDto.builder().status(List.of(Status.NEW)).text("printer jams").build()), eq(null), eq(null), eq(null)))
+                .thenReturn(new TicketPageDto(List.of(ticketDto), null));
+
+        mockMvc.perform(get("/tickets")
+                        .param("status", "NEW")
+                        .param("text", "printer jams"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tickets", hasSize(1)))
+                .andExpect(jsonPath("$.tickets[0].id", is(ticketDto.id().intValue())));
+    }
+
+    @Test
+    void givenMalformedCursor_whenGettingTickets_thenThrowException() throws Exception {
+        when(ticketService.getTickets(any(TicketFilterDto.class), eq("bad"), eq(null), eq(null)))
+                .thenThrow(new InvalidCursorException(Constants.INVALID_CURSOR));
+
+        mockMvc.perform(get("/tickets")
+                        .param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(Constants.INVALID_CURSOR));
+    }
+
+    @Test
+    void givenFields_whenGettingTickets_thenOnlyThoseFieldsAreReadAndSerialized() throws Exception {
+        TicketDto ticketDto = TicketDto.builder()
+                .id(5L)
+                .status(Status.NEW)
+                .createdDate(LocalDateTime.of(2024, 1, 1, 0, 0))
+                .build();
+
+        when(ticketService.getTickets(any(TicketFilterDto.class), eq(null), eq(null),
+                eq(EnumSet.of(TicketField.ID, TicketField.STATUS))))
+                .thenReturn(new TicketPageDto(List.of(ticketDto), "nextCursor"));
+
+        mockMvc.perform(get("/tickets")
+                        .param("fields", "id, status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tickets[0].id", is(ticketDto.id().intValue())))
+                .andExpect(jsonPath("$.tickets[0].status", is("NEW")))
+                .andExpect(jsonPath("$.tickets[0].createdDate").doesNotExist())
+                .andExpect(jsonPath("$.tickets[0].description").doesNotExist())
+                .andExpect(jsonPath("$.nextCursor").value("nextCursor"));
+    }
+
+    @Test
+    void givenSmileAccepted_whenGettingTickets_thenPageIsEncodedAsSmile() throws Exception {
+        TicketDto ticketDto = TicketDto.builder()
+                .id(6L)
+                .description("Printer jams")
+                .status(Status.NEW)
+                .createdDate(LocalDateTime.of(2024, 1, 1, 9, 30))
+                .assignedAgent("Agent001")
+                .build();
+
+        when(ticketService.getTickets(any(TicketFilterDto.class), eq(null), eq(null), eq(EnumSet.of(TicketField.ID, TicketField.STATUS))))
+                .thenReturn(new TicketPageDto(List.of(ticketDto), null));
+        when(ticketService.getTickets(any(TicketFilterDto.class), eq(null), eq(null), eq(null)))
+                .thenReturn(new TicketPageDto(List.of(ticketDto), null));
+
+        byte[] narrowed = mockMvc.perform(get("/tickets")
+                        .param("fields", "id,status")
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] full = mockMvc.perform(get("/tickets")
+                        .accept(SMILE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        ObjectMapper smileMapper = smileHttpMessageConverter.getObjectMapper();
+        Assertions.assertEquals(new TicketPageDto(List.of(TicketDto.builder().id(6L).status(Status.NEW).build()), null),
+                smileMapper.readValue(narrowed, TicketPageDto.class));
+        Assertions.assertEquals(new TicketPageDto(List.of(ticketDto), null), smileMapper.readValue(full, TicketPageDto.class));
+    }
+
+    @Test
+    void givenUnknownField_whenGettingTickets_thenThrowException() throws Exception {
+        mockMvc.perform(get("/tickets")
+                        .param("fields", "id,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(Constants.UNKNOWN_TICKET_FIELD));
+
+        verify(ticketService, never()).getTickets(any(), any(), any(), any());
+    }
+
+    @Test
+    void givenFilterCriteria_whenCountingTickets_thenCountAndExistenceAreReturned() throws Exception {
+        TicketFilterDto filter = TicketFilterDto.builder().status(List.of(Status.NEW)).assignedAgent("Agent001").build();
+        when(ticketService.countTickets(eq(filter))).thenReturn(7L);
+        when(ticketService.ticketsExist(eq(filter))).thenReturn(true);
+
+        mockMvc.perform(get("/tickets/count")
+                        .param("status", "NEW")
+                        .param("assignedAgent", "Agent001"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("7"));
+        mockMvc.perform(get("/tickets/exists")
+                        .param("status", "NEW")
+                        .param("assignedAgent", "Agent001"))
+                .andExpect(status().isOk())
+                .andExpect(content().string("true"));
+    }
+
+    @Test
+    void givenInvalidDateRange_whenCountingTickets_thenThrowException() throws Exception {
+        when(ticketService.countTickets(any(TicketFilterDto.class)))
+                .thenThrow(new InvalidDateRangeException(Constants.START_DATE_CANNOT_BE_AFTER_END_DATE));
+
+        mockMvc.perform(get("/tickets/count")
+                        .param("startDate", LocalDateTime.now().toString())
+                        .param("endDate", LocalDateTime.now().minusDays(1).toString()))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(Constants.START_DATE_CANNOT_BE_AFTER_END_DATE));
+    }
+
+    @Test
+    void givenFormat_whenExportingTickets_thenRowsAreStreamedWithMatchingContentType() throws Exception {
+        String row = "{\"id\":1}\n";
+
+        doAnswer(invocation -> {
+            OutputStream outputStream = invocation.getArgument(2);
+            outputStream.write(row.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(ticketService).exportTickets(any(TicketFilterDto.class), eq(ExportFormat.NDJSON), any(OutputStream.class));
+
+        MvcResult mvcResult = mockMvc.perform(get("/tickets/export")
+                        .param("status", "NEW")
+                        .param("format", "NDJSON"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ExportFormat.NDJSON.contentType()))
+                .andExpect(content().string(row));
+    }
+
+    @Test
+    void givenInvalidDateRange_whenExportingTickets_thenBadRequestIsReturnedBeforeStreaming() throws Exception {
+        doThrow(new InvalidDateRangeException(Constants.START_DATE_CANNOT_BE_AFTER_END_DATE))
+                .when(ticketService).validateFilter(any(TicketFilterDto.class));
+
+        mockMvc.perform(get("/tickets/export")
+                        .param("startDate", LocalDateTime.now().toString())
+                        .param("endDate", LocalDateTime.now().minusDays(1).toString()))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(Constants.START_DATE_CANNOT_BE_AFTER_END_DATE));
+
+        verify(ticketService, never()).exportTickets(any(), any(), any());
     }
 }
@@ -0,0 +1,108 @@
+package com.taskmanager.taskmanager.repository;
+
+import com.taskmanager.taskmanager.model.Agent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Each lookup runs in its own transaction, like separate requests would: read-write cache entries put by a
+ * transaction are only readable by transactions that start after it.
+ */
+@DataJpaTest
+@ActiveProfiles("cache-stats")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AgentRepositoryTest {
+
+    @Autowired
+    private AgentRepository agentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (agentRepository.count() == 0) {
+            agentRepository.saveAll(List.of(
+                    Agent.builder().name("Agent001").build(),
+                    Agent.builder().name("Agent002").build()));
+        }
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @Test
+    void givenWarmQueryCache_whenFindingAgentByName_thenNoStatementIsExecuted() {
+        // Given
+        Agent cold = transactionTemplate.execute(status -> agentRepository.findOneByName("Agent001").orElseThrow());
+        statistics.clear();
+
+        // When
+        Agent warm = transactionTemplate.execute(status -> agentRepository.findOneByName("Agent001").orElseThrow());
+
+        // Then
+        Assertions.assertEquals(cold.getId(), warm.getId());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void givenWarmEntityCache_whenFindingAgentById_thenNoStatementIsExecuted() {
+        // Given
+        Long agentId = transactionTemplate.execute(status -> agentRepository.findOneByName("Agent002").orElseThrow().getId());
+        entityManagerFactory.getCache().evictAll();
+        transactionTemplate.executeWithoutResult(status -> agentRepository.findById(agentId));
+        statistics.clear();
+
+        // When
+        Agent agent = transactionTemplate.execute(status -> agentRepository.findById(agentId).orElseThrow());
+
+        // Then
+        Assertions.assertEquals("Agent002", agent.getName());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void givenWarmNaturalIdCache_whenLoadingAgentByNaturalId_thenNoStatementIsExecuted() {
+        // Given
+        transactionTemplate.executeWithoutResult(status ->
+                entityManager.unwrap(Session.class).bySimpleNaturalId(Agent.class).load("Agent002"));
+        statistics.clear();
+
+        // When
+        Agent agent = transactionTemplate.execute(status ->
+                entityManager.unwrap(Session.class).bySimpleNaturalId(Agent.class).load("Agent002"));
+
+        // Then
+        Assertions.assertEquals("Agent002", agent.getName());
+        Assertions.assertEquals(0, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(1, statistics.getNaturalIdCacheHitCount());
+    }
+}
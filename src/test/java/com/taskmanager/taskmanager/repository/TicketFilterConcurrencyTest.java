@@ -0,0 +1,96 @@
+package com.taskmanager.taskmanager.repository;
+
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.model.Status;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs one filter shape with different values from several threads at once. The criteria queries of a shape are
+ * shared and, with {@code hibernate.criteria.copy_tree=false}, not copied per execution, so values bound by one thread
+ * must never show up in another thread's results. The seed is committed so every thread's own session sees it.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TicketFilterConcurrencyTest {
+
+    private static final int AGENTS = 8;
+    private static final int ROUNDS = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    // agent i has i + 1 NEW tickets, ids far above the sequence and seed data
+    @BeforeAll
+    void seed() {
+        for (int agent = 0; agent < AGENTS; agent++) {
+            jdbcTemplate.update("INSERT INTO agent (id, name) VALUES (?, ?)", 800000 + agent, agentName(agent));
+            for (int ticket = 0; ticket <= agent; ticket++) {
+                jdbcTemplate.update("INSERT INTO ticket (id, description, status, created_date, assigned_agent_id) " +
+                        "VALUES (?, 'Concurrent', 'NEW', CURRENT_TIMESTAMP, ?)", 800000 + agent * 100 + ticket, 800000 + agent);
+            }
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM ticket WHERE id BETWEEN 800000 AND 899999");
+        jdbcTemplate.update("DELETE FROM agent WHERE id BETWEEN 800000 AND 899999");
+    }
+
+    @Test
+    void givenSameShapeWithDifferentAgents_whenFilteringConcurrently_thenEveryThreadGetsItsOwnResults() throws Exception {
+        // Given
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> threads = new ArrayList<>();
+
+        // When
+        try (ExecutorService executor = Executors.newFixedThreadPool(AGENTS)) {
+            for (int agent = 0; agent < AGENTS; agent++) {
+                int own = agent;
+                threads.add(executor.submit(() -> {
+                    start.await();
+                    for (int round = 0; round < ROUNDS; round++) {
+                        List<TicketDto> page = ticketRepository.findPageWithFilters(List.of(Status.NEW), agentName(own),
+                                null, null, null, 100, null);
+                        long count = ticketRepository.countWithFilters(List.of(Status.NEW), agentName(own), null, null);
+
+                        // Then
+                        Assertions.assertEquals(own + 1, page.size());
+                        Assertions.assertTrue(page.stream().allMatch(ticket -> agentName(own).equals(ticket.assignedAgent())));
+                        Assertions.assertEquals(own + 1, count);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> thread : threads) {
+                thread.get(60, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static String agentName(int agent) {
+        return "ConcurrentAgent" + agent;
+    }
+}
@@ -0,0 +1,159 @@
+package com.taskmanager.taskmanager.repository;
+
+import com.taskmanager.taskmanager.model.Status;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs EXPLAIN over the SQL that TicketFilterRepositoryImpl actually sends, captured by a statement inspector while
+ * the repository queries a seeded table, so a dropped or reordered index in db/migration or a changed query shows up
+ * as a failing test instead of a slow listing. H2 plans the statements with their parameters unbound. The seed is
+ * committed and analyzed once, H2 costs every index the same for rows it can't count yet.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.taskmanager.taskmanager.repository.TicketQueryPlanTest$CapturingStatementInspector")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class TicketQueryPlanTest {
+
+    private static final LocalDateTime START_DATE = LocalDateTime.of(2024, 1, 5, 0, 0);
+    private static final LocalDateTime END_DATE = LocalDateTime.of(2024, 1, 6, 0, 0);
+    private static final int PAGE_SIZE = 51;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private AgentRepository agentRepository;
+
+    // ids far above the sequence and seed data so committed rows from other test classes never collide
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("INSERT INTO agent (id, name) SELECT x, 'PlanAgent' || x FROM SYSTEM_RANGE(900000, 900049)");
+        jdbcTemplate.update("""
+                INSERT INTO ticket (id, description, status, created_date, assigned_agent_id)
+                SELECT x, 'Ticket' || x,
+                       CASEWHEN(MOD(x, 4) = 0, 'NEW', CASEWHEN(MOD(x, 4) = 1, 'IN_PROGRESS', CASEWHEN(MOD(x, 4) = 2, 'RESOLVED', 'CLOSED'))),
+                       DATEADD('MINUTE', x, TIMESTAMP '2024-01-01 00:00:00'),
+                       NULLIF(900000 + MOD(x, 51), 900050)
+                FROM SYSTEM_RANGE(900000, 919999)""");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    public void givenNoFilter_whenListingPage_thenCreatedDateIndexProvidesOrder() {
+        ticketRepository.findPageWithFilters(null, null, null, null, null, PAGE_SIZE, null);
+
+        assertThat(explainTicketQuery()).contains("IDX_TICKET_CREATED_DATE").containsIgnoringCase("index sorted");
+    }
+
+    @Test
+    public void givenDateRange_whenListingPage_thenCreatedDateIndexIsUsed() {
+        ticketRepository.findPageWithFilters(null, null, START_DATE, END_DATE, null, PAGE_SIZE, null);
+
+        assertThat(explainTicketQuery()).contains("IDX_TICKET_CREATED_DATE").containsIgnoringCase("index sorted");
+    }
+
+    @Test
+    public void givenStatus_whenListingPage_thenStatusIndexIsUsed() {
+        ticketRepository.findPageWithFilters(List.of(Status.NEW), null, null, null, null, PAGE_SIZE, null);
+
+        assertThat(explainTicketQuery()).contains("IDX_TICKET_STATUS_CREATED_DATE: STATUS = 'NEW'");
+    }
+
+    @Test
+    public void givenStatusAndDateRange_whenListingPage_thenStatusIndexSeeksOnTheDateRange() {
+        ticketRepository.findPageWithFilters(List.of(Status.NEW), null, START_DATE, null, null, PAGE_SIZE, null);
+
+        assertThat(explainTicketQuery()).containsPattern(seek("IDX_TICKET_STATUS_CREATED_DATE"));
+    }
+
+    @Test
+    public void givenAgentAndStatus_whenListingPage_thenLookupStartsFromAgentName() {
+        ticketRepository.findPageWithFilters(List.of(Status.NEW), "PlanAgent900007", null, null, null, PAGE_SIZE, null);
+
+        assertThat(explainTicketQuery()).contains("UK_AGENT_NAME").contains("IDX_TICKET_AGENT_STATUS_CREATED_DATE");
+    }
+
+    @Test
+    public void givenAgentAndDateRange_whenListingPage_thenAgentDateIndexSeeksOnTheDateRange() {
+        ticketRepository.findPageWithFilters(null, "PlanAgent900007", START_DATE, null, null, PAGE_SIZE, null);
+
+        assertThat(explainTicketQuery()).contains("UK_AGENT_NAME").containsPattern(seek("IDX_TICKET_AGENT_CREATED_DATE"));
+    }
+
+    @Test
+    public void givenStatus_whenCounting_thenStatusIndexIsUsed() {
+        ticketRepository.countWithFilters(List.of(Status.NEW), null, null, null);
+
+        assertThat(explainTicketQuery()).contains("IDX_TICKET_STATUS_CREATED_DATE");
+    }
+
+    @Test
+    public void givenAgentName_whenLookingUpAgent_thenUniqueNameIndexIsUsed() {
+        agentRepository.findOneByName("PlanAgent900007");
+
+        assertThat(explain(lastStatement("from agent "))).contains("UK_AGENT_NAME");
+    }
+
+    /**
+     * The index condition of the plan bounds created_date, which also means the index returns the rows in keyset
+     * order for each value of its leading columns. H2 only reports "index sorted" for an index that starts with the
+     * order columns.
+     */
+    private static String seek(String index) {
+        return index + ": [^*]*CREATED_DATE >= \\?";
+    }
+
+    private String explainTicketQuery() {
+        return explain(lastStatement("from ticket "));
+    }
+
+    private static String lastStatement(String fragment) {
+        List<String> statements = CapturingStatementInspector.STATEMENTS;
+        for (int i = statements.size() - 1; i >= 0; i--) {
+            if (statements.get(i).startsWith("select") && statements.get(i).contains(fragment)) {
+                return statements.get(i);
+            }
+        }
+        throw new AssertionError("No statement " + fragment + " among " + statements);
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+                plan -> plan.next() ? plan.getString(1) : null);
+    }
+
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -1,23 +1,44 @@
 package com.taskmanager.taskmanager.repository;
 
+import com.taskmanager.taskmanager.dto.TicketCountDto;
+import com.taskmanager.taskmanager.dto.TicketCursor;
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.dto.TicketField;
+import com.taskmanager.taskmanager.dto.TicketTextDto;
 import com.taskmanager.taskmanager.model.Status;
 import com.taskmanager.taskmanager.model.Ticket;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.context.jdbc.Sql;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Sql("/filterTestData.sql")
 public class TicketRepositoryTest {
 
     @Autowired
     private TicketRepository ticketRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     public void givenNoFilters_whenGettingTickets_thenAllTicketsAreReturned() {
         // When
@@ -98,4 +119,307 @@ public class TicketRepositoryTest {
         Assertions.assertEquals(2, tickets.size());
         Assertions.assertTrue(tickets.stream().allMatch(ticket -> ticket.getStatus().equals(status) && ticket.getAssignedAgent().getName().equals(agentName)));
     }
+
+    @Test
+    void givenPageSize_whenPagingThroughTickets_thenEveryTicketIsReturnedOnceInKeysetOrder() {
+        // Given
+        int pageSize = 2;
+        List<Long> seenIds = new ArrayList<>();
+        TicketCursor cursor = null;
+
+        // When
+        List<TicketDto> page;
+        do {
+            page = ticketRepository.findPageWithFilters(null, null, null, null, cursor, pageSize, null);
+            page.forEach(ticket -> seenIds.add(ticket.id()));
+            if (!page.isEmpty()) {
+                TicketDto last = page.get(page.size() - 1);
+                cursor = new TicketCursor(last.createdDate(), last.id());
+            }
+        } while (page.size() == pageSize);
+
+        // Then
+        Assertions.assertEquals(List.of(1L, 5L, 2L, 3L, 4L), seenIds);
+    }
+
+    @Test
+    void givenStatusAndCursor_whenGettingPage_thenOnlyMatchingTicketsAfterCursorAreReturned() {
+        // Given
+        TicketDto first = ticketRepository.findPageWithFilters(List.of(Status.NEW), null, null, null, null, 1, null).get(0);
+
+        // When
+        List<TicketDto> tickets = ticketRepository.findPageWithFilters(List.of(Status.NEW), null, null, null,
+                new TicketCursor(first.createdDate(), first.id()), 10, null);
+
+        // Then
+        Assertions.assertEquals(1, tickets.size());
+        Assertions.assertEquals(3L, tickets.get(0).id());
+    }
+
+    @Test
+    void givenTicketsOfSeveralAgents_whenGettingPage_thenOneStatementPerTableIsExecutedAndNothingIsManaged() {
+        // Given
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        List<TicketDto> tickets = ticketRepository.findPageWithFilters(null, null, null, null, null, 10, null);
+
+        // Then
+        // without a filter archived tickets may match as well
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+        Assertions.assertEquals(5, tickets.size());
+        Assertions.assertEquals(List.of("Agent001", "Agent002", "Agent002"), tickets.stream()
+                .map(TicketDto::assignedAgent).filter(Objects::nonNull).sorted().toList());
+    }
+
+    @Test
+    void givenAgentFilter_whenGettingPage_thenExactlyOneStatementIsExecuted() {
+        // Given
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        List<TicketDto> tickets = ticketRepository.findPageWithFilters(List.of(Status.RESOLVED), "Agent002", null, null, null, 10, null);
+
+        // Then
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(List.of(5L, 4L), tickets.stream().map(TicketDto::id).toList());
+    }
+
+    @Test
+    void givenFields_whenGettingPage_thenOnlyThoseAndTheKeyColumnsAreSelected() {
+        // Given
+        List<TicketDto> full = ticketRepository.findPageWithFilters(List.of(Status.RESOLVED), null, null, null, null, 10, null);
+
+        // When
+        List<TicketDto> narrowed = ticketRepository.findPageWithFilters(List.of(Status.RESOLVED), null, null, null, null, 10,
+                EnumSet.of(TicketField.STATUS));
+
+        // Then
+        Assertions.assertEquals(full.stream().map(TicketDto::id).toList(), narrowed.stream().map(TicketDto::id).toList());
+        for (TicketDto ticket : narrowed) {
+            Assertions.assertEquals(Status.RESOLVED, ticket.status());
+            Assertions.assertNotNull(ticket.createdDate());
+            Assertions.assertNull(ticket.description());
+            Assertions.assertNull(ticket.assignedAgent());
+            Assertions.assertNull(ticket.resolutionSummary());
+            Assertions.assertNull(ticket.version());
+        }
+    }
+
+    @Test
+    void givenFilterShapeExecutedBefore_whenFilteringWithOtherValues_thenTranslatedQueryIsReusedFromPlanCache() {
+        // Given
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        ticketRepository.findWithFilters(List.of(Status.RESOLVED, Status.IN_PROGRESS), "Agent001", null, LocalDateTime.now().minusYears(1));
+        ticketRepository.findPageWithFilters(List.of(Status.RESOLVED), null, null, null, null, 1, null);
+        statistics.clear();
+
+        // When
+        List<Ticket> tickets = ticketRepository.findWithFilters(List.of(Status.IN_PROGRESS, Status.RESOLVED), "Agent002", null, LocalDateTime.now());
+        List<TicketDto> page = ticketRepository.findPageWithFilters(List.of(Status.RESOLVED), null, null, null, null, 10, null);
+
+        // Then
+        Assertions.assertEquals(2, statistics.getQueryPlanCacheHitCount());
+        Assertions.assertEquals(0, statistics.getQueryPlanCacheMissCount());
+        Assertions.assertEquals(Set.of(4L, 5L), tickets.stream().map(Ticket::getId).collect(Collectors.toSet()));
+        Assertions.assertEquals(List.of(5L, 4L), page.stream().map(TicketDto::id).toList());
+    }
+
+    @Test
+    void givenFilters_whenCountingAndCheckingExistence_thenNoTicketIsLoaded() {
+        // Given
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+
+        // When
+        long resolvedOfAgent = ticketRepository.countWithFilters(List.of(Status.RESOLVED), "Agent002", null, null);
+        long createdBefore = ticketRepository.countWithFilters(List.of(Status.NEW, Status.RESOLVED), null, null, LocalDateTime.now().minusDays(1));
+        boolean newOfAgent = ticketRepository.existsWithFilters(List.of(Status.NEW), "Agent001", null, null);
+        boolean inProgressOfAgent = ticketRepository.existsWithFilters(List.of(Status.IN_PROGRESS), "Agent001", null, null);
+
+        // Then
+        Assertions.assertEquals(2, resolvedOfAgent);
+        Assertions.assertEquals(2, createdBefore);
+        Assertions.assertFalse(newOfAgent);
+        Assertions.assertTrue(inProgressOfAgent);
+        Assertions.assertEquals(4, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void givenStatus_whenStreamingTickets_thenMatchingTicketsAreStreamedInCreationOrder() {
+        // Given
+        Status status = Status.RESOLVED;
+
+        // When
+        List<Ticket> tickets;
+        try (Stream<Ticket> stream = ticketRepository.streamWithFilters(List.of(status), null, null, null)) {
+            tickets = stream.toList();
+        }
+
+        // Then
+        Assertions.assertEquals(List.of(5L, 4L), tickets.stream().map(Ticket::getId).toList());
+        Assertions.assertTrue(tickets.stream().allMatch(ticket -> ticket.getAssignedAgent().getName().equals("Agent002")));
+    }
+
+    @Test
+    void givenManyNewTickets_whenSavingInBatches_thenInsertsAreBatchedAndIdsAreAllocatedFromThePool() {
+        // Given
+        int ticketCount = 120;
+        LocalDateTime now = LocalDateTime.now();
+        List<Ticket> tickets = IntStream.range(0, ticketCount)
+                .mapToObj(i -> Ticket.builder().description("Bulk" + i).status(Status.NEW).createdDate(now).build())
+                .toList();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        List<Ticket> savedTickets = ticketRepository.saveAllInBatches(tickets);
+
+        // Then
+        Assertions.assertTrue(savedTickets.stream().allMatch(ticket -> ticket.getId() != null));
+        Assertions.assertEquals(ticketCount, savedTickets.stream().map(Ticket::getId).distinct().count());
+        Assertions.assertEquals(ticketCount, statistics.getEntityInsertCount());
+        // 3 insert batches plus 3 pooled sequence calls instead of 120 single-row round trips
+        Assertions.assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "statements: " + statistics.getPrepareStatementCount());
+        Assertions.assertEquals(5 + ticketCount, ticketRepository.count());
+    }
+
+    @Test
+    void givenNewTicket_whenAssigning_thenOneRowIsUpdatedInOneStatementAndVersionIsBumped() {
+        // Given
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        int updated = ticketRepository.assign(1L, 1L);
+
+        // Then
+        Assertions.assertEquals(1, updated);
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Ticket ticket = ticketRepository.findById(1L).orElseThrow();
+        Assertions.assertEquals(Status.IN_PROGRESS, ticket.getStatus());
+        Assertions.assertEquals("Agent001", ticket.getAssignedAgent().getName());
+        Assertions.assertEquals(1L, ticket.getVersion());
+    }
+
+    @Test
+    void givenAssignedTicket_whenAssigningAgain_thenSecondAssignmentMatchesNoRow() {
+        // When
+        int first = ticketRepository.assign(3L, 1L);
+        int second = ticketRepository.assign(3L, 2L);
+
+        // Then
+        Assertions.assertEquals(1, first);
+        Assertions.assertEquals(0, second);
+        Assertions.assertEquals("Agent001", ticketRepository.findDtoById(3L).orElseThrow().assignedAgent());
+    }
+
+    @Test
+    void givenTicketNotInProgress_whenResolving_thenNoRowIsUpdated() {
+        // When
+        int updated = ticketRepository.resolve(1L);
+
+        // Then
+        Assertions.assertEquals(0, updated);
+        Assertions.assertEquals(Optional.of(Status.NEW), ticketRepository.findStatusById(1L));
+    }
+
+    @Test
+    void givenResolvedTicketWithoutSummary_whenClosing_thenNoRowIsUpdated() {
+        // When
+        int updated = ticketRepository.close(4L, LocalDateTime.now());
+
+        // Then
+        Assertions.assertEquals(0, updated);
+        Assertions.assertEquals(Optional.of(Status.RESOLVED), ticketRepository.findStatusById(4L));
+    }
+
+    @Test
+    void givenResolvedTicketWithWhitespaceOnlySummary_whenClosing_thenNoRowIsUpdated() {
+        // Given
+        ticketRepository.updateDetails(4L, "Ticket004", " \t\r\n");
+
+        // When
+        int updated = ticketRepository.close(4L, LocalDateTime.now());
+
+        // Then
+        Assertions.assertEquals(0, updated);
+        Assertions.assertEquals(Optional.of(Status.RESOLVED), ticketRepository.findStatusById(4L));
+    }
+
+    @Test
+    void givenResolvedTicketWithSummary_whenClosing_thenTicketIsClosed() {
+        // Given
+        ticketRepository.updateDetails(5L, "Ticket005", "summary");
+        LocalDateTime closedDate = LocalDateTime.now().withNano(0);
+
+        // When
+        int updated = ticketRepository.close(5L, closedDate);
+
+        // Then
+        Assertions.assertEquals(1, updated);
+        TicketDto ticket = ticketRepository.findDtoById(5L).orElseThrow();
+        Assertions.assertEquals(Status.CLOSED, ticket.status());
+        Assertions.assertEquals(closedDate, ticket.closedDate());
+        Assertions.assertEquals(0, ticketRepository.updateDetails(5L, "changed", "changed"));
+    }
+
+    @Test
+    void givenTicketsOfSeveralAgents_whenCountingByStatusAndAgent_thenOneRowPerStatusAndAgentIsReturned() {
+        // When
+        List<TicketCountDto> counts = ticketRepository.countByStatusAndAgent();
+
+        // Then
+        Assertions.assertEquals(Set.of(
+                new TicketCountDto(Status.NEW, null, 2),
+                new TicketCountDto(Status.IN_PROGRESS, 1L, 1),
+                new TicketCountDto(Status.RESOLVED, 2L, 2)), new HashSet<>(counts));
+    }
+
+    @Test
+    void givenNewTickets_whenFindingOldestByStatus_thenTheyAreReturnedByCreationDateUpToTheLimit() {
+        // When
+        List<TicketDto> oldest = ticketRepository.findOldestByStatus(Status.NEW, Limit.of(1));
+        List<TicketDto> all = ticketRepository.findOldestByStatus(Status.NEW, Limit.of(10));
+
+        // Then
+        Assertions.assertEquals(List.of(1L), oldest.stream().map(TicketDto::id).toList());
+        Assertions.assertEquals(List.of(1L, 3L), all.stream().map(TicketDto::id).toList());
+    }
+
+    @Test
+    void givenIdsAndStatus_whenFindingDtosByIds_thenOnlyListedTicketsWithMatchingStatusAreReturned() {
+        // When
+        List<TicketDto> tickets = ticketRepository.findDtosByIdsWithFilters(List.of(1L, 2L, 4L, 999L),
+                List.of(Status.NEW, Status.RESOLVED), null, null, null, null);
+
+        // Then
+        Assertions.assertEquals(Set.of(1L, 4L), tickets.stream().map(TicketDto::id).collect(Collectors.toSet()));
+        Assertions.assertEquals("Agent002", tickets.stream().filter(ticket -> ticket.id() == 4L).findFirst().orElseThrow().assignedAgent());
+    }
+
+    @Test
+    void givenIdRange_whenFindingTexts_thenTicketsInRangeAreReturnedInIdOrder() {
+        // When
+        List<TicketTextDto> texts = ticketRepository.findTextsByIdRange(2L, 4L);
+
+        // Then
+        Assertions.assertEquals(Optional.of(5L), ticketRepository.findMaxId());
+        Assertions.assertEquals(List.of(2L, 3L, 4L), texts.stream().map(TicketTextDto::id).toList());
+        Assertions.assertEquals("Ticket002", texts.get(0).description());
+    }
+
+    @Test
+    void givenMissingTicket_whenLookingUpStatusAndDto_thenBothAreEmpty() {
+        Assertions.assertTrue(ticketRepository.findStatusById(999L).isEmpty());
+        Assertions.assertTrue(ticketRepository.findDtoById(999L).isEmpty());
+    }
 }
@@ -0,0 +1,173 @@
+package com.taskmanager.taskmanager.search;
+
+import com.taskmanager.taskmanager.dto.TicketSearchCursor;
+import com.taskmanager.taskmanager.dto.TicketTextDto;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+public class TicketSearchIndexTest {
+
+    private final TicketSearchIndex ticketSearchIndex = new TicketSearchIndex();
+
+    @Test
+    void givenText_whenTokenizing_thenLowerCasedWordsOfAtLeastTwoCharactersAreReturned() {
+        Assertions.assertEquals(List.of("printer", "on", "3rd", "floor", "jams", "again"),
+                TicketSearchIndex.tokenize("Printer on 3rd-floor JAMS, a-g-a-i-n? again!"));
+    }
+
+    @Test
+    void givenIndexedTickets_whenSearching_thenTicketsAreRankedByRelevance() {
+        // Given
+        ticketSearchIndex.index(List.of(
+                new TicketTextDto(1L, "VPN drops every hour", null),
+                new TicketTextDto(2L, "Printer jams", "Replaced the printer drum, printer works"),
+                new TicketTextDto(3L, "Printer offline after VPN update", null),
+                new TicketTextDto(4L, "Laptop battery", null)));
+
+        // When
+        List<Long> printer = ids(ticketSearchIndex.search("printer").after(null, 10));
+        List<Long> printerVpn = ids(ticketSearchIndex.search("PRINTER vpn").after(null, 10));
+
+        // Then
+        Assertions.assertEquals(List.of(2L, 3L), printer);
+        Assertions.assertEquals(3L, printerVpn.get(0));
+        Assertions.assertEquals(List.of(1L, 2L, 3L), printerVpn.stream().sorted().toList());
+        Assertions.assertEquals(0, ticketSearchIndex.search("keyboard").size());
+        Assertions.assertEquals(0, ticketSearchIndex.search("  ").size());
+    }
+
+    @Test
+    void givenManyHits_whenReadingAfterCursor_thenEveryHitIsReturnedOnceInRankOrder() {
+        // Given
+        ticketSearchIndex.index(LongStream.rangeClosed(1, 50)
+                .mapToObj(id -> new TicketTextDto(id, "disk full" + " disk".repeat((int) (id % 4)), null))
+                .toList());
+        TicketSearchIndex.Hits hits = ticketSearchIndex.search("disk");
+
+        // When
+        List<TicketSearchIndex.Hit> all = new ArrayList<>();
+        TicketSearchCursor cursor = null;
+        for (List<TicketSearchIndex.Hit> page = hits.after(null, 7); !page.isEmpty(); page = hits.after(cursor, 7)) {
+            all.addAll(page);
+            TicketSearchIndex.Hit last = page.get(page.size() - 1);
+            cursor = new TicketSearchCursor(last.score(), last.id());
+        }
+
+        // Then
+        Assertions.assertEquals(50, all.size());
+        Assertions.assertEquals(hits.after(null, 50), all);
+        for (int i = 1; i < all.size(); i++) {
+            TicketSearchIndex.Hit previous = all.get(i - 1);
+            Assertions.assertTrue(new TicketSearchCursor(previous.score(), previous.id()).isBefore(all.get(i).score(), all.get(i).id()));
+        }
+    }
+
+    @Test
+    void givenIndexedTicket_whenItsTextIsUpdated_thenOnlyTheNewTextMatches() {
+        // Given
+        ticketSearchIndex.index(List.of(new TicketTextDto(1L, "Monitor flickers", null)));
+
+        // When
+        ticketSearchIndex.index(List.of(new TicketTextDto(1L, "Monitor replaced", "Cable was loose")));
+
+        // Then
+        Assertions.assertEquals(0, ticketSearchIndex.search("flickers").size());
+        Assertions.assertEquals(List.of(1L), ids(ticketSearchIndex.search("cable monitor").after(null, 10)));
+        Assertions.assertEquals(1, ticketSearchIndex.size());
+    }
+
+    @Test
+    void givenChunks_whenRebuilding_thenIndexIsReplacedAndConcurrentWritesAreKept() {
+        // Given
+        ticketSearchIndex.index(List.of(new TicketTextDto(99L, "Stale ticket", null)));
+        List<Supplier<List<TicketTextDto>>> chunks = List.of(
+                () -> List.of(new TicketTextDto(1L, "Mail quota exceeded", null), new TicketTextDto(2L, "Mail bounces", null)),
+                () -> {
+                    // written while the rebuild runs
+                    ticketSearchIndex.index(List.of(new TicketTextDto(4L, "Mail rules lost", null)));
+                    return List.of(new TicketTextDto(3L, "Calendar sync", "Mail profile recreated"));
+                });
+        Executor executor = Runnable::run;
+
+        // When
+        ticketSearchIndex.rebuild(chunks, executor);
+
+        // Then
+        Assertions.assertEquals(List.of(1L, 2L, 3L, 4L), ids(ticketSearchIndex.search("mail").after(null, 10)).stream().sorted().toList());
+        Assertions.assertEquals(0, ticketSearchIndex.search("stale").size());
+        Assertions.assertEquals(4, ticketSearchIndex.size());
+    }
+
+    @Test
+    void givenUpdatedTickets_whenCompacting_thenStalePostingsAreReclaimedAndRankedLikeAFreshIndex() {
+        // Given
+        ticketSearchIndex.index(List.of(
+                new TicketTextDto(3L, "Printer offline after VPN update", null),
+                new TicketTextDto(1L, "VPN drops every hour", null)));
+        for (int i = 0; i < 10; i++) {
+            ticketSearchIndex.index(List.of(new TicketTextDto(2L, "Printer jams " + (10 + i), "Replaced the printer drum")));
+        }
+        TicketSearchIndex fresh = new TicketSearchIndex();
+        fresh.index(List.of(
+                new TicketTextDto(1L, "VPN drops every hour", null),
+                new TicketTextDto(2L, "Printer jams 19", "Replaced the printer drum"),
+                new TicketTextDto(3L, "Printer offline after VPN update", null)));
+        long postings = ticketSearchIndex.postings();
+
+        // When
+        boolean compacted = ticketSearchIndex.compactIfStale(0.25);
+
+        // Then
+        Assertions.assertTrue(compacted);
+        Assertions.assertEquals(0, ticketSearchIndex.stalePostings());
+        Assertions.assertEquals(postings - 9 * 6, ticketSearchIndex.postings());
+        Assertions.assertEquals(fresh.postings(), ticketSearchIndex.postings());
+        // stale postings count as documents containing the term, which skews the weights until they are dropped
+        Assertions.assertEquals(fresh.search("printer vpn").after(null, 10), ticketSearchIndex.search("printer vpn").after(null, 10));
+        Assertions.assertEquals(List.of(2L), ids(ticketSearchIndex.search("19").after(null, 10)));
+        Assertions.assertEquals(0, ticketSearchIndex.search("18").size());
+        Assertions.assertFalse(ticketSearchIndex.compactIfStale(0.25));
+    }
+
+    @Test
+    void givenFewStalePostings_whenCompacting_thenIndexIsKept() {
+        // Given
+        ticketSearchIndex.index(LongStream.rangeClosed(1, 10)
+                .mapToObj(id -> new TicketTextDto(id, "Mail bounces", null))
+                .toList());
+        ticketSearchIndex.index(List.of(new TicketTextDto(1L, "Mail quota", null)));
+
+        // When
+        boolean compacted = ticketSearchIndex.compactIfStale(0.25);
+
+        // Then
+        Assertions.assertFalse(compacted);
+        Assertions.assertEquals(2, ticketSearchIndex.stalePostings());
+    }
+
+    @Test
+    void givenTicketReindexedMoreOftenThanGenerationsLast_whenSearching_thenOnlyTheLatestTextMatches() {
+        // Given
+        ticketSearchIndex.index(List.of(new TicketTextDto(1L, "Original text", null)));
+
+        // When
+        for (int i = 0; i < 70_000; i++) {
+            ticketSearchIndex.index(List.of(new TicketTextDto(1L, "Updated text", null)));
+        }
+
+        // Then
+        Assertions.assertEquals(0, ticketSearchIndex.search("original").size());
+        Assertions.assertEquals(List.of(1L), ids(ticketSearchIndex.search("updated").after(null, 10)));
+        Assertions.assertTrue(ticketSearchIndex.postings() < 2 * 70_000);
+    }
+
+    private static List<Long> ids(List<TicketSearchIndex.Hit> hits) {
+        return hits.stream().map(TicketSearchIndex.Hit::id).toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.taskmanager.taskmanager.service;
+
+import com.taskmanager.taskmanager.dto.TicketDto;
+import com.taskmanager.taskmanager.dto.TicketFilterDto;
+import com.taskmanager.taskmanager.dto.TicketOperationResultDto;
+import com.taskmanager.taskmanager.dto.TicketPageDto;
+import com.taskmanager.taskmanager.exception.InvalidTicketStateException;
+import com.taskmanager.taskmanager.exception.TicketNotFoundException;
+import com.taskmanager.taskmanager.model.Status;
+import com.taskmanager.taskmanager.service.impl.MeteredTicketService;
+import com.taskmanager.taskmanager.service.impl.TicketServiceImpl;
+import com.taskmanager.taskmanager.util.Constants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MeteredTicketServiceTest {
+
+    @Mock
+    private TicketServiceImpl delegate;
+
+    private MeterRegistry meterRegistry;
+
+    private TicketService ticketService;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        ticketService = new MeteredTicketService(delegate, meterRegistry);
+    }
+
+    @Test
+    void givenNewRegistry_whenServiceIsCreated_thenAllMetersAreRegisteredUpFront() {
+        Assertions.assertEquals(18, meterRegistry.find("tickets.operation").timers().size());
+        Assertions.assertEquals(4, meterRegistry.find("tickets.transitions").counters().size());
+        Assertions.assertEquals(11, meterRegistry.find("tickets.failures").counters().size());
+        Assertions.assertNotNull(meterRegistry.find("tickets.filter.results").summary());
+    }
+
+    @Test
+    void givenInProgressTicket_whenTicketIsResolved_thenCallIsTimedAndTransitionIsCounted() {
+        // given
+        TicketDto resolved = TicketDto.builder().id(1L).status(Status.RESOLVED).build();
+        when(delegate.resolveTicket(1L)).thenReturn(resolved);
+
+        // when
+        TicketDto result = ticketService.resolveTicket(1L);
+
+        // then
+        Assertions.assertSame(resolved, result);
+        Assertions.assertEquals(1, meterRegistry.get("tickets.operation").tag("operation", "resolveTicket").timer().count());
+        Assertions.assertEquals(1, meterRegistry.get("tickets.transitions")
+                .tag("from", "IN_PROGRESS").tag("to", "RESOLVED").counter().count());
+    }
+
+    @Test
+    void givenMissingTicket_whenTicketIsClosed_thenFailureIsCountedByExceptionType() {
+        // given
+        when(delegate.closeTicket(1L)).thenThrow(new TicketNotFoundException(Constants.TICKET_NOT_FOUND));
+
+        // when
+        Assertions.assertThrows(TicketNotFoundException.class, () -> ticketService.closeTicket(1L));
+
+        // then
+        Assertions.assertEquals(1, meterRegistry.get("tickets.operation").tag("operation", "closeTicket").timer().count());
+        Assertions.assertEquals(1, meterRegistry.get("tickets.failures").tag("exception", "TicketNotFoundException").counter().count());
+        Assertions.assertEquals(0, meterRegistry.get("tickets.transitions").tag("to", "CLOSED").counter().count());
+    }
+
+    @Test
+    void givenUnexpectedException_whenTicketIsFetched_thenFailureIsCountedAsOther() {
+        // given
+        when(delegate.getTicketById(1L)).thenThrow(new IllegalStateException());
+
+        // when
+        Assertions.assertThrows(IllegalStateException.class, () -> ticketService.getTicketById(1L));
+
+        // then
+        Assertions.assertEquals(1, meterRegistry.get("tickets.failures").tag("exception", "other").counter().count());
+    }
+
+    @Test
+    void givenPartiallyFailedBulkAssignment_whenTicketsAreAssigned_thenOnlySucceededTransitionsAreCounted() {
+        // given
+        List<TicketOperationResultDto> results = List.of(
+                TicketOperationResultDto.succeeded(TicketDto.builder().id(1L).status(Status.IN_PROGRESS).build()),
+                TicketOperationResultDto.failed(2L, new InvalidTicketStateException(Constants.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT).getMessage()),
+                TicketOperationResultDto.succeeded(TicketDto.builder().id(3L).status(Status.IN_PROGRESS).build()));
+        when(delegate.assignTicketsToAgent(List.of(1L, 2L, 3L), 1L)).thenReturn(results);
+
+        // when
+        ticketService.assignTicketsToAgent(List.of(1L, 2L, 3L), 1L);
+
+        // then
+        Assertions.assertEquals(2, meterRegistry.get("tickets.transitions")
+                .tag("from", "NEW").tag("to", "IN_PROGRESS").counter().count());
+    }
+
+    @Test
+    void givenFilter_whenTicketsAreListed_thenResultSizeIsRecorded() {
+        // given
+        TicketFilterDto filter = TicketFilterDto.builder().build();
+        TicketPageDto page = new TicketPageDto(List.of(TicketDto.builder().id(1L).build(), TicketDto.builder().id(2L).build()), null);
+        when(delegate.getTickets(filter, null, null, null)).thenReturn(page);
+
+        // when
+        ticketService.getTickets(filter, null, null, null);
+
+        // then
+        Assertions.assertEquals(1, meterRegistry.get("tickets.filter.results").summary().count());
+        Assertions.assertEquals(2, meterRegistry.get("tickets.filter.results").summary().totalAmount());
+    }
+}
@@ -1,7 +1,23 @@
 package com.taskmanager.taskmanager.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.taskmanager.audit.TicketAuditJournal;
+import com.taskmanager.taskmanager.cache.AgentLoadIndex;
+import com.taskmanager.taskmanager.cache.AgentNameCache;
+import com.taskmanager.taskmanager.cache.TicketCache;
+import com.taskmanager.taskmanager.cache.TicketCounts;
+import com.taskmanager.taskmanager.dto.AgentDto;
+import com.taskmanager.taskmanager.dto.ExportFormat;
+import com.taskmanager.taskmanager.dto.TicketCountDto;
+import com.taskmanager.taskmanager.dto.TicketCursor;
 import com.taskmanager.taskmanager.dto.TicketDto;
 import com.taskmanager.taskmanager.dto.TicketFilterDto;
+import com.taskmanager.taskmanager.dto.TicketOperationResultDto;
+import com.taskmanager.taskmanager.dto.TicketPageDto;
+import com.taskmanager.taskmanager.dto.TicketSearchCursor;
+import com.taskmanager.taskmanager.dto.TicketStatsDto;
+import com.taskmanager.taskmanager.dto.TicketTextDto;
+import com.taskmanager.taskmanager.dto.TicketVersionDto;
 import com.taskmanager.taskmanager.exception.*;
 import com.taskmanager.taskmanager.mapper.AgentMapper;
 import com.taskmanager.taskmanager.mapper.AgentMapperImpl;
@@ -11,22 +27,33 @@ import com.taskmanager.taskmanager.model.Agent;
 import com.taskmanager.taskmanager.model.Status;
 import com.taskmanager.taskmanager.model.Ticket;
 import com.taskmanager.taskmanager.repository.AgentRepository;
+import com.taskmanager.taskmanager.repository.ArchivedTicketRepository;
 import com.taskmanager.taskmanager.repository.TicketRepository;
+import com.taskmanager.taskmanager.search.TicketSearchIndex;
+import com.taskmanager.taskmanager.service.impl.TicketExportWriter;
 import com.taskmanager.taskmanager.service.impl.TicketServiceImpl;
-import jakarta.persistence.EntityNotFoundException;
+import com.taskmanager.taskmanager.util.Constants;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
-import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,17 +65,37 @@ public class TicketServiceTest {
     @Mock
     private TicketRepository ticketRepository;
 
+    @Mock
+    private ArchivedTicketRepository archivedTicketRepository;
+
     @Mock
     private AgentRepository agentRepository;
 
+    @Mock
+    private TicketAuditJournal ticketAuditJournal;
+
     private final AgentMapper agentMapper = new AgentMapperImpl();
 
     private final TicketMapper ticketMapper = new TicketMapperImpl(agentMapper);
 
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private TicketCounts ticketCounts;
+
+    private AgentLoadIndex agentLoadIndex;
+
+    private TicketSearchIndex ticketSearchIndex;
+
     @BeforeEach
     void setup() {
         ReflectionTestUtils.setField(agentMapper, "agentRepository", agentRepository);
-        ticketService = new TicketServiceImpl(ticketRepository, ticketMapper, agentRepository);
+        ReflectionTestUtils.setField(agentMapper, "agentNameCache", new AgentNameCache(100, Duration.ofHours(1), Duration.ofMinutes(1)));
+        ticketCounts = new TicketCounts();
+        agentLoadIndex = new AgentLoadIndex(2);
+        ticketSearchIndex = new TicketSearchIndex();
+        ticketService = new TicketServiceImpl(ticketRepository, ticketMapper, archivedTicketRepository, agentRepository, agentMapper,
+                new TicketExportWriter(objectMapper), ticketCounts, agentLoadIndex, ticketSearchIndex,
+                new TicketCache(100, Duration.ofMinutes(10)), ticketAuditJournal);
     }
 
     @Test
@@ -123,6 +170,53 @@ public class TicketServiceTest {
         Assertions.assertEquals(now, createdTicket.createdDate());
     }
 
+    @Test
+    void givenSameAgentName_whenSeveralTicketsAreCreated_thenAgentIsLookedUpOnce() {
+        //given
+        String agentName = "Agent001";
+        Agent agent = Agent.builder()
+                .id(1L)
+                .name(agentName)
+                .build();
+
+        when(agentRepository.findOneByName(agentName)).thenReturn(Optional.of(agent));
+        long[] nextId = {1L};
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> {
+            Ticket ticket = invocation.getArgument(0);
+            ticket.setId(nextId[0]++);
+            return ticket;
+        });
+
+        //when
+        for (int i = 0; i < 3; i++) {
+            TicketDto createdTicket = ticketService.createTicket(TicketDto.builder()
+                    .description("description")
+                    .assignedAgent(agentName)
+                    .build());
+            Assertions.assertEquals(agentName, createdTicket.assignedAgent());
+        }
+
+        //then
+        verify(agentRepository, times(1)).findOneByName(agentName);
+    }
+
+    @Test
+    void givenUnknownAgentName_whenTicketsAreCreatedRepeatedly_thenUnknownNameIsLookedUpOnce() {
+        //given
+        String agentName = "Unknown";
+        TicketDto ticketDto = TicketDto.builder()
+                .description("description")
+                .assignedAgent(agentName)
+                .build();
+
+        when(agentRepository.findOneByName(agentName)).thenReturn(Optional.empty());
+
+        //then
+        Assertions.assertThrows(AgentNotFoundException.class, () -> ticketService.createTicket(ticketDto));
+        Assertions.assertThrows(AgentNotFoundException.class, () -> ticketService.createTicket(ticketDto));
+        verify(agentRepository, times(1)).findOneByName(agentName);
+    }
+
     @Test
     void givenTicketDetailsWithoutDescription_whenTicketIsCreated_thenExceptionIsThrown() {
 
@@ -138,52 +232,75 @@ public class TicketServiceTest {
     }
 
     @Test
-    void givenNewTicket_whenAssigningAgent_thenTicketIsInProgress() {
+    void givenTicketDetailsList_whenTicketsAreCreated_thenAllAreSavedInOneBatchCallAsNew() {
+        //given
+        List<TicketDto> ticketDtos = List.of(
+                TicketDto.builder().description("first").build(),
+                TicketDto.builder().description("second").build()
+        );
 
-        Long agentId = 1L;
-        Long ticketId = 1L;
+        when(ticketRepository.saveAllInBatches(anyList())).thenAnswer(invocation -> {
+            List<Ticket> tickets = invocation.getArgument(0);
+            long id = 1L;
+            for (Ticket ticket : tickets) {
+                ticket.setId(id++);
+            }
+            return tickets;
+        });
 
-        String agentName = "Agent001";
-        String description = "description";
+        //when
+        List<TicketDto> createdTickets = ticketService.createTickets(ticketDtos);
 
-        LocalDateTime now = LocalDateTime.now();
+        //then
+        verify(ticketRepository, times(1)).saveAllInBatches(anyList());
+        verify(ticketRepository, never()).save(any(Ticket.class));
+        Assertions.assertEquals(List.of(1L, 2L), createdTickets.stream().map(TicketDto::id).toList());
+        Assertions.assertTrue(createdTickets.stream().allMatch(ticket -> ticket.status() == Status.NEW && ticket.createdDate() != null));
+    }
 
+    @Test
+    void givenOneTicketWithoutDescription_whenTicketsAreCreated_thenNothingIsSaved() {
+        List<TicketDto> ticketDtos = List.of(
+                TicketDto.builder().description("first").build(),
+                TicketDto.builder().build()
+        );
 
-        Agent agentByReference = Agent.builder()
-                .id(agentId)
-                .build();
+        Assertions.assertThrows(MissingDescriptionException.class, () -> ticketService.createTickets(ticketDtos));
+        verify(ticketRepository, never()).saveAllInBatches(anyList());
+    }
 
+    @Test
+    void givenNewTicket_whenAssigningAgent_thenTicketIsAssignedWithOneGuardedUpdate() {
+        //given
+        Long agentId = 1L;
+        Long ticketId = 1L;
+        String agentName = "Agent001";
 
         Agent agent = Agent.builder()
                 .name(agentName)
                 .id(agentId)
                 .build();
 
-        Ticket ticket = Ticket.builder()
-                .id(ticketId)
-                .description(description)
-                .status(Status.NEW)
-                .createdDate(LocalDateTime.now())
-                .build();
-
-        Ticket savedTicket = Ticket.builder()
+        TicketDto assignedTicket = TicketDto.builder()
                 .id(ticketId)
-                .description(description)
-                .assignedAgent(agent)
+                .description("description")
+                .assignedAgent(agentName)
                 .status(Status.IN_PROGRESS)
-                .createdDate(now)
+                .createdDate(LocalDateTime.now())
                 .build();
 
-        when(agentRepository.getReferenceById(agentId)).thenReturn(agentByReference);
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
-
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(savedTicket);
+        when(agentRepository.findById(agentId)).thenReturn(Optional.of(agent));
+        when(ticketRepository.assign(ticketId, agentId)).thenReturn(1);
+        when(ticketRepository.findDtoById(ticketId)).thenReturn(Optional.of(assignedTicket));
 
+        //when
         TicketDto actualTicketDto = ticketService.assignTicketToAgent(ticketId, agentId);
 
-        Assertions.assertEquals(agentName, actualTicketDto.assignedAgent());
-        Assertions.assertEquals(Status.IN_PROGRESS, actualTicketDto.status());
-        Assertions.assertEquals(ticketId, actualTicketDto.id());
+        //then
+        Assertions.assertEquals(assignedTicket, actualTicketDto);
+        verify(ticketRepository, never()).findById(any());
+        verify(ticketRepository, never()).findStatusById(any());
+        verify(ticketRepository, never()).save(any(Ticket.class));
     }
 
     @Test
@@ -191,19 +308,17 @@ public class TicketServiceTest {
         //given
         Long nonExistingTicketId = 999L;
         Long agentId = 1L;
-
-
-        Agent agentByReference = Agent.builder()
+        Agent agent = Agent.builder()
                 .id(agentId)
+                .name("Agent001")
                 .build();
 
-        Ticket mockedTicketByReference = Mockito.mock(Ticket.class);
-
-        when(ticketRepository.findById(nonExistingTicketId)).thenReturn(Optional.empty());
+        when(agentRepository.findById(agentId)).thenReturn(Optional.of(agent));
+        when(ticketRepository.assign(nonExistingTicketId, agentId)).thenReturn(0);
+        when(ticketRepository.findStatusById(nonExistingTicketId)).thenReturn(Optional.empty());
 
         //then
         Assertions.assertThrows(TicketNotFoundException.class, () -> ticketService.assignTicketToAgent(nonExistingTicketId, agentId));
-
     }
 
     @Test
@@ -212,26 +327,12 @@ public class TicketServiceTest {
         Long ticketId = 1L;
         Long nonExistingAgentId = 999L;
 
-
-        Agent agentByReference = Agent.builder()
-                .id(nonExistingAgentId)
-                .build();
-
-        Ticket ticketByReference = Ticket.builder()
-                .id(ticketId)
-                .description("description")
-                .status(Status.NEW)
-                .build();
-
         //when
-        when(agentRepository.getReferenceById(nonExistingAgentId)).thenReturn(agentByReference);
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticketByReference));
-
-        when(ticketRepository.save(any(Ticket.class))).thenThrow(new EntityNotFoundException());
+        when(agentRepository.findById(nonExistingAgentId)).thenReturn(Optional.empty());
 
         //then
         Assertions.assertThrows(AgentNotFoundException.class, () -> ticketService.assignTicketToAgent(ticketId, nonExistingAgentId));
-
+        verify(ticketRepository, never()).assign(any(), any());
     }
 
     @Test
@@ -239,64 +340,216 @@ public class TicketServiceTest {
         //given
         Long ticketId = 1L;
         Long agentId = 1L;
-        String description = "description";
-        LocalDateTime now = LocalDateTime.now();
-
-        Ticket ticket = Ticket.builder()
-                .id(ticketId)
-                .description(description)
-                .status(Status.IN_PROGRESS)
-                .createdDate(now)
+        Agent agent = Agent.builder()
+                .id(agentId)
+                .name("Agent001")
                 .build();
 
         //when
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(agentRepository.findById(agentId)).thenReturn(Optional.of(agent));
+        when(ticketRepository.assign(ticketId, agentId)).thenReturn(0);
+        when(ticketRepository.findStatusById(ticketId)).thenReturn(Optional.of(Status.IN_PROGRESS));
 
         //then
-        Assertions.assertThrows(InvalidTicketStateException.class,
+        RuntimeException ex = Assertions.assertThrows(InvalidTicketStateException.class,
                 () -> ticketService.assignTicketToAgent(ticketId, agentId));
+        Assertions.assertEquals(Constants.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT, ex.getMessage());
+        verify(ticketRepository, never()).findDtoById(any());
     }
 
     @Test
-    void givenTicketInProgress_whenResolving_thenStatusIsResolved() {
-        Long ticketId = 1L;
-        String description = "description";
-        LocalDateTime now = LocalDateTime.now();
-
+    void givenTicketsInMixedStates_whenAssigningInBulk_thenOnlyNewTicketsAreAssignedAndOthersReported() {
+        //given
+        Long agentId = 1L;
         Agent agent = Agent.builder()
-                .id(1L)
+                .id(agentId)
                 .name("Agent001")
                 .build();
 
-        Ticket ticket = Ticket.builder()
+        Ticket newTicket = Ticket.builder().id(1L).description("description").status(Status.NEW).build();
+        Ticket inProgressTicket = Ticket.builder().id(2L).description("description").status(Status.IN_PROGRESS).build();
+        List<Long> ticketIds = List.of(1L, 2L, 999L);
+
+        when(agentRepository.findById(agentId)).thenReturn(Optional.of(agent));
+        when(ticketRepository.findAllById(ticketIds)).thenReturn(List.of(newTicket, inProgressTicket));
+        ticketCounts.replace(List.of(new TicketCountDto(Status.NEW, null, 1), new TicketCountDto(Status.IN_PROGRESS, null, 1)));
+
+        //when
+        List<TicketOperationResultDto> results = ticketService.assignTicketsToAgent(ticketIds, agentId);
+
+        //then
+        verify(ticketRepository, times(1)).findAllById(ticketIds);
+        verify(ticketRepository, times(1)).saveAll(List.of(newTicket));
+        verify(ticketRepository, never()).findById(any());
+        Assertions.assertEquals(List.of(
+                TicketOperationResultDto.succeeded(ticketMapper.toDto(newTicket)),
+                TicketOperationResultDto.failed(2L, Constants.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT),
+                TicketOperationResultDto.failed(999L, Constants.TICKET_NOT_FOUND)
+        ), results);
+        Assertions.assertEquals(Status.IN_PROGRESS, newTicket.getStatus());
+        Assertions.assertEquals(agent, newTicket.getAssignedAgent());
+        TicketStatsDto stats = ticketService.getTicketStats();
+        Assertions.assertEquals(0, stats.totals().get(Status.NEW));
+        Assertions.assertEquals(2, stats.totals().get(Status.IN_PROGRESS));
+        Assertions.assertEquals(1, stats.agents().get(agentId).get(Status.IN_PROGRESS));
+    }
+
+    @Test
+    void givenNonExistingAgent_whenAssigningInBulk_thenThrowException() {
+        Long nonExistingAgentId = 999L;
+
+        when(agentRepository.findById(nonExistingAgentId)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(AgentNotFoundException.class,
+                () -> ticketService.assignTicketsToAgent(List.of(1L), nonExistingAgentId));
+        verify(ticketRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void givenAgentsWithDifferentLoads_whenAutoAssigning_thenLeastLoadedAgentGetsTheTicket() {
+        //given
+        Long ticketId = 1L;
+        agentLoadIndex.register(List.of(new AgentDto(1L, "Agent001"), new AgentDto(2L, "Agent002")), Map.of(1L, 1L));
+        TicketDto assignedTicket = TicketDto.builder()
                 .id(ticketId)
-                .description(description)
+                .assignedAgent("Agent002")
                 .status(Status.IN_PROGRESS)
-                .createdDate(now)
-                .assignedAgent(agent)
                 .build();
 
-        Ticket savedTicket = Ticket.builder()
+        when(ticketRepository.assign(ticketId, 2L)).thenReturn(1);
+        when(ticketRepository.findDtoById(ticketId)).thenReturn(Optional.of(assignedTicket));
+
+        //when
+        TicketDto actualTicketDto = ticketService.autoAssignTicket(ticketId);
+
+        //then
+        Assertions.assertEquals(assignedTicket, actualTicketDto);
+        Assertions.assertEquals(Map.of(1L, 1, 2L, 1), agentLoadIndex.loads());
+        Assertions.assertEquals(1, ticketService.getTicketStats().agents().get(2L).get(Status.IN_PROGRESS));
+        verify(agentRepository, never()).findById(any());
+    }
+
+    @Test
+    void givenEveryAgentAtCapacity_whenAutoAssigning_thenThrowException() {
+        //given
+        agentLoadIndex.register(List.of(new AgentDto(1L, "Agent001")), Map.of(1L, 2L));
+
+        //then
+        Assertions.assertThrows(NoAvailableAgentException.class, () -> ticketService.autoAssignTicket(1L));
+        verify(ticketRepository, never()).assign(any(), any());
+    }
+
+    @Test
+    void givenBacklogLargerThanCapacity_whenAutoAssigningInBulk_thenOldestTicketsAreSpreadUntilAgentsAreFull() {
+        //given
+        agentLoadIndex.register(List.of(new AgentDto(1L, "Agent001"), new AgentDto(2L, "Agent002")), Map.of());
+        List<TicketDto> backlog = List.of(
+                TicketDto.builder().id(1L).status(Status.NEW).build(),
+                TicketDto.builder().id(2L).status(Status.NEW).build(),
+                TicketDto.builder().id(3L).status(Status.NEW).build(),
+                TicketDto.builder().id(4L).status(Status.NEW).build(),
+                TicketDto.builder().id(5L).status(Status.NEW).build(),
+                TicketDto.builder().id(6L).status(Status.NEW).build());
+
+        when(ticketRepository.findOldestByStatus(Status.NEW, Limit.of(10))).thenReturn(backlog);
+        when(ticketRepository.assign(eq(1L), any())).thenReturn(1);
+        when(ticketRepository.assign(eq(2L), any())).thenReturn(0);
+        when(ticketRepository.assign(eq(3L), any())).thenReturn(1);
+        when(ticketRepository.assign(eq(4L), any())).thenReturn(1);
+        when(ticketRepository.assign(eq(5L), any())).thenReturn(1);
+
+        //when
+        List<TicketOperationResultDto> results = ticketService.autoAssignTickets(10);
+
+        //then
+        Assertions.assertEquals(5, results.size());
+        Assertions.assertEquals("Agent001", results.get(0).ticket().assignedAgent());
+        Assertions.assertEquals(Status.IN_PROGRESS, results.get(0).ticket().status());
+        Assertions.assertEquals(TicketOperationResultDto.failed(2L, Constants.ONLY_NEW_TICKETS_CAN_BE_ASSIGNED_TO_AN_AGENT), results.get(1));
+        Assertions.assertEquals("Agent002", results.get(2).ticket().assignedAgent());
+        Assertions.assertEquals("Agent001", results.get(3).ticket().assignedAgent());
+        Assertions.assertEquals("Agent002", results.get(4).ticket().assignedAgent());
+        Assertions.assertEquals(Map.of(1L, 2, 2L, 2), agentLoadIndex.loads());
+        Assertions.assertEquals(4, ticketService.getTicketStats().totals().get(Status.IN_PROGRESS));
+        verify(ticketRepository, never()).assign(eq(6L), any());
+    }
+
+    @Test
+    void givenTicketsInMixedStates_whenResolvingInBulk_thenOnlyInProgressTicketsAreResolved() {
+        //given
+        Ticket inProgressTicket = Ticket.builder().id(1L).description("description").status(Status.IN_PROGRESS).build();
+        Ticket newTicket = Ticket.builder().id(2L).description("description").status(Status.NEW).build();
+        List<Long> ticketIds = List.of(2L, 1L, 1L);
+
+        when(ticketRepository.findAllById(ticketIds)).thenReturn(List.of(inProgressTicket, newTicket));
+
+        //when
+        List<TicketOperationResultDto> results = ticketService.resolveTickets(ticketIds);
+
+        //then
+        verify(ticketRepository, times(1)).saveAll(List.of(inProgressTicket));
+        Assertions.assertEquals(2, results.size());
+        Assertions.assertEquals(TicketOperationResultDto.failed(2L, Constants.ONLY_IN_PROGRESS_TICKETS_CAN_BE_RESOLVED), results.get(0));
+        Assertions.assertTrue(results.get(1).success());
+        Assertions.assertEquals(Status.RESOLVED, results.get(1).ticket().status());
+        verify(ticketAuditJournal, times(1)).append(1L, Status.IN_PROGRESS, Status.RESOLVED, null);
+        verify(ticketAuditJournal, never()).append(eq(2L), any(), any(), any());
+    }
+
+    @Test
+    void givenResolvedTicketsWithAndWithoutSummary_whenClosingInBulk_thenOnlySummarisedTicketsAreClosed() {
+        //given
+        Ticket withSummary = Ticket.builder().id(1L).description("description").status(Status.RESOLVED)
+                .resolutionSummary("summary").build();
+        Ticket withoutSummary = Ticket.builder().id(2L).description("description").status(Status.RESOLVED).build();
+        List<Long> ticketIds = List.of(1L, 2L);
+
+        when(ticketRepository.findAllById(ticketIds)).thenReturn(List.of(withSummary, withoutSummary));
+
+        //when
+        List<TicketOperationResultDto> results = ticketService.closeTickets(ticketIds);
+
+        //then
+        verify(ticketRepository, times(1)).saveAll(List.of(withSummary));
+        Assertions.assertTrue(results.get(0).success());
+        Assertions.assertEquals(Status.CLOSED, results.get(0).ticket().status());
+        Assertions.assertNotNull(results.get(0).ticket().closedDate());
+        Assertions.assertEquals(TicketOperationResultDto.failed(2L, Constants.MISSING_RESOLUTION_SUMMARY_EXCEPTION), results.get(1));
+    }
+
+    @Test
+    void givenTicketInProgress_whenResolving_thenStatusIsResolved() {
+        Long ticketId = 1L;
+
+        TicketDto resolvedTicket = TicketDto.builder()
                 .id(ticketId)
-                .description(description)
+                .description("description")
                 .status(Status.RESOLVED)
-                .createdDate(now)
-                .assignedAgent(agent)
+                .createdDate(LocalDateTime.now())
+                .assignedAgent("Agent001")
                 .build();
 
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.ofNullable(ticket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(savedTicket);
+        when(ticketRepository.resolve(ticketId)).thenReturn(1);
+        when(ticketRepository.findDtoById(ticketId)).thenReturn(Optional.of(resolvedTicket));
+        when(agentRepository.findOneByName("Agent001")).thenReturn(Optional.of(Agent.builder().id(1L).name("Agent001").build()));
+        ticketCounts.replace(List.of(new TicketCountDto(Status.IN_PROGRESS, 1L, 1)));
 
         TicketDto actualTicketDto = ticketService.resolveTicket(ticketId);
 
         Assertions.assertEquals(Status.RESOLVED, actualTicketDto.status());
+        verify(ticketRepository, never()).findStatusById(any());
+        TicketStatsDto stats = ticketService.getTicketStats();
+        Assertions.assertEquals(0, stats.agents().get(1L).get(Status.IN_PROGRESS));
+        Assertions.assertEquals(1, stats.agents().get(1L).get(Status.RESOLVED));
+        verify(ticketAuditJournal).append(ticketId, Status.IN_PROGRESS, Status.RESOLVED, 1L);
     }
 
     @Test
     void givenNonExistingTicket_whenResolving_thenThrowException() {
         Long nonExistingTicketId = 999L;
 
-        when(ticketRepository.findById(nonExistingTicketId)).thenReturn(Optional.empty());
+        when(ticketRepository.resolve(nonExistingTicketId)).thenReturn(0);
+        when(ticketRepository.findStatusById(nonExistingTicketId)).thenReturn(Optional.empty());
 
         Assertions.assertThrows(TicketNotFoundException.class, () -> ticketService.resolveTicket(nonExistingTicketId));
     }
@@ -304,56 +557,33 @@ public class TicketServiceTest {
     @Test
     void givenTicketNotInProgress_whenResolving_thenThrowException() {
         Long ticketId = 1L;
-        String description = "description";
-        LocalDateTime now = LocalDateTime.now();
-
-        Ticket ticket = Ticket.builder()
-                .id(ticketId)
-                .description(description)
-                .status(Status.NEW)
-                .createdDate(now)
-                .build();
 
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.resolve(ticketId)).thenReturn(0);
+        when(ticketRepository.findStatusById(ticketId)).thenReturn(Optional.of(Status.NEW));
 
         RuntimeException ex = Assertions.assertThrows(InvalidTicketStateException.class, () -> ticketService.resolveTicket(ticketId));
         Assertions.assertEquals("Only IN_PROGRESS tickets can be resolved.", ex.getMessage());
+        Assertions.assertEquals(0, ticketService.getTicketStats().totals().get(Status.RESOLVED));
     }
 
     @Test
     void givenTicketIsResolvedWithSummary_whenClosingTicket_thenStatusIsClosed() {
         Long ticketId = 1L;
-        String description = "description";
-        String resolutionSummary = "summary";
-        LocalDateTime beforeTwoDays = LocalDateTime.now().minusDays(2);
         LocalDateTime now = LocalDateTime.now();
 
-        Agent agent = Agent.builder()
-                .id(1L)
-                .name("Agent001")
-                .build();
-
-        Ticket ticket = Ticket.builder()
+        TicketDto closedTicket = TicketDto.builder()
                 .id(ticketId)
-                .description(description)
-                .status(Status.RESOLVED)
-                .resolutionSummary(resolutionSummary)
-                .createdDate(beforeTwoDays)
-                .assignedAgent(agent)
-                .build();
-
-        Ticket savedTicket = Ticket.builder()
-                .id(ticketId)
-                .description(description)
+                .description("description")
                 .status(Status.CLOSED)
-                .resolutionSummary(resolutionSummary)
-                .createdDate(beforeTwoDays)
+                .resolutionSummary("summary")
+                .createdDate(now.minusDays(2))
                 .closedDate(now)
-                .assignedAgent(agent)
+                .assignedAgent("Agent001")
                 .build();
 
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.ofNullable(ticket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(savedTicket);
+        when(ticketRepository.close(eq(ticketId), any(LocalDateTime.class))).thenReturn(1);
+        when(ticketRepository.findDtoById(ticketId)).thenReturn(Optional.of(closedTicket));
+        when(agentRepository.findOneByName("Agent001")).thenReturn(Optional.of(Agent.builder().id(1L).name("Agent001").build()));
 
         TicketDto actualTicketDto = ticketService.closeTicket(ticketId);
 
@@ -365,7 +595,8 @@ public class TicketServiceTest {
     void givenNonExistingTicket_whenClosingTicket_thenThrowException() {
         Long nonExistingTicketId = 999L;
 
-        when(ticketRepository.findById(nonExistingTicketId)).thenReturn(Optional.empty());
+        when(ticketRepository.close(eq(nonExistingTicketId), any(LocalDateTime.class))).thenReturn(0);
+        when(ticketRepository.findStatusById(nonExistingTicketId)).thenReturn(Optional.empty());
 
         Assertions.assertThrows(TicketNotFoundException.class, () -> ticketService.closeTicket(nonExistingTicketId));
     }
@@ -373,17 +604,9 @@ public class TicketServiceTest {
     @Test
     void givenTicketNotResolved_whenClosingTicket_thenThrowException() {
         Long ticketId = 1L;
-        String description = "description";
-        LocalDateTime now = LocalDateTime.now();
-
-        Ticket ticket = Ticket.builder()
-                .id(ticketId)
-                .description(description)
-                .status(Status.IN_PROGRESS)
-                .createdDate(now)
-                .build();
 
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.ofNullable(ticket));
+        when(ticketRepository.close(eq(ticketId), any(LocalDateTime.class))).thenReturn(0);
+        when(ticketRepository.findStatusById(ticketId)).thenReturn(Optional.of(Status.IN_PROGRESS));
 
         RuntimeException ex = Assertions.assertThrows(InvalidTicketStateException.class, () -> ticketService.closeTicket(ticketId));
         Assertions.assertEquals("Only RESOLVED tickets can be closed!", ex.getMessage());
@@ -392,77 +615,54 @@ public class TicketServiceTest {
     @Test
     void givenResolvedTicketWithoutSummary_whenClosingTicket_thenThrowException() {
         Long ticketId = 1L;
-        String description = "description";
-        LocalDateTime beforeTwoDays = LocalDateTime.now().minusDays(2);
-
-        Ticket ticket = Ticket.builder()
-                .id(ticketId)
-                .description(description)
-                .status(Status.RESOLVED)
-                .createdDate(beforeTwoDays)
-                .build();
 
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.ofNullable(ticket));
+        when(ticketRepository.close(eq(ticketId), any(LocalDateTime.class))).thenReturn(0);
+        when(ticketRepository.findStatusById(ticketId)).thenReturn(Optional.of(Status.RESOLVED));
 
-        RuntimeException ex = Assertions.assertThrows(RuntimeException.class, () -> ticketService.closeTicket(ticketId));
+        RuntimeException ex = Assertions.assertThrows(MissingResolutionSummaryException.class, () -> ticketService.closeTicket(ticketId));
         Assertions.assertEquals("Resolution summary is missing!", ex.getMessage());
     }
 
     @Test
     void givenTicketDescriptionAndResolutionSummary_whenUpdatingTicket_thenDescriptionAndResolutionSummaryAreUpdated() {
         Long ticketId = 1L;
-        String description = "description";
-        String resolutionSummary = "summary";
         String updatedDescription = "updated description";
         String updatedResolutionSummary = "updated summary";
         LocalDateTime beforeTwoDays = LocalDateTime.now().minusDays(2);
-        LocalDateTime now = LocalDateTime.now();
-
-        Agent agent = Agent.builder()
-                .id(1L)
-                .name("Agent001")
-                .build();
 
         TicketDto ticketDto = TicketDto.builder()
                 .id(ticketId)
-                .description(description)
-                .status(Status.RESOLVED)
-                .resolutionSummary(resolutionSummary)
-                .createdDate(beforeTwoDays)
-                .build();
-
-        Ticket ticket = Ticket.builder()
-                .id(ticketId)
-                .description(description)
+                .description(updatedDescription)
                 .status(Status.RESOLVED)
-                .resolutionSummary(resolutionSummary)
+                .resolutionSummary(updatedResolutionSummary)
                 .createdDate(beforeTwoDays)
-                .assignedAgent(agent)
                 .build();
 
-        Ticket savedTicket = Ticket.builder()
+        TicketDto updatedTicket = TicketDto.builder()
                 .id(ticketId)
                 .description(updatedDescription)
                 .status(Status.RESOLVED)
                 .resolutionSummary(updatedResolutionSummary)
                 .createdDate(beforeTwoDays)
-                .assignedAgent(agent)
+                .assignedAgent("Agent001")
                 .build();
 
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.ofNullable(ticket));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(savedTicket);
+        when(ticketRepository.updateDetails(ticketId, updatedDescription, updatedResolutionSummary)).thenReturn(1);
+        when(ticketRepository.findDtoById(ticketId)).thenReturn(Optional.of(updatedTicket));
 
         TicketDto actualTicketDto = ticketService.updateTicket(ticketId, ticketDto);
 
         Assertions.assertEquals(updatedDescription, actualTicketDto.description());
         Assertions.assertEquals(updatedResolutionSummary, actualTicketDto.resolutionSummary());
+        Assertions.assertEquals(1, ticketSearchIndex.search("updated summary").size());
     }
 
     @Test
     void givenNonExistingTicket_whenUpdatingTicket_thenThrowException() {
         Long nonExistingTicketId = 999L;
 
-        when(ticketRepository.findById(nonExistingTicketId)).thenReturn(Optional.empty());
+        when(ticketRepository.updateDetails(nonExistingTicketId, null, null)).thenReturn(0);
+        when(ticketRepository.findStatusById(nonExistingTicketId)).thenReturn(Optional.empty());
 
         Assertions.assertThrows(TicketNotFoundException.class, () -> ticketService.updateTicket(nonExistingTicketId, TicketDto.builder().build()));
     }
@@ -471,39 +671,19 @@ public class TicketServiceTest {
     void givenTicketIsClosed_whenUpdatingTicket_thenThrowException() {
         Long closedTicketId = 2L;
 
-        Long ticketId = 1L;
-        String description = "description";
-        String resolutionSummary = "summary";
-        LocalDateTime beforeTwoDays = LocalDateTime.now().minusDays(2);
-
-        Agent agent = Agent.builder()
-                .id(1L)
-                .name("Agent001")
-                .build();
-
         TicketDto ticketDto = TicketDto.builder()
-                .id(ticketId)
-                .description(description)
-                .status(Status.CLOSED)
-                .resolutionSummary(resolutionSummary)
-                .createdDate(beforeTwoDays)
-                .build();
-
-
-        Ticket ticket = Ticket.builder()
-                .id(ticketId)
-                .description(description)
-                .status(Status.CLOSED)
-                .resolutionSummary(resolutionSummary)
-                .createdDate(beforeTwoDays)
-                .assignedAgent(agent)
+                .id(closedTicketId)
+                .description("description")
+                .resolutionSummary("summary")
                 .build();
 
-        when(ticketRepository.findById(closedTicketId)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.updateDetails(closedTicketId, "description", "summary")).thenReturn(0);
+        when(ticketRepository.findStatusById(closedTicketId)).thenReturn(Optional.of(Status.CLOSED));
 
-        Assertions.assertThrows(InvalidTicketStateException.class,
+        RuntimeException ex = Assertions.assertThrows(InvalidTicketStateException.class,
                 () -> ticketService.updateTicket(closedTicketId, ticketDto)
         );
+        Assertions.assertEquals(Constants.CLOSED_TICKETS_CANNOT_BE_UPDATED, ex.getMessage());
     }
 
     @Test
@@ -523,14 +703,16 @@ public class TicketServiceTest {
                 .assignedAgent(agent)
                 .build();
 
-        when(ticketRepository.findById(ticketId)).thenReturn(Optional.of(ticket));
+        when(ticketRepository.findDtoById(ticketId)).thenReturn(Optional.of(ticketMapper.toDto(ticket)));
 
         //when
         TicketDto actualTicketDto = ticketService.getTicketById(ticketId);
+        TicketDto cachedTicketDto = ticketService.getTicketById(ticketId);
 
         //then
-        verify(ticketRepository, times(1)).findById(ticketId);
+        verify(ticketRepository, times(1)).findDtoById(ticketId);
         Assertions.assertEquals(ticketMapper.toDto(ticket), actualTicketDto);
+        Assertions.assertEquals(actualTicketDto, cachedTicketDto);
     }
 
     @Test
@@ -538,12 +720,55 @@ public class TicketServiceTest {
         //given
         Long nonExistingTicketId = 999L;
 
-        when(ticketRepository.findById(nonExistingTicketId)).thenReturn(Optional.empty());
+        when(ticketRepository.findDtoById(nonExistingTicketId)).thenReturn(Optional.empty());
 
         //then
         Assertions.assertThrows(TicketNotFoundException.class, () -> ticketService.getTicketById(nonExistingTicketId));
     }
 
+    @Test
+    void givenArchivedTicket_whenGettingTicketById_thenItIsReadFromTheArchive() {
+        //given
+        Long ticketId = 1L;
+        TicketDto archived = TicketDto.builder().id(ticketId).description("description").status(Status.CLOSED).version(4L).build();
+
+        when(ticketRepository.findDtoById(ticketId)).thenReturn(Optional.empty());
+        when(archivedTicketRepository.findDtoById(ticketId)).thenReturn(Optional.of(archived));
+        when(ticketRepository.findVersionById(ticketId)).thenReturn(Optional.empty());
+        when(archivedTicketRepository.findVersionById(ticketId)).thenReturn(Optional.of(new TicketVersionDto(4L, null)));
+
+        //when
+        TicketDto actualTicketDto = ticketService.getTicketById(ticketId);
+        TicketVersionDto version = ticketService.getTicketVersion(ticketId);
+
+        //then
+        Assertions.assertEquals(archived, actualTicketDto);
+        Assertions.assertEquals(new TicketVersionDto(4L, null), version);
+    }
+
+    @Test
+    void givenArchivedTickets_whenTransitioningThem_thenTheyFailAsClosedTickets() {
+        //given
+        Long ticketId = 1L;
+
+        when(ticketRepository.resolve(ticketId)).thenReturn(0);
+        when(ticketRepository.findStatusById(ticketId)).thenReturn(Optional.empty());
+        when(archivedTicketRepository.existsById(ticketId)).thenReturn(true);
+        when(ticketRepository.findAllById(List.of(ticketId, 999L))).thenReturn(List.of());
+        when(archivedTicketRepository.findIdsByIdIn(List.of(ticketId, 999L))).thenReturn(List.of(ticketId));
+
+        //when
+        RuntimeException ex = Assertions.assertThrows(InvalidTicketStateException.class, () -> ticketService.resolveTicket(ticketId));
+        List<TicketOperationResultDto> results = ticketService.resolveTickets(List.of(ticketId, 999L));
+
+        //then
+        Assertions.assertEquals(Constants.ONLY_IN_PROGRESS_TICKETS_CAN_BE_RESOLVED, ex.getMessage());
+        Assertions.assertEquals(List.of(
+                TicketOperationResultDto.failed(ticketId, Constants.ONLY_IN_PROGRESS_TICKETS_CAN_BE_RESOLVED),
+                TicketOperationResultDto.failed(999L, Constants.TICKET_NOT_FOUND)
+        ), results);
+    }
+
     @Test
     void givenFilterCriteria_whenGettingTickets_thenReturnFilteredTickets() {
         //given
@@ -555,44 +780,148 @@ public class TicketServiceTest {
                 .build();
 
 
-        List<Ticket> filteredTickets = List.of(
-                Ticket.builder()
+        List<TicketDto> filteredTickets = List.of(
+                TicketDto.builder()
                         .id(1L)
                         .description("description")
                         .status(Status.NEW)
                         .createdDate(LocalDateTime.now())
+                        .assignedAgent(agentName)
                         .build(),
-                Ticket.builder()
+                TicketDto.builder()
                         .id(2L)
                         .description("description")
                         .status(Status.NEW)
                         .createdDate(LocalDateTime.now())
+                        .assignedAgent(agentName)
                         .build()
         );
 
-        when(ticketRepository.findWithFilters(
+        when(ticketRepository.findPageWithFilters(
                 ticketFilterDto.status(),
                 ticketFilterDto.assignedAgent(),
                 ticketFilterDto.startDate(),
-                ticketFilterDto.endDate()
+                ticketFilterDto.endDate(),
+                null,
+                Constants.DEFAULT_PAGE_SIZE + 1,
+                null
         )).thenReturn(filteredTickets);
 
-        List<TicketDto> expectedTicketDtos = filteredTickets
-                .stream().map(ticketMapper::toDto)
-                .toList();
-
 
         //when
-        List<TicketDto> actualTicketDtos = ticketService.getTickets(ticketFilterDto);
+        TicketPageDto actualPage = ticketService.getTickets(ticketFilterDto, null, null, null);
 
         //then
-        verify(ticketRepository, times(1)).findWithFilters(
+        verify(ticketRepository, times(1)).findPageWithFilters(
                 ticketFilterDto.status(),
                 ticketFilterDto.assignedAgent(),
                 ticketFilterDto.startDate(),
-                ticketFilterDto.endDate()
+                ticketFilterDto.endDate(),
+                null,
+                Constants.DEFAULT_PAGE_SIZE + 1,
+                null
         );
-        Assertions.assertEquals(expectedTicketDtos, actualTicketDtos);
+        verify(ticketRepository, never()).findAll();
+        verify(agentRepository, never()).findOneByName(any());
+        Assertions.assertEquals(filteredTickets, actualPage.tickets());
+        Assertions.assertNull(actualPage.nextCursor());
+    }
+
+    @Test
+    void givenMoreTicketsThanPageSize_whenGettingTickets_thenNextCursorPointsAtLastTicketOfPage() {
+        //given
+        int pageSize = 2;
+        LocalDateTime now = LocalDateTime.now();
+        TicketFilterDto ticketFilterDto = TicketFilterDto.builder().build();
+
+        List<TicketDto> tickets = List.of(
+                TicketDto.builder().id(1L).description("description").status(Status.NEW).createdDate(now).build(),
+                TicketDto.builder().id(2L).description("description").status(Status.NEW).createdDate(now).build(),
+                TicketDto.builder().id(3L).description("description").status(Status.NEW).createdDate(now).build()
+        );
+
+        when(ticketRepository.findPageWithFilters(null, null, null, null, null, pageSize + 1, null)).thenReturn(tickets);
+
+        //when
+        TicketPageDto actualPage = ticketService.getTickets(ticketFilterDto, null, pageSize, null);
+
+        //then
+        Assertions.assertEquals(tickets.subList(0, pageSize), actualPage.tickets());
+        Assertions.assertEquals(new TicketCursor(now, 2L), TicketCursor.decode(actualPage.nextCursor()));
+    }
+
+    @Test
+    void givenCursor_whenGettingTickets_thenNextPageIsRequestedAfterCursor() {
+        //given
+        TicketCursor cursor = new TicketCursor(LocalDateTime.now(), 2L);
+        TicketFilterDto ticketFilterDto = TicketFilterDto.builder().build();
+
+        when(ticketRepository.findPageWithFilters(null, null, null, null, cursor, Constants.MAX_PAGE_SIZE + 1, null))
+                .thenReturn(List.of());
+
+        //when
+        TicketPageDto actualPage = ticketService.getTickets(ticketFilterDto, cursor.encode(), Integer.MAX_VALUE, null);
+
+        //then
+        verify(ticketRepository, times(1)).findPageWithFilters(null, null, null, null, cursor, Constants.MAX_PAGE_SIZE + 1, null);
+        Assertions.assertTrue(actualPage.tickets().isEmpty());
+        Assertions.assertNull(actualPage.nextCursor());
+    }
+
+    @Test
+    void givenMalformedCursor_whenGettingTickets_thenThrowException() {
+        TicketFilterDto ticketFilterDto = TicketFilterDto.builder().build();
+
+        Assertions.assertThrows(InvalidCursorException.class,
+                () -> ticketService.getTickets(ticketFilterDto, "not-a-cursor", null, null));
+    }
+
+    @Test
+    void givenTextFilter_whenGettingTickets_thenIndexedMatchesPassingTheOtherFiltersAreReturnedByRelevance() {
+        //given
+        ticketSearchIndex.index(List.of(
+                new TicketTextDto(1L, "Printer jams", "Printer drum replaced"),
+                new TicketTextDto(2L, "Printer offline", null),
+                new TicketTextDto(3L, "Printer toner low", null),
+                new TicketTextDto(4L, "VPN drops", null)));
+        TicketFilterDto ticketFilterDto = TicketFilterDto.builder()
+                .status(List.of(Status.NEW))
+                .text("printer")
+                .build();
+        TicketDto first = TicketDto.builder().id(1L).description("Printer jams").status(Status.NEW).build();
+        TicketDto third = TicketDto.builder().id(3L).description("Printer toner low").status(Status.NEW).build();
+
+        // ticket 2 is no longer NEW
+        when(ticketRepository.findDtosByIdsWithFilters(anyList(), eq(List.of(Status.NEW)), eq(null), eq(null), eq(null), eq(null)))
+                .thenReturn(List.of(third, first));
+
+        //when
+        TicketPageDto firstPage = ticketService.getTickets(ticketFilterDto, null, 1, null);
+        TicketPageDto lastPage = ticketService.getTickets(ticketFilterDto, firstPage.nextCursor(), 1, null);
+
+        //then
+        Assertions.assertEquals(List.of(first), firstPage.tickets());
+        Assertions.assertEquals(1L, TicketSearchCursor.decode(firstPage.nextCursor()).id());
+        Assertions.assertEquals(List.of(third), lastPage.tickets());
+        Assertions.assertNull(lastPage.nextCursor());
+        verify(ticketRepository, never()).findPageWithFilters(any(), any(), any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void givenCreatedTicket_whenSearchingItsDescription_thenItIsFound() {
+        //given
+        when(ticketRepository.save(any(Ticket.class))).thenAnswer(invocation -> {
+            Ticket ticket = invocation.getArgument(0);
+            ticket.setId(7L);
+            return ticket;
+        });
+
+        //when
+        ticketService.createTicket(TicketDto.builder().description("Keyboard missing keys").build());
+
+        //then
+        List<TicketSearchIndex.Hit> hits = ticketSearchIndex.search("keyboard").after(null, 10);
+        Assertions.assertEquals(List.of(7L), hits.stream().map(TicketSearchIndex.Hit::id).toList());
     }
 
     @Test
@@ -605,17 +934,110 @@ public class TicketServiceTest {
                 .assignedAgent(agentName)
                 .startDate(LocalDateTime.now())
                 .endDate(LocalDateTime.now().minusDays(1))
-                .build();;
+                .build();
 
+        //then
+        Assertions.assertThrows(InvalidDateRangeException.class, () -> ticketService.getTickets(ticketFilterDto, null, null, null));
 
+    }
+
+    @Test
+    void givenFilterCriteria_whenExportingAsNdjson_thenOneJsonDocumentPerLineIsWritten() throws Exception {
+        //given
+        TicketFilterDto ticketFilterDto = TicketFilterDto.builder()
+                .status(Collections.singletonList(Status.NEW))
+                .build();
+
+        List<Ticket> tickets = List.of(
+                Ticket.builder().id(1L).description("first").status(Status.NEW).createdDate(LocalDateTime.now()).build(),
+                Ticket.builder().id(2L).description("second").status(Status.NEW).createdDate(LocalDateTime.now()).build()
+        );
+
+        when(ticketRepository.streamWithFilters(ticketFilterDto.status(), null, null, null)).thenReturn(tickets.stream());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        //when
+        ticketService.exportTickets(ticketFilterDto, ExportFormat.NDJSON, outputStream);
+
+        //then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertEquals(ticketMapper.toDto(tickets.get(0)), objectMapper.readValue(lines[0], TicketDto.class));
+        Assertions.assertEquals(ticketMapper.toDto(tickets.get(1)), objectMapper.readValue(lines[1], TicketDto.class));
+    }
+
+    @Test
+    void givenFilterCriteria_whenExportingAsCsv_thenHeaderAndEscapedRowsAreWritten() {
+        //given
+        TicketFilterDto ticketFilterDto = TicketFilterDto.builder().build();
+        LocalDateTime createdDate = LocalDateTime.of(2024, 1, 1, 9, 0);
+
+        Ticket ticket = Ticket.builder()
+                .id(1L)
+                .description("printer \"on fire\", again")
+                .status(Status.NEW)
+                .createdDate(createdDate)
+                .build();
+
+        when(ticketRepository.streamWithFilters(null, null, null, null)).thenReturn(Stream.of(ticket));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
 
         //when
-        List<TicketDto> actualTicketDtos = ticketService.getTickets(ticketFilterDto);
+        ticketService.exportTickets(ticketFilterDto, ExportFormat.CSV, outputStream);
 
         //then
+        Assertions.assertEquals("""
+                id,description,status,createdDate,closedDate,assignedAgent,resolutionSummary
+                1,"printer ""on fire"", again",NEW,2024-01-01T09:00,,,
+                """, outputStream.toString(StandardCharsets.UTF_8));
+    }
 
-        Assertions.assertThrows(InvalidDateRangeException.class, () -> ticketService.getTickets(ticketFilterDto));
+    @Test
+    void givenInvalidDateRange_whenExportingTickets_thenThrowException() {
+        TicketFilterDto ticketFilterDto = TicketFilterDto.builder()
+                .startDate(LocalDateTime.now())
+                .endDate(LocalDateTime.now().minusDays(1))
+                .build();
+
+        Assertions.assertThrows(InvalidDateRangeException.class,
+                () -> ticketService.exportTickets(ticketFilterDto, ExportFormat.NDJSON, new ByteArrayOutputStream()));
+        verify(ticketRepository, never()).streamWithFilters(any(), any(), any(), any());
+    }
+
+    @Test
+    void givenFilterCriteria_whenCountingAndCheckingExistence_thenRepositoryAnswersWithoutLoadingTickets() {
+        //given
+        TicketFilterDto ticketFilterDto = TicketFilterDto.builder()
+                .status(List.of(Status.NEW))
+                .assignedAgent("Agent001")
+                .build();
+
+        when(ticketRepository.countWithFilters(List.of(Status.NEW), "Agent001", null, null)).thenReturn(3L);
+        when(ticketRepository.existsWithFilters(List.of(Status.NEW), "Agent001", null, null)).thenReturn(true);
+
+        //when
+        long count = ticketService.countTickets(ticketFilterDto);
+        boolean exists = ticketService.ticketsExist(ticketFilterDto);
+
+        //then
+        Assertions.assertEquals(3L, count);
+        Assertions.assertTrue(exists);
+        verify(ticketRepository, never()).findPageWithFilters(any(), any(), any(), any(), any(), anyInt(), any());
+    }
+
+    @Test
+    void givenInvalidDateRange_whenCountingTickets_thenThrowException() {
+        TicketFilterDto ticketFilterDto = TicketFilterDto.builder()
+                .startDate(LocalDateTime.now())
+                .endDate(LocalDateTime.now().minusDays(1))
+                .build();
 
+        Assertions.assertThrows(InvalidDateRangeException.class, () -> ticketService.countTickets(ticketFilterDto));
+        Assertions.assertThrows(InvalidDateRangeException.class, () -> ticketService.ticketsExist(ticketFilterDto));
+        verify(ticketRepository, never()).countWithFilters(any(), any(), any(), any());
+        verify(ticketRepository, never()).existsWithFilters(any(), any(), any(), any());
     }
 
 }
@@ -11,3 +11,5 @@ INSERT INTO ticket (id, description, status, created_date, assigned_agent_id)
 VALUES (4, 'Ticket004', 'RESOLVED', CURRENT_TIMESTAMP(), 2);
 INSERT INTO ticket (id, description, status, created_date, assigned_agent_id)
 VALUES (5, 'Ticket005', 'RESOLVED', '2024-06-01T09:00:00', 2);
+
+ALTER SEQUENCE ticket_seq RESTART WITH 1000;